@@ -18,11 +18,13 @@ package io.hotmoka.beans.marshalling;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 
 import io.hotmoka.beans.marshalling.internal.FieldSignatureUnmarshaller;
 import io.hotmoka.beans.marshalling.internal.StorageReferenceUnmarshaller;
 import io.hotmoka.beans.marshalling.internal.TransactionReferenceUnmarshaller;
 import io.hotmoka.marshalling.AbstractUnmarshallingContext;
+import io.hotmoka.marshalling.LegacyFraming;
 
 /**
  * A context used during bytes unmarshalling into beans.
@@ -30,10 +32,40 @@ import io.hotmoka.marshalling.AbstractUnmarshallingContext;
 public class BeanUnmarshallingContext extends AbstractUnmarshallingContext {
 
 	public BeanUnmarshallingContext(InputStream is) throws IOException {
+		this(is, false);
+	}
+
+	/**
+	 * Creates a context for the given input stream.
+	 *
+	 * @param is the input stream, without the legacy framing
+	 * @param legacy true if and only if the data in {@code is} has been marshalled in the legacy format,
+	 *               that did not use the dictionary of frequent field signatures
+	 * @throws IOException if the context cannot be created
+	 */
+	private BeanUnmarshallingContext(InputStream is, boolean legacy) throws IOException {
 		super(is);
 
 		registerObjectUnmarshaller(new StorageReferenceUnmarshaller());
 		registerObjectUnmarshaller(new TransactionReferenceUnmarshaller());
-		registerObjectUnmarshaller(new FieldSignatureUnmarshaller());
+		registerObjectUnmarshaller(new FieldSignatureUnmarshaller(!legacy));
+	}
+
+	/**
+	 * Yields a context for data at rest, that might have been marshalled in the legacy format.
+	 * That format framed the data with a Java object stream (see {@link LegacyFraming}) and
+	 * numbered field signatures without the dictionary of frequent field signatures.
+	 * The format is recognized from the header of the framing, if any.
+	 *
+	 * @param is the input stream of the context
+	 * @return the context
+	 * @throws IOException if the context cannot be created
+	 */
+	public static BeanUnmarshallingContext ofAnyFormat(InputStream is) throws IOException {
+		var pis = new PushbackInputStream(is, LegacyFraming.HEADER_LENGTH);
+		if (LegacyFraming.isFramed(pis))
+			return new BeanUnmarshallingContext(LegacyFraming.unframe(pis), true);
+		else
+			return new BeanUnmarshallingContext(pis, false);
 	}
-}
\ No newline at end of file
+}
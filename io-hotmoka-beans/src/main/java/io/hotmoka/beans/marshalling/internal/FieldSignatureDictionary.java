@@ -0,0 +1,86 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.beans.marshalling.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.hotmoka.beans.signatures.FieldSignature;
+
+/**
+ * The field signatures that are known in advance by every marshalling and unmarshalling context.
+ * They are the fields of the classes of the Takamaka runtime that are updated most frequently.
+ * A field signature in this dictionary is marshalled as its index, also the first time it occurs in a context.
+ * The order of this list is part of the marshalled format: new fields can only be appended.
+ */
+final class FieldSignatureDictionary {
+
+	private FieldSignatureDictionary() {}
+
+	/**
+	 * The field signatures in the dictionary.
+	 */
+	final static List<FieldSignature> FIELDS = List.of(
+		FieldSignature.BALANCE_FIELD,
+		FieldSignature.RED_BALANCE_FIELD,
+		FieldSignature.EOA_NONCE_FIELD,
+		FieldSignature.EOA_PUBLIC_KEY_FIELD,
+		FieldSignature.MANIFEST_VALIDATORS_FIELD,
+		FieldSignature.MANIFEST_VERSIONS_FIELD,
+		FieldSignature.MANIFEST_GAS_STATION_FIELD,
+		FieldSignature.MANIFEST_GAMETE_FIELD,
+		FieldSignature.EVENT_CREATOR_FIELD,
+		FieldSignature.GENERIC_GAS_STATION_GAS_PRICE_FIELD,
+		FieldSignature.ABSTRACT_VALIDATORS_CURRENT_SUPPLY_FIELD,
+		FieldSignature.UNSIGNED_BIG_INTEGER_VALUE_FIELD,
+		FieldSignature.STORAGE_TREE_MAP_ROOT_FIELD,
+		FieldSignature.STORAGE_TREE_INTMAP_ROOT_FIELD,
+		FieldSignature.STORAGE_TREE_MAP_NODE_SIZE_FIELD,
+		FieldSignature.STORAGE_TREE_INTMAP_NODE_SIZE_FIELD,
+		FieldSignature.STORAGE_TREE_INTMAP_NODE_VALUE_FIELD,
+		FieldSignature.STORAGE_TREE_INTMAP_NODE_LEFT_FIELD,
+		FieldSignature.STORAGE_TREE_INTMAP_NODE_RIGHT_FIELD,
+		FieldSignature.STORAGE_TREE_INTMAP_NODE_KEY_FIELD,
+		FieldSignature.STORAGE_TREE_MAP_NODE_LEFT_FIELD,
+		FieldSignature.STORAGE_TREE_MAP_NODE_RIGHT_FIELD,
+		FieldSignature.STORAGE_TREE_MAP_NODE_KEY_FIELD,
+		FieldSignature.STORAGE_TREE_MAP_NODE_VALUE_FIELD,
+		FieldSignature.ERC20_TOTAL_SUPPLY_FIELD,
+		FieldSignature.ERC20_SNAPSHOT_FIELD
+	);
+
+	/**
+	 * The index of each field signature in {@link #FIELDS}.
+	 */
+	private final static Map<FieldSignature, Integer> INDEXES = new HashMap<>();
+
+	static {
+		for (FieldSignature field: FIELDS)
+			INDEXES.put(field, INDEXES.size());
+	}
+
+	/**
+	 * Yields the index of the given field signature in the dictionary.
+	 * 
+	 * @param field the field signature
+	 * @return the index, or {@code null} if {@code field} is not in the dictionary
+	 */
+	static Integer indexOf(FieldSignature field) {
+		return INDEXES.get(field);
+	}
+}
@@ -21,7 +21,12 @@ public class FieldSignatureMarshaller extends AbstractObjectMarshaller<FieldSign
 
 	@Override
 	public void write(FieldSignature field, MarshallingContext context) throws IOException {
-		Integer index = memory.get(field);
+		// the fields in the dictionary are known in advance, hence they are never written in full;
+		// the other fields are numbered after them
+		Integer index = FieldSignatureDictionary.indexOf(field);
+		if (index == null)
+			index = memory.get(field);
+
 		if (index != null) {
 			if (index < 254)
 				context.writeByte(index);
@@ -31,7 +36,7 @@ public class FieldSignatureMarshaller extends AbstractObjectMarshaller<FieldSign
 			}
 		}
 		else {
-			int next = memory.size();
+			int next = FieldSignatureDictionary.FIELDS.size() + memory.size();
 			if (next == Integer.MAX_VALUE) // irrealistic
 				throw new IllegalStateException("too many field signatures in the same context");
 
@@ -33,8 +33,27 @@ public class FieldSignatureUnmarshaller extends AbstractObjectUnmarshaller<Field
 
 	private final Map<Integer, FieldSignature> memory = new HashMap<>();
 
+	/**
+	 * The number of field signatures in the dictionary known by the marshaller.
+	 * This is 0 for data marshalled in the legacy format, that did not use the dictionary.
+	 */
+	private final int sizeOfDictionary;
+
 	public FieldSignatureUnmarshaller() {
+		this(true);
+	}
+
+	/**
+	 * Creates an unmarshaller for field signatures.
+	 *
+	 * @param withDictionary true if and only if the field signatures have been marshalled
+	 *                       against the dictionary of frequent field signatures; this is false
+	 *                       for data marshalled in the legacy format
+	 */
+	public FieldSignatureUnmarshaller(boolean withDictionary) {
 		super(FieldSignature.class);
+
+		this.sizeOfDictionary = withDictionary ? FieldSignatureDictionary.FIELDS.size() : 0;
 	}
 
 	@Override
@@ -45,12 +64,28 @@ public class FieldSignatureUnmarshaller extends AbstractObjectUnmarshaller<Field
 
 		if (selector == 255) {
 			var field = new FieldSignature((ClassType) StorageType.from(context), context.readUTF(), StorageType.from(context));
-			memory.put(memory.size(), field);
+			memory.put(sizeOfDictionary + memory.size(), field);
 			return field;
 		}
 		else if (selector == 254)
-			return memory.get(context.readInt());
+			return fieldAt(context.readInt());
 		else
-			return memory.get(selector);
+			return fieldAt(selector);
+	}
+
+	/**
+	 * Yields the field signature with the given index, either in the dictionary
+	 * or among those already read in this context.
+	 *
+	 * @param index the index
+	 * @return the field signature
+	 * @throws IOException if there is no field signature with that index
+	 */
+	private FieldSignature fieldAt(int index) throws IOException {
+		FieldSignature field = index >= 0 && index < sizeOfDictionary ? FieldSignatureDictionary.FIELDS.get(index) : memory.get(index);
+		if (field == null)
+			throw new IOException("unknown field signature index " + index);
+
+		return field;
 	}
 }
\ No newline at end of file
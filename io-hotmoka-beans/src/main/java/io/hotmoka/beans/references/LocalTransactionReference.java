@@ -18,12 +18,15 @@ package io.hotmoka.beans.references;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.marshalling.api.MarshallingContext;
 
 /**
  * A transaction reference that refers to a transaction in the local store of a node.
+ * It holds the bytes of the hash of the request that generated the transaction;
+ * their hexadecimal representation is only computed when required.
  */
 public final class LocalTransactionReference extends TransactionReference {
 	private static final long serialVersionUID = -753718566957710717L;
@@ -31,7 +34,17 @@ public final class LocalTransactionReference extends TransactionReference {
 	/**
 	 * The hash of the request that generated the transaction.
 	 */
-	public final String hash;
+	private final byte[] hash;
+
+	/**
+	 * The hash code of this reference, computed once and for all.
+	 */
+	private final int hashCode;
+
+	/**
+	 * The hexadecimal representation of {@link #hash}, computed the first time it is needed.
+	 */
+	private transient volatile String hex;
 
 	/**
 	 * Builds a transaction reference.
@@ -39,6 +52,32 @@ public final class LocalTransactionReference extends TransactionReference {
 	 * @param hash the hash of the transaction, as the hexadecimal representation of its bytes
 	 */
 	public LocalTransactionReference(String hash) {
+		this(hexToBytes(hash));
+	}
+
+	/**
+	 * Builds a transaction reference.
+	 * 
+	 * @param hash the hash of the transaction, as a byte array
+	 */
+	public LocalTransactionReference(byte[] hash) {
+		if (hash == null)
+			throw new IllegalArgumentException("hash cannot be null");
+
+		if (hash.length != TransactionRequest.REQUEST_HASH_LENGTH)
+			throw new IllegalArgumentException("illegal transaction reference: it should hold a hash of " + TransactionRequest.REQUEST_HASH_LENGTH + " bytes");
+
+		this.hash = hash.clone();
+		this.hashCode = Arrays.hashCode(this.hash);
+	}
+
+	/**
+	 * Translates the hexadecimal representation of a hash into its bytes.
+	 * 
+	 * @param hash the hexadecimal representation
+	 * @return the bytes
+	 */
+	private static byte[] hexToBytes(String hash) {
 		if (hash == null)
 			throw new IllegalArgumentException("hash cannot be null");
 
@@ -47,21 +86,17 @@ public final class LocalTransactionReference extends TransactionReference {
 			throw new IllegalArgumentException("illegal transaction reference " + hash
 				+ ": it should hold a hash of " + TransactionRequest.REQUEST_HASH_LENGTH * 2 + " characters");
 
-		hash = hash.toLowerCase();
+		byte[] bytes = new byte[TransactionRequest.REQUEST_HASH_LENGTH];
+		for (int i = 0; i < bytes.length; i++) {
+			int high = Character.digit(hash.charAt(2 * i), 16);
+			int low = Character.digit(hash.charAt(2 * i + 1), 16);
+			if (high < 0 || low < 0)
+				throw new IllegalArgumentException("illegal transaction reference " + hash + ": it must be a hexadecimal number");
 
-		if (!hash.chars().allMatch(c -> (c >= '0' && c <='9') || (c >= 'a' && c <= 'f')))
-			throw new IllegalArgumentException("illegal transaction reference " + hash + ": it must be a hexadecimal number");
-
-		this.hash = hash;
-	}
+			bytes[i] = (byte) ((high << 4) | low);
+		}
 
-	/**
-	 * Builds a transaction reference.
-	 * 
-	 * @param hash the hash of the transaction, as a byte array
-	 */
-	public LocalTransactionReference(byte[] hash) {
-		this(bytesToHex(hash));
+		return bytes;
 	}
 
 	/**
@@ -94,27 +129,42 @@ public final class LocalTransactionReference extends TransactionReference {
 
 	@Override
 	public boolean equals(Object other) {
-		return other instanceof LocalTransactionReference && ((LocalTransactionReference) other).getHash().equals(hash);
+		if (other == this)
+			return true;
+		else if (other instanceof LocalTransactionReference) {
+			var otherAsLocal = (LocalTransactionReference) other;
+			return otherAsLocal.hashCode == hashCode && Arrays.equals(otherAsLocal.hash, hash);
+		}
+		else
+			return false;
 	}
 
 	@Override
 	public int hashCode() {
-		return hash.hashCode();
+		return hashCode;
 	}
 
 	@Override
 	public String toString() {
-		return hash;
+		return getHash();
 	}
 
 	@Override
 	public int compareTo(TransactionReference other) {
-		return hash.compareTo(other.getHash());
+		// the unsigned comparison of the bytes is consistent with the comparison of their hexadecimal representation
+		if (other instanceof LocalTransactionReference)
+			return Arrays.compareUnsigned(hash, ((LocalTransactionReference) other).hash);
+		else
+			return Arrays.compareUnsigned(hash, other.getHashAsBytes());
 	}
 
 	@Override
 	public String getHash() {
-		return hash;
+		String result = hex;
+		if (result == null)
+			hex = result = bytesToHex(hash);
+
+		return result;
 	}
 
 	@Override
@@ -124,13 +174,6 @@ public final class LocalTransactionReference extends TransactionReference {
 
 	@Override
 	public byte[] getHashAsBytes() {
-		byte[] val = new byte[hash.length() / 2];
-		for (int i = 0; i < val.length; i++) {
-			int index = i * 2;
-			int j = Integer.parseInt(hash.substring(index, index + 2), 16);
-			val[i] = (byte) j;
-		}
-
-		return val;
+		return hash.clone();
 	}
 }
\ No newline at end of file
@@ -48,18 +48,35 @@ public abstract class TransactionRequest<R extends TransactionResponse> extends
 	protected final static byte EXPANSION_SELECTOR = 12;
 
 	/**
-	 * The hashing algorithm for the requests.
+	 * The hashing algorithm for the requests. Each thread has its own,
+	 * so that requests can be hashed concurrently.
 	 */
-	private final static MessageDigest HASHING_FOR_REQUESTS;
+	private final static ThreadLocal<MessageDigest> HASHING_FOR_REQUESTS = ThreadLocal.withInitial(TransactionRequest::mkHashingForRequests);
 
 	/**
 	 * The length of the hash of a transaction request.
 	 */
 	public final static int REQUEST_HASH_LENGTH = 32;
 
-	static {
+	/**
+	 * The marshalled form of this request, computed the first time it is needed.
+	 * Since requests are immutable, it never changes afterwards.
+	 */
+	private volatile byte[] bytes;
+
+	/**
+	 * The reference to the transaction generated by this request, computed the first time it is needed.
+	 */
+	private volatile TransactionReference reference;
+
+	/**
+	 * Creates the hashing algorithm for the requests.
+	 * 
+	 * @return the hashing algorithm
+	 */
+	private static MessageDigest mkHashingForRequests() {
 		try {
-			HASHING_FOR_REQUESTS = MessageDigest.getInstance("SHA-256");
+			return MessageDigest.getInstance("SHA-256");
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -132,17 +149,48 @@ public abstract class TransactionRequest<R extends TransactionResponse> extends
 	 */
 	// TODO: remove from here?
 	public final TransactionReference getReference() {
-		try {
-			byte[] bytes = toByteArray();
-
-			synchronized (HASHING_FOR_REQUESTS) {
-				HASHING_FOR_REQUESTS.reset();
-				return new LocalTransactionReference(bytesToHex(HASHING_FOR_REQUESTS.digest(bytes)));
+		TransactionReference result = reference;
+		if (result == null) {
+			try {
+				MessageDigest hashing = HASHING_FOR_REQUESTS.get();
+				hashing.reset();
+				result = new LocalTransactionReference(hashing.digest(getBytes()));
 			}
+			catch (Exception e) {
+				throw new IllegalArgumentException(e);
+			}
+
+			reference = result;
 		}
-		catch (Exception e) {
-			throw new IllegalArgumentException(e);
-		}
+
+		return result;
+	}
+
+	@Override
+	public final byte[] toByteArray() {
+		// the cached bytes are not exposed, since the caller might modify them
+		return getBytes().clone();
+	}
+
+	@Override
+	public final int size() {
+		byte[] bytes = this.bytes;
+		// if this request has not been marshalled yet, we count its bytes without buffering them
+		return bytes != null ? bytes.length : super.size();
+	}
+
+	/**
+	 * Yields the marshalled form of this request, marshalling it the first time.
+	 * If more threads marshal this request concurrently, they compute the same bytes.
+	 * 
+	 * @return the marshalled form of this request
+	 */
+	private byte[] getBytes() {
+		byte[] result = bytes;
+		if (result == null)
+			bytes = result = super.toByteArray();
+
+		return result;
 	}
 
 	/**
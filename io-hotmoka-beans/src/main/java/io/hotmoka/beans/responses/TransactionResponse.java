@@ -37,6 +37,12 @@ public abstract class TransactionResponse extends AbstractMarshallable {
 	 */
 	protected final static byte EXPANSION_SELECTOR = 15;
 
+	/**
+	 * The marshalled form of this response, computed the first time it is needed.
+	 * Since responses are immutable, it never changes afterwards.
+	 */
+	private volatile byte[] bytes;
+
 	/**
 	 * Factory method that unmarshals a response from the given stream.
 	 * 
@@ -101,6 +107,24 @@ public abstract class TransactionResponse extends AbstractMarshallable {
 		}
 	}
 
+	@Override
+	public final byte[] toByteArray() {
+		byte[] result = bytes;
+		// if more threads marshal this response concurrently, they compute the same bytes
+		if (result == null)
+			bytes = result = super.toByteArray();
+
+		// the cached bytes are not exposed, since the caller might modify them
+		return result.clone();
+	}
+
+	@Override
+	public final int size() {
+		byte[] bytes = this.bytes;
+		// if this response has not been marshalled yet, we count its bytes without buffering them
+		return bytes != null ? bytes.length : super.size();
+	}
+
 	@Override
 	protected final MarshallingContext createMarshallingContext(OutputStream os) throws IOException {
 		return new BeanMarshallingContext(os);
@@ -156,6 +156,16 @@ public final class FieldSignature extends AbstractMarshallable implements Compar
 	 */
 	public final static FieldSignature STORAGE_TREE_MAP_NODE_VALUE_FIELD = new FieldSignature(ClassType.STORAGE_TREE_MAP_NODE, "value", ClassType.OBJECT);
 
+	/**
+	 * The field that holds the total supply of a {@code io.takamaka.code.tokens.ERC20}.
+	 */
+	public final static FieldSignature ERC20_TOTAL_SUPPLY_FIELD = new FieldSignature(ClassType.ERC20, "totalSupply", ClassType.UNSIGNED_BIG_INTEGER);
+
+	/**
+	 * The field that holds the latest snapshot of a {@code io.takamaka.code.tokens.ERC20}.
+	 */
+	public final static FieldSignature ERC20_SNAPSHOT_FIELD = new FieldSignature(ClassType.ERC20, "snapshot", ClassType.IERC20_VIEW);
+
 	/**
 	 * The class of the field.
 	 */
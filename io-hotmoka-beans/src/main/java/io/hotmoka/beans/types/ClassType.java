@@ -141,6 +141,11 @@ public final class ClassType implements StorageType {
 	 */
 	public final static ClassType IERC20 = new ClassType(Constants.IERC20_NAME);
 
+	/**
+	 * The frequently used class type for {@link io.takamaka.code.tokens.IERC20View}.
+	 */
+	public final static ClassType IERC20_VIEW = new ClassType(Constants.IERC20_VIEW_NAME);
+
 	/**
 	 * The frequently used class type for {@link io.takamaka.code.governance.Manifest}.
 	 */
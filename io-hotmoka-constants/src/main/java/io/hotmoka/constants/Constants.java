@@ -291,6 +291,11 @@ public final class Constants {
 	 */
 	public final static String ERC20_NAME = IO_TAKAMAKA_CODE_TOKENS_PACKAGE_NAME + "ERC20";
 
+	/**
+	 * The name of the interface type for {@link io.takamaka.code.tokens.IERC20View}.
+	 */
+	public final static String IERC20_VIEW_NAME = IO_TAKAMAKA_CODE_TOKENS_PACKAGE_NAME + "IERC20View";
+
 	/**
 	 * The name of the class type for {@link io.takamaka.code.governance.Manifest}.
 	 */
@@ -58,9 +58,9 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
 
     /**
-     * The actual signing algorithm.
+     * The actual signing algorithm. There is one for each thread, since it is not thread-safe.
      */
-    private final Signature signature;
+    private final ThreadLocal<Signature> signature = ThreadLocal.withInitial(ED25519::mkSignature);
 
     /**
      * The key pair generator.
@@ -80,7 +80,7 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
     public ED25519(Function<? super T, byte[]> supplier) throws NoSuchAlgorithmException {
     	try {
     		ensureProvider();
-    		this.signature = Signature.getInstance("Ed25519");
+    		Signature.getInstance("Ed25519"); // we check that the algorithm is available
     		this.keyFactory = KeyFactory.getInstance("Ed25519", "BC");
     		this.keyPairGenerator = mkKeyPairGenerator(CryptoServicesRegistrar.getSecureRandom());
     		this.supplier = supplier;
@@ -113,11 +113,10 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before signing", e);
         }
 
-        synchronized (signature) {
-            signature.initSign(privateKey);
-            signature.update(bytes);
-            return signature.sign();
-        }
+        Signature signature = this.signature.get();
+        signature.initSign(privateKey);
+        signature.update(bytes);
+        return signature.sign();
     }
 
     @Override
@@ -131,11 +130,10 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before verifying the signature", e);
         }
 
-        synchronized (this.signature) {
-            this.signature.initVerify(publicKey);
-            this.signature.update(bytes);
-            return this.signature.verify(signature);
-        }
+        Signature verifier = this.signature.get();
+        verifier.initVerify(publicKey);
+        verifier.update(bytes);
+        return verifier.verify(signature);
     }
 
     @Override
@@ -189,4 +187,19 @@ public class ED25519<T> extends AbstractSignatureAlgorithmImpl<T> {
 	public String getName() {
 		return "ed25519";
 	}
-}
\ No newline at end of file
+
+    /**
+     * Creates the actual signing algorithm.
+     * 
+     * @return the signing algorithm
+     */
+    private static Signature mkSignature() {
+        try {
+            return Signature.getInstance("Ed25519");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // impossible, since the constructor checks that the algorithm is available
+            throw new IllegalStateException("unexpected exception", e);
+        }
+    }
+}
@@ -62,9 +62,9 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 public class ED25519DET<T> extends AbstractSignatureAlgorithmImpl<T> {
 
     /**
-     * The actual signing algorithm.
+     * The actual signing algorithm. There is one for each thread, since it is not thread-safe.
      */
-    private final Signature signature;
+    private final ThreadLocal<Signature> signature = ThreadLocal.withInitial(ED25519DET::mkSignature);
 
     /**
      * The key pair generator.
@@ -84,7 +84,7 @@ public class ED25519DET<T> extends AbstractSignatureAlgorithmImpl<T> {
     public ED25519DET(Function<? super T, byte[]> supplier) throws NoSuchAlgorithmException {
     	try {
     		ensureProvider();
-    		this.signature = Signature.getInstance("Ed25519");
+    		Signature.getInstance("Ed25519"); // we check that the algorithm is available
     		this.keyFactory = KeyFactory.getInstance("Ed25519", "BC");
     		SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
             random.setSeed("nel mezzo del cammin di nostra vita".getBytes(StandardCharsets.US_ASCII));
@@ -119,11 +119,10 @@ public class ED25519DET<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before signing", e);
         }
 
-        synchronized (signature) {
-            signature.initSign(privateKey);
-            signature.update(bytes);
-            return signature.sign();
-        }
+        Signature signature = this.signature.get();
+        signature.initSign(privateKey);
+        signature.update(bytes);
+        return signature.sign();
     }
 
     @Override
@@ -137,11 +136,10 @@ public class ED25519DET<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before verifying the signature", e);
         }
 
-        synchronized (this.signature) {
-            this.signature.initVerify(publicKey);
-            this.signature.update(bytes);
-            return this.signature.verify(signature);
-        }
+        Signature verifier = this.signature.get();
+        verifier.initVerify(publicKey);
+        verifier.update(bytes);
+        return verifier.verify(signature);
     }
 
     @Override
@@ -195,4 +193,19 @@ public class ED25519DET<T> extends AbstractSignatureAlgorithmImpl<T> {
 	public String getName() {
 		return "ed25519det";
 	}
-}
\ No newline at end of file
+
+    /**
+     * Creates the actual signing algorithm.
+     * 
+     * @return the signing algorithm
+     */
+    private static Signature mkSignature() {
+        try {
+            return Signature.getInstance("Ed25519");
+        }
+        catch (NoSuchAlgorithmException e) {
+            // impossible, since the constructor checks that the algorithm is available
+            throw new IllegalStateException("unexpected exception", e);
+        }
+    }
+}
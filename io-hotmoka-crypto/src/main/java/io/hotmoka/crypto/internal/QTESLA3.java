@@ -64,17 +64,11 @@ public class QTESLA3<T> extends AbstractSignatureAlgorithmImpl<T> {
      */
     private final KeyFactory keyFactory;
 
-    /**
-     * The actual signing algorithm.
-     */
-    private final QTESLASigner signer;
-
     public QTESLA3(Function<? super T, byte[]> supplier) throws NoSuchAlgorithmException {
     	try {
     		ensureProvider();
     		this.supplier = supplier;
     		this.keyPairGenerator = mkKeyPairGenerator(CryptoServicesRegistrar.getSecureRandom());
-    		this.signer = new QTESLASigner();
     		this.keyFactory = KeyFactory.getInstance("qTESLA", "BCPQC");
     	}
     	catch (NoSuchAlgorithmException e) {
@@ -108,15 +102,15 @@ public class QTESLA3<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before signing", e);
         }
 
-        synchronized (signer) {
-            try {
-                PrivateKeyInfo privateKeyInfo = PrivateKeyInfo.getInstance(ASN1Primitive.fromByteArray(new PKCS8EncodedKeySpec(encodingOf(privateKey)).getEncoded()));
-                signer.init(true, PrivateKeyFactory.createKey(privateKeyInfo));
-                return signer.generateSignature(bytes);
-            }
-            catch (Exception e) {
-                throw new SignatureException("cannot generate signature", e);
-            }
+        try {
+            // signers are not thread-safe, but they are cheap to create
+            var signer = new QTESLASigner();
+            PrivateKeyInfo privateKeyInfo = PrivateKeyInfo.getInstance(ASN1Primitive.fromByteArray(new PKCS8EncodedKeySpec(encodingOf(privateKey)).getEncoded()));
+            signer.init(true, PrivateKeyFactory.createKey(privateKeyInfo));
+            return signer.generateSignature(bytes);
+        }
+        catch (Exception e) {
+            throw new SignatureException("cannot generate signature", e);
         }
     }
 
@@ -131,15 +125,15 @@ public class QTESLA3<T> extends AbstractSignatureAlgorithmImpl<T> {
             throw new SignatureException("cannot transform value into bytes before verifying the signature", e);
         }
 
-        synchronized (signer) {
-            try {
-                SubjectPublicKeyInfo subjectPublicKeyInfo = SubjectPublicKeyInfo.getInstance(new X509EncodedKeySpec(encodingOf(publicKey)).getEncoded());
-                signer.init(false, PublicKeyFactory.createKey(subjectPublicKeyInfo));
-                return signer.verifySignature(bytes, signature);
-            }
-            catch (Exception e){
-                throw new SignatureException("cannot verify signature", e);
-            }
+        try {
+            // signers are not thread-safe, but they are cheap to create
+            var signer = new QTESLASigner();
+            SubjectPublicKeyInfo subjectPublicKeyInfo = SubjectPublicKeyInfo.getInstance(new X509EncodedKeySpec(encodingOf(publicKey)).getEncoded());
+            signer.init(false, PublicKeyFactory.createKey(subjectPublicKeyInfo));
+            return signer.verifySignature(bytes, signature);
+        }
+        catch (Exception e) {
+            throw new SignatureException("cannot verify signature", e);
         }
     }
 
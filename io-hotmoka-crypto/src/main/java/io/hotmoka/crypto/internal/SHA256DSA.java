@@ -50,9 +50,9 @@ import io.hotmoka.crypto.api.BIP39Dictionary;
 public class SHA256DSA<T> extends AbstractSignatureAlgorithmImpl<T> {
 
 	/**
-	 * The actual signing algorithm.
+	 * The actual signing algorithm. There is one for each thread, since it is not thread-safe.
 	 */
-	private final Signature signature;
+	private final ThreadLocal<Signature> signature = ThreadLocal.withInitial(SHA256DSA::mkSignature);
 
 	/**
 	 * The key pair generator.
@@ -70,7 +70,7 @@ public class SHA256DSA<T> extends AbstractSignatureAlgorithmImpl<T> {
 	private final KeyFactory keyFactory;
 
 	public SHA256DSA(Function<? super T, byte[]> supplier) throws NoSuchAlgorithmException {
-		this.signature = Signature.getInstance("SHA256withDSA");
+		Signature.getInstance("SHA256withDSA"); // we check that the algorithm is available
 		this.keyPairGenerator = mkKeyPairGenerator(CryptoServicesRegistrar.getSecureRandom());
 		this.supplier = supplier;
 
@@ -139,11 +139,10 @@ public class SHA256DSA<T> extends AbstractSignatureAlgorithmImpl<T> {
 			throw new SignatureException("cannot transform value into bytes before signing", e);
 		}
 
-		synchronized (signature) {
-			signature.initSign(privateKey);
-			signature.update(bytes);
-			return signature.sign();
-		}
+		Signature signature = this.signature.get();
+		signature.initSign(privateKey);
+		signature.update(bytes);
+		return signature.sign();
 	}
 
 	@Override
@@ -157,11 +156,10 @@ public class SHA256DSA<T> extends AbstractSignatureAlgorithmImpl<T> {
 			throw new SignatureException("cannot transform value into bytes before verifying the signature", e);
 		}
 
-		synchronized (this.signature) { 
-			this.signature.initVerify(publicKey);
-			this.signature.update(bytes);
-			return this.signature.verify(signature);
-		}
+		Signature verifier = this.signature.get();
+		verifier.initVerify(publicKey);
+		verifier.update(bytes);
+		return verifier.verify(signature);
 	}
 
 	@Override
@@ -179,4 +177,19 @@ public class SHA256DSA<T> extends AbstractSignatureAlgorithmImpl<T> {
 	public String getName() {
 		return "sha256dsa";
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Creates the actual signing algorithm.
+	 * 
+	 * @return the signing algorithm
+	 */
+	private static Signature mkSignature() {
+		try {
+			return Signature.getInstance("SHA256withDSA");
+		}
+		catch (NoSuchAlgorithmException e) {
+			// impossible, since the constructor checks that the algorithm is available
+			throw new IllegalStateException("unexpected exception", e);
+		}
+	}
+}
@@ -24,17 +24,22 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +63,7 @@ import io.hotmoka.beans.requests.InstanceSystemMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
 import io.hotmoka.beans.requests.JarStoreTransactionRequest;
 import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.SignedTransactionRequest;
 import io.hotmoka.beans.requests.StaticMethodCallTransactionRequest;
 import io.hotmoka.beans.requests.SystemTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
@@ -81,6 +87,8 @@ import io.hotmoka.instrumentation.StandardGasCostModel;
 import io.hotmoka.local.internal.LRUCache;
 import io.hotmoka.local.internal.NodeCachesImpl;
 import io.hotmoka.local.internal.NodeInternal;
+import io.hotmoka.local.internal.RecordingNodeInternal;
+import io.hotmoka.local.internal.SnapshotNodeInternal;
 import io.hotmoka.local.internal.StoreUtilitiesImpl;
 import io.hotmoka.local.internal.transactions.ConstructorCallResponseBuilder;
 import io.hotmoka.local.internal.transactions.GameteCreationResponseBuilder;
@@ -128,16 +136,23 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	private final GasCostModel gasCostModel = new StandardGasCostModel();
 
 	/**
-	 * A map that provides a semaphore for each currently executing transaction.
-	 * It is used to block threads waiting for the outcome of transactions.
+	 * A map that provides a future for each transaction posted to this node, whose outcome
+	 * is not yet visible. It is used to signal the waiters for the outcome of transactions,
+	 * as soon as that outcome becomes visible.
 	 */
-	private final ConcurrentMap<TransactionReference, Semaphore> semaphores;
+	private final ConcurrentMap<TransactionReference, CompletableFuture<TransactionResponse>> outcomes;
 
 	/**
 	 * An executor for short background tasks.
 	 */
 	private final ExecutorService executor;
 
+	/**
+	 * An executor for the speculative execution of the transactions of a block,
+	 * with as many threads as available processors.
+	 */
+	private final ExecutorService speculativeExecutor;
+
 	/**
 	 * The time spent for checking requests.
 	 */
@@ -224,7 +239,8 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		this.coinsSinceLastRewardWithoutInflation = ZERO;
 		this.numberOfTransactionsSinceLastReward = ZERO;
 		this.executor = Executors.newCachedThreadPool();
-		this.semaphores = new ConcurrentHashMap<>();
+		this.speculativeExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		this.outcomes = new ConcurrentHashMap<>();
 		this.checkTime = new AtomicLong();
 		this.deliverTime = new AtomicLong();
 		this.closed = new AtomicBoolean();
@@ -258,9 +274,10 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		this.coinsSinceLastRewardWithoutInflation = parent.coinsSinceLastRewardWithoutInflation;
 		this.numberOfTransactionsSinceLastReward = parent.numberOfTransactionsSinceLastReward;
 		this.executor = parent.executor;
+		this.speculativeExecutor = parent.speculativeExecutor;
 		this.store = mkStore();
 		this.storeUtilities = new StoreUtilitiesImpl(internal, store);
-		this.semaphores = parent.semaphores;
+		this.outcomes = parent.outcomes;
 		this.checkTime = parent.checkTime;
 		this.deliverTime = parent.deliverTime;
 		this.closed = parent.closed;
@@ -273,6 +290,31 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 */
 	protected abstract S mkStore();
 
+	/**
+	 * Factory method for creating a snapshot of the store of this node, that is, a clone
+	 * of the store that sees the state committed at the time of the call and that does not
+	 * change afterwards, also if this node commits further transactions. Snapshots are used
+	 * to run view transactions concurrently with the delivery of transactions and with each other.
+	 * A snapshot must remain readable until it gets released through {@link #releaseSnapshotOfStore(AbstractStore)}.
+	 * By default, this method yields an empty optional: nodes that cannot take snapshots of their store
+	 * run view transactions against the store itself, in mutual exclusion with the delivery of transactions.
+	 * 
+	 * @return the snapshot, if this node can take it
+	 */
+	protected Optional<S> mkSnapshotOfStore() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Releases a snapshot created by {@link #mkSnapshotOfStore()}, once it is not used anymore.
+	 * Until then, the node must keep the snapshot readable, also if it commits further transactions.
+	 * By default, this method does nothing.
+	 * 
+	 * @param snapshot the snapshot to release
+	 */
+	protected void releaseSnapshotOfStore(S snapshot) {
+	}
+
 	/**
 	 * Determines if this node has not been closed yet.
 	 * This thread-safe method can be called to avoid double-closing of a node.
@@ -289,7 +331,9 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		if (store != null)
 			store.close();
 
+		speculativeExecutor.shutdown();
 		executor.shutdown();
+		speculativeExecutor.awaitTermination(10, TimeUnit.SECONDS);
 		executor.awaitTermination(10, TimeUnit.SECONDS);
 
 		logger.info("time spent checking requests: " + checkTime + "ms");
@@ -315,10 +359,25 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	public final TransactionResponse getPolledResponse(TransactionReference reference) throws TransactionRejectedException, TimeoutException, InterruptedException {
 		try {
 			Objects.requireNonNull(reference);
-			Semaphore semaphore = semaphores.get(reference);
-			if (semaphore != null)
-				semaphore.acquire();
-	
+			CompletableFuture<TransactionResponse> outcome = outcomes.get(reference);
+			if (outcome != null) {
+				try {
+					return outcome.get();
+				}
+				catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof TransactionRejectedException)
+						throw (TransactionRejectedException) cause;
+					else if (cause instanceof TimeoutException)
+						throw (TimeoutException) cause;
+					else if (cause instanceof RuntimeException)
+						throw (RuntimeException) cause;
+					else
+						throw new RuntimeException(cause);
+				}
+			}
+
+			// the transaction was not posted to this node or its outcome is already visible
 			for (int attempt = 1, delay = config.pollingDelay; attempt <= Math.max(1, config.maxPollingAttempts); attempt++, delay = delay * 110 / 100)
 				try {
 					// we enforce that both request and response are available
@@ -341,6 +400,24 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		}
 	}
 
+	@Override
+	protected final CompletableFuture<TransactionResponse> getResponseFuture(TransactionReference reference) {
+		CompletableFuture<TransactionResponse> outcome = outcomes.get(reference);
+		if (outcome != null)
+			return outcome;
+
+		try {
+			return CompletableFuture.completedFuture(getResponse(reference));
+		}
+		catch (TransactionRejectedException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		catch (NoSuchElementException e) {
+			// the transaction was not posted to this node and its outcome is not visible yet
+			return super.getResponseFuture(reference);
+		}
+	}
+
 	@Override
 	public final TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
 		Objects.requireNonNull(reference);
@@ -465,9 +542,20 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			logger.info(reference + ": running start (" + request.getClass().getSimpleName() + " -> " + request.method.methodName + ')');
 
 			StorageValue result;
+			Optional<S> snapshot = mkSnapshotOfStore();
 
-			synchronized (deliverTransactionLock) {
-				result = new InstanceViewMethodCallResponseBuilder(reference, request, internal).getResponse().getOutcome();
+			if (snapshot.isPresent()) {
+				try {
+					result = new InstanceViewMethodCallResponseBuilder(reference, request, new SnapshotNodeInternal(internal, snapshot.get())).getResponse().getOutcome();
+				}
+				finally {
+					releaseSnapshotOfStore(snapshot.get());
+				}
+			}
+			else {
+				synchronized (deliverTransactionLock) {
+					result = new InstanceViewMethodCallResponseBuilder(reference, request, internal).getResponse().getOutcome();
+				}
 			}
 
 			logger.info(reference + ": running success");
@@ -481,9 +569,20 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			TransactionReference reference = request.getReference();
 			logger.info(reference + ": running start (" + request.getClass().getSimpleName() + " -> " + request.method.methodName + ')');
 			StorageValue result;
+			Optional<S> snapshot = mkSnapshotOfStore();
 
-			synchronized (deliverTransactionLock) {
-				result = new StaticViewMethodCallResponseBuilder(reference, request, internal).getResponse().getOutcome();
+			if (snapshot.isPresent()) {
+				try {
+					result = new StaticViewMethodCallResponseBuilder(reference, request, new SnapshotNodeInternal(internal, snapshot.get())).getResponse().getOutcome();
+				}
+				finally {
+					releaseSnapshotOfStore(snapshot.get());
+				}
+			}
+			else {
+				synchronized (deliverTransactionLock) {
+					result = new StaticViewMethodCallResponseBuilder(reference, request, internal).getResponse().getOutcome();
+				}
 			}
 
 			logger.info(reference + ": running success");
@@ -491,6 +590,26 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		});
 	}
 
+	/**
+	 * Runs an instance {@code @@View} method of an object already in the store of this node,
+	 * against the current state of the store, that includes the transactions delivered but not yet committed.
+	 * This is what the node needs for its own bookkeeping, while it delivers transactions.
+	 * Hence the method runs in mutual exclusion with the delivery of transactions.
+	 * 
+	 * @param request the transaction request
+	 * @return the result of the call, if the method was successfully executed, without exception
+	 * @throws TransactionRejectedException if the transaction could not be executed
+	 * @throws TransactionException if the transaction could be executed but led to an exception outside the user code in store
+	 * @throws CodeExecutionException if the transaction could be executed but led to an exception in the user code in store
+	 */
+	protected final StorageValue runInstanceMethodCallTransactionUncommitted(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return wrapInCaseOfExceptionFull(() -> {
+			synchronized (deliverTransactionLock) {
+				return new InstanceViewMethodCallResponseBuilder(request.getReference(), request, internal).getResponse().getOutcome();
+			}
+		});
+	}
+
 	@Override
 	public final JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
 		return wrapInCaseOfExceptionSimple(() -> jarSupplierFor(post(request)));
@@ -529,23 +648,23 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			logger.info(reference + ": checking success");
 		}
 		catch (TransactionRejectedException e) {
-			// we wake up who was waiting for the outcome of the request
-			signalSemaphore(reference);
 			// we do not store the error message, since a failed checkTransaction
 			// means that nobody is paying for this and we cannot expand the store;
 			// we just take note of the failure to avoid polling for the response
 			recentCheckTransactionErrors.put(reference, trimmedMessage(e));
+			// we wake up who was waiting for the outcome of the request
+			notifyOutcomeOf(reference);
 			logger.info(reference + ": checking failed: " + trimmedMessage(e));
 			logger.log(Level.INFO, "transaction rejected", e);
 			throw e;
 		}
 		catch (RuntimeException e) {
-			// we wake up who was waiting for the outcome of the request
-			signalSemaphore(reference);
 			// we do not store the error message, since a failed checkTransaction
 			// means that nobody is paying for this and we cannot expand the store;
 			// we just take note of the failure to avoid polling for the response
 			recentCheckTransactionErrors.put(reference, trimmedMessage(e));
+			// we wake up who was waiting for the outcome of the request
+			notifyOutcomeOf(reference);
 			logger.log(Level.WARNING, reference + ": checking failed with unexpected exception", e);
 			throw e;
 		}
@@ -554,6 +673,59 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		}
 	}
 
+	/**
+	 * Verifies the signatures of the given requests in parallel and caches the results,
+	 * so that the subsequent checks and deliveries of the requests find them already verified.
+	 * Requests whose signature cannot be verified in advance, for instance because
+	 * their caller does not exist yet, are skipped: their signature will be verified
+	 * when they are checked or delivered, as usual. This method does not throw
+	 * exceptions and does not reject requests.
+	 *
+	 * @param requests the requests
+	 */
+	protected final void verifySignatures(List<TransactionRequest<?>> requests) {
+		// if the node is not initialized yet, signatures are not checked
+		if (requests.size() <= 1 || !storeUtilities.nodeIsInitializedUncommitted())
+			return;
+
+		ConsensusParams consensus = caches.getConsensusParams();
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (TransactionRequest<?> request: requests)
+			if (request instanceof SignedTransactionRequest && request instanceof NonInitialTransactionRequest<?>)
+				futures.add(speculativeExecutor.submit(() -> verifySignature((NonInitialTransactionRequest<?>) request, consensus)));
+
+		for (Future<?> future: futures) {
+			try {
+				future.get();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			catch (ExecutionException e) {
+				// impossible, since verifySignature() catches all its exceptions
+			}
+		}
+	}
+
+	/**
+	 * Verifies the signature of the given request and caches the result.
+	 *
+	 * @param request the request, that must be signed
+	 * @param consensus the consensus parameters of the node
+	 */
+	private void verifySignature(NonInitialTransactionRequest<?> request, ConsensusParams consensus) {
+		try {
+			EngineClassLoader classLoader = caches.getClassLoader(request.classpath);
+			caches.signatureIsValid((SignedTransactionRequest) request, NonInitialResponseBuilder.signatureAlgorithmFor(request.caller, internal, classLoader, consensus));
+		}
+		catch (Exception e) {
+			// the signature will be verified again, when the request gets checked
+			logger.log(Level.FINE, "cannot verify the signature of a request in advance", e);
+		}
+	}
+
 	/**
 	 * A lock for the {@link #deliverTransaction(TransactionRequest)} body.
 	 */
@@ -567,6 +739,245 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 * @throws TransactionRejectedException if the response cannot be built
 	 */
 	protected final TransactionResponse deliverTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
+		return deliverTransaction(request, null);
+	}
+
+	/**
+	 * Builds the responses for the given requests and adds them to the store of the node,
+	 * in the order of the list. The result is the same as calling {@link #deliverTransaction(TransactionRequest)}
+	 * on each request, in order, but the requests are first executed speculatively and in parallel,
+	 * against the state of the store before the block; then their responses are committed
+	 * in order. A request whose speculative execution read an object modified by a previous
+	 * request of the same block, or used a jar installed by a previous request of the same block,
+	 * or was executed with consensus parameters, gas price or inflation that have been modified in
+	 * the meanwhile, is re-executed sequentially before being committed. Initial and system requests
+	 * are never executed speculatively and act as barriers. Requests that get rejected
+	 * are stored as errors, as in {@link #deliverTransaction(TransactionRequest)}.
+	 * 
+	 * @param requests the requests, in order of delivery
+	 */
+	protected final void deliverTransactions(List<TransactionRequest<?>> requests) {
+		synchronized (deliverTransactionLock) {
+			List<TransactionRequest<?>> run = new ArrayList<>();
+
+			for (TransactionRequest<?> request: requests) {
+				if (request instanceof NonInitialTransactionRequest<?> && !(request instanceof SystemTransactionRequest))
+					run.add(request);
+				else {
+					deliverInParallel(run);
+					run.clear();
+					deliverIgnoringFailures(request, null);
+				}
+			}
+
+			deliverInParallel(run);
+		}
+	}
+
+	/**
+	 * Delivers the given non-initial, non-system requests by executing them speculatively in parallel
+	 * and then committing their responses in order.
+	 * 
+	 * @param requests the requests
+	 */
+	private void deliverInParallel(List<TransactionRequest<?>> requests) {
+		if (requests.size() == 1)
+			deliverIgnoringFailures(requests.get(0), null);
+		else if (requests.size() > 1) {
+			// the speculative executions might need these values: we compute them in this thread,
+			// that holds the delivery lock, since computing them requires to run a view transaction
+			ConsensusParams consensus = caches.getConsensusParams();
+			Optional<BigInteger> gasPrice = caches.getGasPrice();
+			Optional<Long> inflation = caches.getCurrentInflation();
+
+			List<Speculation> speculations = new ArrayList<>();
+			for (TransactionRequest<?> request: requests)
+				speculations.add(new Speculation(request));
+
+			List<Future<?>> futures = new ArrayList<>();
+			for (Speculation speculation: speculations)
+				futures.add(speculativeExecutor.submit(speculation::run));
+
+			for (Future<?> future: futures) {
+				try {
+					future.get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				catch (ExecutionException e) {
+					// impossible, since speculations catch all their exceptions; in any case,
+					// the speculation will be found invalid and its request executed again
+				}
+			}
+
+			Set<StorageReference> modified = new HashSet<>();
+			Set<TransactionReference> delivered = new HashSet<>();
+
+			for (Speculation speculation: speculations) {
+				boolean sameCaches = consensus == caches.getConsensusParams() && gasPrice.equals(caches.getGasPrice())
+					&& inflation.equals(caches.getCurrentInflation());
+
+				Optional<TransactionResponse> response;
+				if (sameCaches && speculation.isStillValid(modified, delivered))
+					response = deliverIgnoringFailures(speculation.request, speculation);
+				else {
+					logger.info(speculation.reference + ": the speculative execution is invalid: executing the request again");
+					response = deliverIgnoringFailures(speculation.request, null);
+				}
+
+				delivered.add(speculation.reference);
+				response.filter(_response -> _response instanceof TransactionResponseWithUpdates)
+					.map(_response -> (TransactionResponseWithUpdates) _response)
+					.ifPresent(_response -> _response.getUpdates().map(Update::getObject).forEach(modified::add));
+			}
+		}
+	}
+
+	/**
+	 * Delivers the given request, possibly using the result of its speculative execution.
+	 * Failures get logged and stored as errors inside the store, but are not propagated.
+	 * 
+	 * @param request the request
+	 * @param speculation the speculative execution of {@code request}, if any; this
+	 *                    is {@code null} if the request must be executed now
+	 * @return the response, if the request has not been rejected
+	 */
+	private Optional<TransactionResponse> deliverIgnoringFailures(TransactionRequest<?> request, Speculation speculation) {
+		try {
+			return Optional.of(deliverTransaction(request, speculation));
+		}
+		catch (TransactionRejectedException | RuntimeException e) {
+			// already logged and stored by deliverTransaction()
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * The speculative execution of a request, against the state of the store before the block
+	 * that contains the request. It takes note of the objects and transactions that have been read during
+	 * the execution, so that it is possible to determine if the execution is still valid later.
+	 */
+	private class Speculation {
+
+		/**
+		 * The request that gets executed.
+		 */
+		private final TransactionRequest<?> request;
+
+		/**
+		 * The reference of {@link #request}.
+		 */
+		private final TransactionReference reference;
+
+		/**
+		 * The view of the node used for the execution. It takes note of the state read during the execution.
+		 */
+		private final RecordingNodeInternal node;
+
+		/**
+		 * The builder of the response, if it could be created.
+		 */
+		private volatile ResponseBuilder<?,?> builder;
+
+		/**
+		 * The response computed by the speculative execution, if it could be computed.
+		 */
+		private volatile TransactionResponse response;
+
+		/**
+		 * The reason of the rejection of the request, if it has been rejected.
+		 */
+		private volatile TransactionRejectedException rejection;
+
+		/**
+		 * True if and only if the execution failed with an unexpected exception.
+		 * In that case, the request will be executed again, non-speculatively.
+		 */
+		private volatile boolean failed;
+
+		private Speculation(TransactionRequest<?> request) {
+			this.request = request;
+			this.reference = request.getReference();
+			this.node = new RecordingNodeInternal(internal);
+		}
+
+		/**
+		 * Executes the request speculatively.
+		 */
+		private void run() {
+			try {
+				builder = responseBuilderFor(reference, request, node);
+				response = builder.getResponse();
+			}
+			catch (TransactionRejectedException e) {
+				rejection = e;
+			}
+			catch (Throwable t) {
+				failed = true;
+			}
+		}
+
+		/**
+		 * Determines if this speculative execution is still valid, that is, it has not read
+		 * any state modified by the previous transactions of the block.
+		 * 
+		 * @param modified the objects modified by the previous transactions of the block
+		 * @param delivered the previous transactions of the block
+		 * @return true if and only if this execution is still valid
+		 */
+		private boolean isStillValid(Set<StorageReference> modified, Set<TransactionReference> delivered) {
+			if (failed)
+				return false;
+
+			NonInitialTransactionRequest<?> requestAsNonInitial = (NonInitialTransactionRequest<?>) request;
+			if (delivered.contains(requestAsNonInitial.classpath))
+				return false;
+
+			if (request instanceof JarStoreTransactionRequest && ((JarStoreTransactionRequest) request).getDependencies().anyMatch(delivered::contains))
+				return false;
+
+			return node.getObjectsRead().noneMatch(object -> modified.contains(object) || delivered.contains(object.transaction))
+				&& node.getTransactionsRead().noneMatch(delivered::contains);
+		}
+
+		/**
+		 * Yields the builder used for the speculative execution.
+		 * 
+		 * @return the builder
+		 * @throws TransactionRejectedException if the speculative execution rejected the request
+		 */
+		private ResponseBuilder<?,?> getBuilder() throws TransactionRejectedException {
+			if (rejection != null)
+				throw rejection;
+
+			return builder;
+		}
+
+		/**
+		 * Yields the response computed by the speculative execution.
+		 * 
+		 * @return the response
+		 * @throws TransactionRejectedException if the speculative execution rejected the request
+		 */
+		private TransactionResponse getResponse() throws TransactionRejectedException {
+			if (rejection != null)
+				throw rejection;
+
+			return response;
+		}
+	}
+
+	/**
+	 * Builds a response for the given request and adds it to the store of the node.
+	 * 
+	 * @param request the request
+	 * @param speculation the speculative execution of {@code request}, whose response must be used;
+	 *                    if this is {@code null}, the response is computed now
+	 * @return the response; if this node has a notion of commit, this response is typically still uncommitted
+	 * @throws TransactionRejectedException if the response cannot be built
+	 */
+	private TransactionResponse deliverTransaction(TransactionRequest<?> request, Speculation speculation) throws TransactionRejectedException {
 		long start = System.currentTimeMillis();
 
 		TransactionReference reference = request.getReference();
@@ -577,8 +988,17 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			TransactionResponse response;
 
 			synchronized (deliverTransactionLock) {
-				ResponseBuilder<?,?> responseBuilder = responseBuilderFor(reference, request);
-				response = responseBuilder.getResponse();
+				ResponseBuilder<?,?> responseBuilder;
+
+				if (speculation != null) {
+					responseBuilder = speculation.getBuilder();
+					response = speculation.getResponse();
+				}
+				else {
+					responseBuilder = responseBuilderFor(reference, request);
+					response = responseBuilder.getResponse();
+				}
+
 				store.push(reference, request, response);
 				responseBuilder.replaceReverifiedResponses();
 				scheduleForNotificationOfEvents(response);
@@ -606,7 +1026,7 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 			throw e;
 		}
 		finally {
-			signalSemaphore(reference);
+			scheduleForNotificationOfOutcome(reference);
 			deliverTime.addAndGet(System.currentTimeMillis() - start);
 		}
 	}
@@ -733,6 +1153,36 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		}	
 	}
 
+	/**
+	 * Wakes up who was waiting for the outcome of the given transaction.
+	 * This must be called when that outcome is visible through {@link #getResponse(TransactionReference)}.
+	 * 
+	 * @param reference the reference of the transaction
+	 */
+	protected final void notifyOutcomeOf(TransactionReference reference) {
+		CompletableFuture<TransactionResponse> outcome = outcomes.remove(reference);
+		if (outcome != null) {
+			try {
+				outcome.complete(getResponse(reference));
+			}
+			catch (TransactionRejectedException e) {
+				outcome.completeExceptionally(e);
+			}
+			catch (NoSuchElementException e) {
+				// this should not happen, but we can still poll for the outcome
+				super.getResponseFuture(reference).whenComplete((response, t) -> {
+					if (t != null)
+						outcome.completeExceptionally(t);
+					else
+						outcome.complete(response);
+				});
+			}
+			catch (RuntimeException e) {
+				outcome.completeExceptionally(e);
+			}
+		}
+	}
+
 	/**
 	 * Posts the given request. It does some preliminary preparation then calls
 	 * {@link #postRequest(TransactionRequest)}, that will implement the node-specific
@@ -749,9 +1199,16 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 		if (caches.getResponseUncommitted(reference).isPresent())
 			throw new TransactionRejectedException("repeated request");
 	
-		createSemaphore(reference);
-		postRequest(request);
-	
+		createFutureOfOutcome(reference);
+
+		try {
+			postRequest(request);
+		}
+		catch (RuntimeException e) {
+			outcomes.remove(reference);
+			throw e;
+		}
+
 		return reference;
 	}
 
@@ -801,6 +1258,20 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 * @throws TransactionRejectedException if the builder cannot be created
 	 */
 	protected ResponseBuilder<?,?> responseBuilderFor(TransactionReference reference, TransactionRequest<?> request) throws TransactionRejectedException {
+		return responseBuilderFor(reference, request, internal);
+	}
+
+	/**
+	 * Yields the builder of a response for a request of a transaction, that will
+	 * access the node through the given view.
+	 * 
+	 * @param reference the reference to the transaction that is building the response
+	 * @param request the request
+	 * @param internal the view of the node used by the builder
+	 * @return the builder
+	 * @throws TransactionRejectedException if the builder cannot be created
+	 */
+	private ResponseBuilder<?,?> responseBuilderFor(TransactionReference reference, TransactionRequest<?> request, NodeInternal internal) throws TransactionRejectedException {
 		if (request instanceof JarStoreInitialTransactionRequest)
 			return new JarStoreInitialResponseBuilder(reference, (JarStoreInitialTransactionRequest) request, internal);
 		else if (request instanceof GameteCreationTransactionRequest)
@@ -850,6 +1321,16 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	 */
 	protected abstract void scheduleForNotificationOfEvents(TransactionResponseWithEvents response);
 
+	/**
+	 * Schedules the notification of the outcome of the given transaction to those waiting for it.
+	 * This might call {@link #notifyOutcomeOf(TransactionReference)} immediately
+	 * or might delay its call to the next commit, if there is a notion of commit.
+	 * In this way, one can guarantee that outcomes are notified only when they have been committed.
+	 * 
+	 * @param reference the reference of the transaction whose outcome has been computed
+	 */
+	protected abstract void scheduleForNotificationOfOutcome(TransactionReference reference);
+
 	/**
 	 * Determines if the given transaction has not been committed yet.
 	 * 
@@ -919,26 +1400,15 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 	}
 
 	/**
-	 * Creates a semaphore for those who will wait for the result of the given request.
+	 * Creates a future for those who will wait for the outcome of the given request.
 	 * 
 	 * @param reference the reference of the transaction for the request
 	 */
-	private void createSemaphore(TransactionReference reference) {
-		if (semaphores.putIfAbsent(reference, new Semaphore(0)) != null)
+	private void createFutureOfOutcome(TransactionReference reference) {
+		if (outcomes.putIfAbsent(reference, new CompletableFuture<>()) != null)
 			throw new IllegalStateException("repeated request");
 	}
 
-	/**
-	 * Wakes up who was waiting for the outcome of the given transaction.
-	 * 
-	 * @param reference the reference of the transaction
-	 */
-	private void signalSemaphore(TransactionReference reference) {
-		Semaphore semaphore = semaphores.remove(reference);
-		if (semaphore != null)
-			semaphore.release();
-	}
-
 	/**
 	 * Deletes the given directory, recursively.
 	 * 
@@ -1028,7 +1498,7 @@ public abstract class AbstractLocalNode<C extends Config, S extends AbstractStor
 
 		@Override
 		public StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
-			return AbstractLocalNode.this.runInstanceMethodCallTransaction(request);
+			return runInstanceMethodCallTransactionUncommitted(request);
 		}
 
 		@Override
@@ -94,8 +94,10 @@ public abstract class AbstractStore<C extends Config> implements Store {
 		synchronized (lock) {
 			setResponse(reference, request, response);
 
-			if (response instanceof TransactionResponseWithUpdates)
+			if (response instanceof TransactionResponseWithUpdates) {
 				expandHistory(reference, (TransactionResponseWithUpdates) response);
+				expandState(reference, (TransactionResponseWithUpdates) response);
+			}
 
 			if (response instanceof InitializationTransactionResponse) {
 				StorageReference manifest = ((InitializationTransactionRequest) request).manifest;
@@ -139,6 +141,15 @@ public abstract class AbstractStore<C extends Config> implements Store {
 	 */
 	protected abstract void setHistory(StorageReference object, Stream<TransactionReference> history);
 
+	/**
+	 * Sets the current state of the given object, that is, its class tag and the last update
+	 * to each of its fields.
+	 * 
+	 * @param object the object whose state is set
+	 * @param state the state of the object, replacing its previous state
+	 */
+	protected abstract void setState(StorageReference object, Stream<Update> state);
+
 	/**
 	 * Mark the node as initialized. This happens for initialization requests.
 	 * 
@@ -165,6 +176,86 @@ public abstract class AbstractStore<C extends Config> implements Store {
 		);
 	}
 
+	/**
+	 * Process the updates contained in the given response, updating the state of the affected objects.
+	 * 
+	 * @param reference the transaction that has generated the given response
+	 * @param response the response
+	 */
+	private void expandState(TransactionReference reference, TransactionResponseWithUpdates response) {
+		response.getUpdates()
+			.map(Update::getObject)
+			.distinct()
+			.forEachOrdered(object -> setState(object, updatedState(object, reference, response)));
+	}
+
+	/**
+	 * Yields the state of the given object, after the application of the updates in the given response.
+	 * 
+	 * @param object the object
+	 * @param added the transaction that has generated {@code response}
+	 * @param response the response, that has been already added to the history of {@code object}
+	 * @return the new state of {@code object}
+	 */
+	private Stream<Update> updatedState(StorageReference object, TransactionReference added, TransactionResponseWithUpdates response) {
+		List<Update> state = getStateUncommitted(object).collect(Collectors.toList());
+
+		if (state.isEmpty() && !object.transaction.equals(added))
+			// the state of this object has never been indexed, for instance because this store was
+			// created before the introduction of the index: we recover it from its history, that already includes the response
+			return stateFromHistory(object);
+
+		response.getUpdates()
+			.filter(update -> update.object.equals(object))
+			.forEachOrdered(update -> {
+				state.removeIf(update::sameProperty);
+				state.add(update);
+			});
+
+		return state.stream();
+	}
+
+	/**
+	 * Yields the state of the given object, by scanning the responses in its history.
+	 * 
+	 * @param object the object
+	 * @return the state of {@code object}
+	 */
+	private Stream<Update> stateFromHistory(StorageReference object) {
+		List<Update> state = new ArrayList<>();
+
+		getHistoryUncommitted(object)
+			.map(this::getResponseWithUpdatesUncommitted)
+			.flatMap(TransactionResponseWithUpdates::getUpdates)
+			.filter(update -> update.object.equals(object) && state.stream().noneMatch(update::sameProperty))
+			.forEachOrdered(state::add);
+
+		return state.stream();
+	}
+
+	/**
+	 * Yields the response of the given transaction in the history of an object.
+	 * 
+	 * @param reference the transaction
+	 * @return the response of {@code reference}
+	 * @throws IllegalStateException if the response is missing or has no updates
+	 */
+	private TransactionResponseWithUpdates getResponseWithUpdatesUncommitted(TransactionReference reference) {
+		Optional<TransactionResponse> response = node.caches.getResponseUncommitted(reference);
+
+		if (response.isEmpty()) {
+			logger.log(Level.WARNING, "history contains a reference to a transaction not in store");
+			throw new IllegalStateException("history contains a reference to a transaction not in store");
+		}
+
+		if (!(response.get() instanceof TransactionResponseWithUpdates)) {
+			logger.log(Level.WARNING, "history contains a reference to a transaction without updates");
+			throw new IllegalStateException("history contains a reference to a transaction without updates");
+		}
+
+		return (TransactionResponseWithUpdates) response.get();
+	}
+
 	/**
 	 * Adds the given transaction reference to the history of the given object and yields the simplified
 	 * history. Simplification means that some elements of the previous history might not be useful anymore,
@@ -208,21 +299,9 @@ public abstract class AbstractStore<C extends Config> implements Store {
 	 * @param history the history; this might be modified by the method, by prefixing {@code reference} at its front
 	 */
 	private void addIfUncovered(TransactionReference reference, StorageReference object, Set<Update> covered, List<TransactionReference> history) {
-		Optional<TransactionResponse> response = node.caches.getResponseUncommitted(reference);
-
-		if (response.isEmpty()) {
-			logger.log(Level.WARNING, "history contains a reference to a transaction not in store");
-			throw new IllegalStateException("history contains a reference to a transaction not in store");
-		}
-
-		if (!(response.get() instanceof TransactionResponseWithUpdates)) {
-			logger.log(Level.WARNING, "history contains a reference to a transaction without updates");
-			throw new IllegalStateException("history contains a reference to a transaction without updates");
-		}
-
 		// we check if there is at least an update for a field of the object
 		// that is not yet covered by another update in a previous element of the history
-		Set<Update> diff = ((TransactionResponseWithUpdates) response.get()).getUpdates()
+		Set<Update> diff = getResponseWithUpdatesUncommitted(reference).getUpdates()
 			.filter(update -> update.object.equals(object) && covered.stream().noneMatch(update::sameProperty))
 			.collect(Collectors.toSet());
 
@@ -21,6 +21,7 @@ import static java.math.BigInteger.ZERO;
 
 import java.math.BigInteger;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Optional;
 import java.util.concurrent.Callable;
@@ -43,6 +44,7 @@ import io.hotmoka.crypto.api.SignatureAlgorithm;
 import io.hotmoka.instrumentation.GasCostModel;
 import io.hotmoka.local.internal.NodeInternal;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
+import io.hotmoka.nodes.ConsensusParams;
 import io.hotmoka.nodes.OutOfGasError;
 import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
 import io.hotmoka.verification.UnsupportedVerificationVersionException;
@@ -178,7 +180,23 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 	 * @throws ClassNotFoundException if the class of the caller cannot be found
 	 */
 	private SignatureAlgorithm<SignedTransactionRequest> determineSignatureAlgorithm() throws NoSuchAlgorithmException, ClassNotFoundException {
-		ClassTag classTag = node.getClassTag(request.caller);
+		return signatureAlgorithmFor(request.caller, node, classLoader, consensus);
+	}
+
+	/**
+	 * Determine the signature algorithm that must have been used for signing the requests
+	 * of the given caller. This depends on the run-time class of the caller.
+	 * 
+	 * @param caller the caller
+	 * @param node the node that is checking the requests
+	 * @param classLoader the class loader of the requests
+	 * @param consensus the consensus parameters of the node
+	 * @return the signature algorithm
+	 * @throws NoSuchAlgorithmException if the needed signature algorithm is not available
+	 * @throws ClassNotFoundException if the class of the caller cannot be found
+	 */
+	static SignatureAlgorithm<SignedTransactionRequest> signatureAlgorithmFor(StorageReference caller, NodeInternal node, EngineClassLoader classLoader, ConsensusParams consensus) throws NoSuchAlgorithmException, ClassNotFoundException {
+		ClassTag classTag = node.getClassTag(caller);
 		Class<?> clazz = classLoader.loadClass(classTag.clazz.name);
 
 		if (classLoader.getAccountED25519().isAssignableFrom(clazz))
@@ -359,32 +377,80 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 */
 		private Optional<Object> deserializedValidators;
 
+		/**
+		 * True if and only if the gas of the transaction is accounted with the {@link BigInteger}
+		 * fields below, since it does not fit into a {@code long}. This is very unlikely to happen,
+		 * hence gas is normally accounted with the primitive {@code long} fields, that are much faster
+		 * to update at each charge of gas.
+		 */
+		private boolean gasIsBig;
+
 		/**
 		 * A stack of available gas. When a sub-computation is started
 		 * with a subset of the available gas, the latter is taken away from
 		 * the current available gas and pushed on top of this stack.
+		 * This is only used if {@link #gasIsBig} holds.
 		 */
 		private final LinkedList<BigInteger> oldGas = new LinkedList<>();
 
 		/**
 		 * The remaining amount of gas for the current transaction, not yet consumed.
+		 * This is only used if {@link #gasIsBig} holds.
 		 */
 		private BigInteger gas;
 
 		/**
 		 * The amount of gas consumed for CPU execution.
+		 * This is only used if {@link #gasIsBig} holds.
 		 */
-		private BigInteger gasConsumedForCPU = ZERO;
+		private BigInteger gasConsumedForCPU;
 
 		/**
 		 * The amount of gas consumed for RAM allocation.
+		 * This is only used if {@link #gasIsBig} holds.
 		 */
-		private BigInteger gasConsumedForRAM = ZERO;
+		private BigInteger gasConsumedForRAM;
 
 		/**
 		 * The amount of gas consumed for storage consumption.
+		 * This is only used if {@link #gasIsBig} holds.
+		 */
+		private BigInteger gasConsumedForStorage;
+
+		/**
+		 * The stack of available gas, as {@code long}s. Its top is at {@code oldGasAsLong[oldGasAsLongSize - 1]}.
+		 * This is only used if {@link #gasIsBig} does not hold.
+		 */
+		private long[] oldGasAsLong = new long[8];
+
+		/**
+		 * The number of elements in {@link #oldGasAsLong}.
+		 */
+		private int oldGasAsLongSize;
+
+		/**
+		 * The remaining amount of gas for the current transaction, not yet consumed.
+		 * This is only used if {@link #gasIsBig} does not hold.
 		 */
-		private BigInteger gasConsumedForStorage = ZERO;
+		private long gasAsLong;
+
+		/**
+		 * The amount of gas consumed for CPU execution.
+		 * This is only used if {@link #gasIsBig} does not hold.
+		 */
+		private long gasConsumedForCPUAsLong;
+
+		/**
+		 * The amount of gas consumed for RAM allocation.
+		 * This is only used if {@link #gasIsBig} does not hold.
+		 */
+		private long gasConsumedForRAMAsLong;
+
+		/**
+		 * The amount of gas consumed for storage consumption.
+		 * This is only used if {@link #gasIsBig} does not hold.
+		 */
+		private long gasConsumedForStorageAsLong;
 
 		/**
 		 * The amount of green coins that have been deduced at the beginning
@@ -406,7 +472,15 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 
 		protected ResponseCreator() throws TransactionRejectedException {
 			try {
-				this.gas = request.gasLimit;
+				if (request.gasLimit.bitLength() < Long.SIZE)
+					this.gasAsLong = request.gasLimit.longValue();
+				else {
+					this.gasIsBig = true;
+					this.gas = request.gasLimit;
+					this.gasConsumedForCPU = ZERO;
+					this.gasConsumedForRAM = ZERO;
+					this.gasConsumedForStorage = ZERO;
+				}
 			}
 			catch (Throwable t) {
 				logger.log(Level.WARNING, "response creation rejected", t);
@@ -421,7 +495,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 
 			increaseNonceOfCaller();
 			chargeGasForCPU(gasCostModel.cpuBaseTransactionCost());
-			chargeGasForStorage(BigInteger.valueOf(node.getRequestStorageCost(request)));
+			chargeGasForStorage(node.getRequestStorageCost(request));
 			chargeGasForClassLoader();	
 			this.greenInitiallyPaidForGas = chargePayerForAllGasPromised();
 			this.greenBalanceOfPayerInCaseOfTransactionException = classLoader.getBalanceOf(deserializedPayer);
@@ -465,7 +539,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 * @return the amount of gas
 		 */
 		protected final BigInteger gasConsumedForCPU() {
-			return gasConsumedForCPU;
+			return gasIsBig ? gasConsumedForCPU : BigInteger.valueOf(gasConsumedForCPUAsLong);
 		}
 
 		/**
@@ -474,7 +548,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 * @return the amount of gas
 		 */
 		protected final BigInteger gasConsumedForRAM() {
-			return gasConsumedForRAM;
+			return gasIsBig ? gasConsumedForRAM : BigInteger.valueOf(gasConsumedForRAMAsLong);
 		}
 
 		/**
@@ -483,7 +557,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 * @return the amount of gas
 		 */
 		protected final BigInteger gasConsumedForStorage() {
-			return gasConsumedForStorage;
+			return gasIsBig ? gasConsumedForStorage : BigInteger.valueOf(gasConsumedForStorageAsLong);
 		}
 
 		/**
@@ -493,11 +567,41 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 *         the gas already consumed for PCU, for RAM and for storage
 		 */
 		protected final BigInteger gasConsumedForPenalty() {
-			return request.gasLimit.subtract(gasConsumedForCPU).subtract(gasConsumedForRAM).subtract(gasConsumedForStorage);
+			return request.gasLimit.subtract(gasConsumedForCPU()).subtract(gasConsumedForRAM()).subtract(gasConsumedForStorage());
+		}
+
+		/**
+		 * Yields the remaining amount of gas for the current transaction, not yet consumed.
+		 * 
+		 * @return the remaining amount of gas
+		 */
+		private BigInteger remainingGas() {
+			return gasIsBig ? gas : BigInteger.valueOf(gasAsLong);
+		}
+
+		/**
+		 * Switches the accounting of gas from {@code long}s to {@link BigInteger}s,
+		 * if it is not already done with {@link BigInteger}s.
+		 */
+		private void switchToBigGas() {
+			if (!gasIsBig) {
+				gas = BigInteger.valueOf(gasAsLong);
+				gasConsumedForCPU = BigInteger.valueOf(gasConsumedForCPUAsLong);
+				gasConsumedForRAM = BigInteger.valueOf(gasConsumedForRAMAsLong);
+				gasConsumedForStorage = BigInteger.valueOf(gasConsumedForStorageAsLong);
+
+				// the top of the stack must become the first element of the list
+				for (int pos = 0; pos < oldGasAsLongSize; pos++)
+					oldGas.addFirst(BigInteger.valueOf(oldGasAsLong[pos]));
+
+				oldGasAsLongSize = 0;
+				gasIsBig = true;
+			}
 		}
 
 		/**
 		 * Reduces the remaining amount of gas. It performs a task at the end.
+		 * This is only used if {@link #gasIsBig} holds.
 		 * 
 		 * @param amount the amount of gas to consume
 		 * @param forWhat the task performed at the end, for the amount of gas to consume
@@ -519,13 +623,61 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 			forWhat.accept(amount);
 		}
 
+		/**
+		 * Reduces the remaining amount of gas, if it is accounted as a {@code long}.
+		 * This is only used if {@link #gasIsBig} does not hold.
+		 * 
+		 * @param amount the amount of gas to consume
+		 * @return true if and only if the consumed gas must be added to the gas consumed for
+		 *         its specific task; this is false if gas is not counted
+		 */
+		private boolean charge(long amount) {
+			if (amount < 0L)
+				throw new IllegalArgumentException("gas cannot increase");
+
+			// gas can be negative only if it was initialized so; this special case is
+			// used for the creation of the gamete, when gas should not be counted
+			if (gasAsLong < 0L)
+				return false;
+
+			if (gasAsLong < amount)
+				throw new OutOfGasError();
+
+			gasAsLong -= amount;
+			return true;
+		}
+
 		/**
 		 * Decreases the available gas by the given amount, for storage allocation.
 		 * 
 		 * @param amount the amount of gas to consume
 		 */
 		private void chargeGasForStorage(BigInteger amount) {
-			charge(amount, x -> gasConsumedForStorage = gasConsumedForStorage.add(x));
+			if (!gasIsBig && amount.bitLength() < Long.SIZE)
+				chargeGasForStorage(amount.longValue());
+			else {
+				switchToBigGas();
+				charge(amount, x -> gasConsumedForStorage = gasConsumedForStorage.add(x));
+			}
+		}
+
+		/**
+		 * Decreases the available gas by the given amount, for storage allocation.
+		 * 
+		 * @param amount the amount of gas to consume
+		 */
+		private void chargeGasForStorage(long amount) {
+			if (gasIsBig)
+				chargeGasForStorage(BigInteger.valueOf(amount));
+			else if (charge(amount)) {
+				try {
+					gasConsumedForStorageAsLong = Math.addExact(gasConsumedForStorageAsLong, amount);
+				}
+				catch (ArithmeticException e) {
+					switchToBigGas();
+					gasConsumedForStorage = gasConsumedForStorage.add(BigInteger.valueOf(amount));
+				}
+			}
 		}
 
 		/**
@@ -534,17 +686,58 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 * @param response the response
 		 */
 		protected final void chargeGasForStorageOf(Response response) {
-			chargeGasForStorage(BigInteger.valueOf(response.size()));
+			chargeGasForStorage(response.size());
 		}
 
 		@Override
 		public final void chargeGasForCPU(BigInteger amount) {
-			charge(amount, x -> gasConsumedForCPU = gasConsumedForCPU.add(x));
+			if (!gasIsBig && amount.bitLength() < Long.SIZE)
+				chargeGasForCPU(amount.longValue());
+			else {
+				switchToBigGas();
+				charge(amount, x -> gasConsumedForCPU = gasConsumedForCPU.add(x));
+			}
+		}
+
+		@Override
+		public final void chargeGasForCPU(long amount) {
+			if (gasIsBig)
+				chargeGasForCPU(BigInteger.valueOf(amount));
+			else if (charge(amount)) {
+				try {
+					gasConsumedForCPUAsLong = Math.addExact(gasConsumedForCPUAsLong, amount);
+				}
+				catch (ArithmeticException e) {
+					// this might happen since the gas charged by withGas() is counted twice
+					switchToBigGas();
+					gasConsumedForCPU = gasConsumedForCPU.add(BigInteger.valueOf(amount));
+				}
+			}
 		}
 
 		@Override
 		public final void chargeGasForRAM(BigInteger amount) {
-			charge(amount, x -> gasConsumedForRAM = gasConsumedForRAM.add(x));
+			if (!gasIsBig && amount.bitLength() < Long.SIZE)
+				chargeGasForRAM(amount.longValue());
+			else {
+				switchToBigGas();
+				charge(amount, x -> gasConsumedForRAM = gasConsumedForRAM.add(x));
+			}
+		}
+
+		@Override
+		public final void chargeGasForRAM(long amount) {
+			if (gasIsBig)
+				chargeGasForRAM(BigInteger.valueOf(amount));
+			else if (charge(amount)) {
+				try {
+					gasConsumedForRAMAsLong = Math.addExact(gasConsumedForRAMAsLong, amount);
+				}
+				catch (ArithmeticException e) {
+					switchToBigGas();
+					gasConsumedForRAM = gasConsumedForRAM.add(BigInteger.valueOf(amount));
+				}
+			}
 		}
 
 		/**
@@ -611,7 +804,7 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		 * Pays back the remaining gas to the payer of the transaction.
 		 */
 		protected final void refundPayerForAllRemainingGas() {
-			BigInteger refund = costOf(gas);
+			BigInteger refund = costOf(remainingGas());
 			BigInteger greenBalance = classLoader.getBalanceOf(deserializedPayer);
 
 			// we pay back the green before
@@ -632,14 +825,29 @@ public abstract class NonInitialResponseBuilder<Request extends NonInitialTransa
 		@Override
 		public final <T> T withGas(BigInteger amount, Callable<T> what) throws Exception {
 			chargeGasForCPU(amount);
-			oldGas.addFirst(gas);
-			gas = amount;
-		
+
+			if (!gasIsBig && amount.bitLength() < Long.SIZE) {
+				if (oldGasAsLongSize == oldGasAsLong.length)
+					oldGasAsLong = Arrays.copyOf(oldGasAsLong, oldGasAsLongSize * 2);
+
+				oldGasAsLong[oldGasAsLongSize++] = gasAsLong;
+				gasAsLong = amount.longValue();
+			}
+			else {
+				switchToBigGas();
+				oldGas.addFirst(gas);
+				gas = amount;
+			}
+
 			try {
 				return what.call();
 			}
 			finally {
-				gas = gas.add(oldGas.removeFirst());
+				// the sum cannot overflow, since it is at most the gas available before the call
+				if (gasIsBig)
+					gas = gas.add(oldGas.removeFirst());
+				else
+					gasAsLong += oldGasAsLong[--oldGasAsLongSize];
 			}
 		}
 
@@ -24,6 +24,7 @@ import io.hotmoka.annotations.ThreadSafe;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 
 /**
@@ -86,6 +87,26 @@ public interface Store extends AutoCloseable {
 	 */
 	Stream<TransactionReference> getHistoryUncommitted(StorageReference object);
 
+	/**
+	 * Yields the current state of the given object, that is, its class tag and the
+	 * last update to each of its fields. This is an index that spares the scan of the
+	 * responses in the history of the object.
+	 * 
+	 * @param object the reference of the object
+	 * @return the state. Yields an empty stream if the state of {@code object} is not known to this store
+	 */
+	Stream<Update> getState(StorageReference object);
+
+	/**
+	 * Yields the current state of the given object, that is, its class tag and the
+	 * last update to each of its fields. This is an index that spares the scan of the
+	 * responses in the history of the object. The state is returned also when it is not yet committed.
+	 * 
+	 * @param object the reference of the object
+	 * @return the state. Yields an empty stream if the state of {@code object} is not known to this store
+	 */
+	Stream<Update> getStateUncommitted(StorageReference object);
+
 	/**
 	 * Yields the manifest installed when the node is initialized.
 	 * 
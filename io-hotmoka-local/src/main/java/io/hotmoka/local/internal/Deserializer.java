@@ -16,22 +16,18 @@ limitations under the License.
 
 package io.hotmoka.local.internal;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import io.hotmoka.beans.references.TransactionReference;
-import io.hotmoka.beans.signatures.FieldSignature;
 import io.hotmoka.beans.updates.ClassTag;
-import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.updates.UpdateOfField;
 import io.hotmoka.beans.values.BigIntegerValue;
 import io.hotmoka.beans.values.BooleanValue;
@@ -51,7 +47,6 @@ import io.hotmoka.local.EngineClassLoader;
 import io.hotmoka.local.StoreUtilities;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
 import io.hotmoka.nodes.DeserializationError;
-import io.hotmoka.verification.Dummy;
 
 /**
  * An implementation of an object that translates storage values into RAM values.
@@ -63,11 +58,6 @@ public class Deserializer {
 	 */
 	private final StoreUtilities storeUtilities;
 
-	/**
-	 * The object that translates storage types into their run-time class tag.
-	 */
-	private final StorageTypeToClass storageTypeToClass;
-
 	/**
 	 * The class loader that can be used to load classes.
 	 */
@@ -80,50 +70,6 @@ public class Deserializer {
 	 */
 	private final Map<StorageReference, Object> cache = new HashMap<>();
 
-	/**
-	 * A comparator that puts updates in the order required for the parameter
-	 * of the deserialization constructor of storage objects: fields of superclasses first;
-	 * then the fields for the same class, ordered by name and then by the
-	 * {@code toString()} of their type.
-	 */
-	private final Comparator<Update> updateComparator = new Comparator<>() {
-
-		@Override
-		public int compare(Update update1, Update update2) {
-			if (update1 instanceof UpdateOfField && update2 instanceof UpdateOfField) {
-				FieldSignature field1 = ((UpdateOfField) update1).getField();
-				FieldSignature field2 = ((UpdateOfField) update2).getField();
-
-				try {
-					String className1 = field1.definingClass.name;
-					String className2 = field2.definingClass.name;
-
-					if (className1.equals(className2)) {
-						int diff = field1.name.compareTo(field2.name);
-						if (diff != 0)
-							return diff;
-						else
-							return field1.type.toString().compareTo(field2.type.toString());
-					}
-
-					Class<?> clazz1 = classLoader.loadClass(className1);
-					Class<?> clazz2 = classLoader.loadClass(className2);
-					if (clazz1.isAssignableFrom(clazz2)) // clazz1 superclass of clazz2
-						return -1;
-					else if (clazz2.isAssignableFrom(clazz1)) // clazz2 superclass of clazz1
-						return 1;
-					else
-						throw new IllegalStateException("Updates are not on the same supeclass chain");
-				}
-				catch (ClassNotFoundException e) {
-					throw new DeserializationError(e);
-				}
-			}
-			else
-				return update1.compareTo(update2);
-		}
-	};
-
 	/**
 	 * Builds an object that translates storage values into RAM values.
 	 * 
@@ -132,7 +78,6 @@ public class Deserializer {
 	 */
 	public Deserializer(AbstractResponseBuilder<?,?> builder, StoreUtilities storeUtilities) {
 		this.storeUtilities = storeUtilities;
-		this.storageTypeToClass = builder.storageTypeToClass;
 		this.classLoader = builder.classLoader;
 	}
 
@@ -209,44 +154,37 @@ public class Deserializer {
 	 */
 	private Object createStorageObject(StorageReference reference) {
 		try {
-			List<Class<?>> formals = new ArrayList<>();
-			List<Object> actuals = new ArrayList<>();
-			// the constructor for deserialization has a first parameter
-			// that receives the storage reference of the object
-			formals.add(Object.class);
-			actuals.add(reference);
-	
-			// we set the value for eager fields only; other fields will be loaded lazily
-			// we process the updates in the same order they have in the deserialization constructor
 			ClassTag classTag = storeUtilities.getClassTagUncommitted(reference);
-			storeUtilities.getEagerFieldsUncommitted(reference)
-				.sorted(updateComparator)
-				.forEachOrdered(update -> {
-					try {
-						formals.add(storageTypeToClass.toClass(update.getField().type));
-						actuals.add(deserialize(update.getValue()));
-					}
-					catch (ClassNotFoundException e) {
-						throw new DeserializationError(e);
-					}
-				});
-	
 			Class<?> clazz = classLoader.loadClass(classTag.clazz.name);
 			TransactionReference actual = classLoader.transactionThatInstalledJarFor(clazz);
 			TransactionReference expected = classTag.jar;
 			if (!actual.equals(expected))
 				throw new DeserializationError("Class " + classTag.clazz + " was instantiated from jar at " + expected + " not from jar at " + actual);
-	
-			// we add the fictitious argument that avoids name clashes
-			formals.add(Dummy.class);
-			actuals.add(null);
-	
-			Constructor<?> constructor = clazz.getConstructor(formals.toArray(Class[]::new));
-	
-			// the instrumented constructor is public, but the class might well be non-public; hence we must force accessibility
-			constructor.setAccessible(true);
-	
-			return constructor.newInstance(actuals.toArray(Object[]::new));
+
+			var engineClassLoader = (EngineClassLoaderImpl) classLoader;
+			StorageClassLayout layout = engineClassLoader.getLayout(clazz);
+
+			// the constructor for deserialization has a first parameter
+			// that receives the storage reference of the object and a last,
+			// fictitious parameter, that avoids name clashes, that we leave to null
+			Object[] actuals = new Object[layout.getDeserializationArity()];
+			actuals[0] = reference;
+
+			// we set the value for eager fields only; other fields will be loaded lazily;
+			// each update goes into the position of its field in the deserialization constructor
+			List<UpdateOfField> updates = storeUtilities.getEagerFieldsUncommitted(reference).collect(Collectors.toList());
+			if (updates.size() != actuals.length - 2)
+				throw new DeserializationError("Object " + reference + " has " + updates.size() + " eager fields but its class " + classTag.clazz + " has " + (actuals.length - 2));
+
+			for (UpdateOfField update: updates) {
+				int position = layout.getDeserializationPositionOf(update.getField());
+				if (position < 0)
+					throw new DeserializationError("Object " + reference + " has an unexpected eager field " + update.getField());
+
+				actuals[position] = deserialize(update.getValue());
+			}
+
+			return engineClassLoader.newInstance(layout.getDeserializationConstructor(), actuals);
 		}
 		catch (DeserializationError e) {
 			throw e;
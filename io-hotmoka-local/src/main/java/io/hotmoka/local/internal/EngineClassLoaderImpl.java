@@ -19,6 +19,8 @@ package io.hotmoka.local.internal;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -64,37 +66,47 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	/**
 	 * Method {@link io.takamaka.code.lang.Storage#fromContract(io.takamaka.code.lang.Contract)}.
 	 */
-	private final Method fromContract;
+	private final MethodHandle fromContract;
 
 	/**
 	 * Method {@link io.takamaka.code.lang.Contract#payableFromContract(io.takamaka.code.lang.Contract, int)}.
 	 */
-	private final Method payableFromContractInt;
+	private final MethodHandle payableFromContractInt;
 
 	/**
 	 * Method {@link io.takamaka.code.lang.Contract#payableFromContract(io.takamaka.code.lang.Contract, long)}.
 	 */
-	private final Method payableFromContractLong;
+	private final MethodHandle payableFromContractLong;
 
 	/**
 	 * Method {@link io.takamaka.code.lang.Contract#payableFromContract(io.takamaka.code.lang.Contract, BigInteger)}.
 	 */
-	private final Method payableFromContractBigInteger;
+	private final MethodHandle payableFromContractBigInteger;
 
 	/**
 	 * Method {@link io.takamaka.code.lang.Contract#redPayable(io.takamaka.code.lang.RedGreenContract, int)}.
 	 */
-	private final Method redPayableInt;
+	private final MethodHandle redPayableInt;
 
 	/**
 	 * Method {@link io.takamaka.code.lang.Contract#redPayable(io.takamaka.code.lang.RedGreenContract, long)}.
 	 */
-	private final Method redPayableLong;
+	private final MethodHandle redPayableLong;
 
 	/**
 	 * Method {@link io.takamaka.code.lang.Contract#redPayable(io.takamaka.code.lang.RedGreenContract, BigInteger)}.
 	 */
-	private final Method redPayableBigInteger;
+	private final MethodHandle redPayableBigInteger;
+
+	/**
+	 * The linkage of the methods and constructors called with this class loader.
+	 */
+	private final Linkage linkage;
+
+	/**
+	 * The layout of the storage classes of this class loader, computed up to now.
+	 */
+	private final ConcurrentMap<Class<?>, StorageClassLayout> layouts = new ConcurrentHashMap<>();
 
 	/**
 	 * Field {@link io.takamaka.code.lang.ExternallyOwnedAccount#nonce}.
@@ -181,21 +193,16 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 			this.lengthsOfJars = jars.stream().mapToInt(bytes -> bytes.length).toArray();
 			this.transactionsOfJars = transactionsOfJars.toArray(TransactionReference[]::new);
 
+			this.linkage = new Linkage(parent);
+
 			Class<?> contract = getContract(), storage = getStorage();
-			this.fromContract = storage.getDeclaredMethod("fromContract", contract);
-			this.fromContract.setAccessible(true); // it was private
-			this.payableFromContractInt = contract.getDeclaredMethod("payableFromContract", contract, int.class);
-			this.payableFromContractInt.setAccessible(true); // it was private
-			this.payableFromContractLong = contract.getDeclaredMethod("payableFromContract", contract, long.class);
-			this.payableFromContractLong.setAccessible(true); // it was private
-			this.payableFromContractBigInteger = contract.getDeclaredMethod("payableFromContract", contract, BigInteger.class);
-			this.payableFromContractBigInteger.setAccessible(true); // it was private
-			this.redPayableInt = contract.getDeclaredMethod("redPayable", contract, int.class);
-			this.redPayableInt.setAccessible(true); // it was private
-			this.redPayableLong = contract.getDeclaredMethod("redPayable", contract, long.class);
-			this.redPayableLong.setAccessible(true); // it was private
-			this.redPayableBigInteger = contract.getDeclaredMethod("redPayable", contract, BigInteger.class);
-			this.redPayableBigInteger.setAccessible(true); // it was private
+			this.fromContract = handleFor(storage.getDeclaredMethod("fromContract", contract));
+			this.payableFromContractInt = handleFor(contract.getDeclaredMethod("payableFromContract", contract, int.class));
+			this.payableFromContractLong = handleFor(contract.getDeclaredMethod("payableFromContract", contract, long.class));
+			this.payableFromContractBigInteger = handleFor(contract.getDeclaredMethod("payableFromContract", contract, BigInteger.class));
+			this.redPayableInt = handleFor(contract.getDeclaredMethod("redPayable", contract, int.class));
+			this.redPayableLong = handleFor(contract.getDeclaredMethod("redPayable", contract, long.class));
+			this.redPayableBigInteger = handleFor(contract.getDeclaredMethod("redPayable", contract, BigInteger.class));
 			this.redBalanceField = contract.getDeclaredField("balanceRed");
 			this.redBalanceField.setAccessible(true); // it was private
 			this.externallyOwnedAccountNonce = getExternallyOwnedAccount().getDeclaredField("nonce");
@@ -212,11 +219,26 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 		catch (IllegalArgumentException e) {
 			throw e;
 		}
-		catch (NoSuchMethodException | NoSuchFieldException e) {
+		catch (NoSuchMethodException | NoSuchFieldException | IllegalAccessException e) {
 			throw new RuntimeException("unexpected class change", e);
 		}
 	}
 
+	/**
+	 * Yields a method handle for the given private method of the Takamaka runtime.
+	 * Its receiver and its first parameter are typed as {@code Object}, so that
+	 * it can be called without knowing the classes of the Takamaka runtime.
+	 * 
+	 * @param method the method
+	 * @return the method handle
+	 * @throws IllegalAccessException if the method cannot be accessed
+	 */
+	private static MethodHandle handleFor(Method method) throws IllegalAccessException {
+		method.setAccessible(true); // it was private
+		MethodHandle handle = MethodHandles.lookup().unreflect(method);
+		return handle.asType(handle.type().changeParameterType(0, Object.class).changeParameterType(1, Object.class));
+	}
+
 	/**
 	 * Yields the Takamaka class loader for the given dependencies.
 	 * 
@@ -485,19 +507,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 */
 	public final void fromContract(Object callee, Object caller) throws Throwable {
 		// we call the private method of contract
-		try {
-			fromContract.invoke(callee, caller);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call Storage.fromContract()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside Storage.fromContract() itself: we forward it
-			throw e.getCause();
-		}
+		fromContract.invokeExact(callee, caller);
 	}
 
 	/**
@@ -511,19 +521,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 */
 	public final void payableFromContract(Object callee, Object payer, BigInteger amount) throws Throwable {
 		// we call the private method of contract
-		try {
-			payableFromContractBigInteger.invoke(callee, payer, amount);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call Contract.payableFromContract()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside Contract.payableFromContract() itself: we forward it
-			throw e.getCause();
-		}
+		payableFromContractBigInteger.invokeExact(callee, payer, amount);
 	}
 
 	/**
@@ -536,19 +534,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 * @throws any possible exception thrown inside {@code io.takamaka.code.lang.RedGreenContract.redPayable()}
 	 */
 	public final void redPayableFromContract(Object callee, Object caller, BigInteger amount) throws Throwable {
-		try {
-			redPayableBigInteger.invoke(callee, caller, amount);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call RedGreenContract.redPayableFromContract()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside RedGreenContract.redPayableFromContract() itself: we forward it
-			throw e.getCause();
-		}
+		redPayableBigInteger.invokeExact(callee, caller, amount);
 	}
 
 	/**
@@ -561,19 +547,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 * @throws any possible exception thrown inside {@code io.takamaka.code.lang.Contract.payableFromContract()}
 	 */
 	public final void payableFromContract(Object callee, Object caller, int amount) throws Throwable {
-		try {
-			payableFromContractInt.invoke(callee, caller, amount);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call Contract.payableFromContract()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside Contract.payableFromContract() itself: we forward it
-			throw e.getCause();
-		}
+		payableFromContractInt.invokeExact(callee, caller, amount);
 	}
 
 	/**
@@ -586,19 +560,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 * @throws any possible exception thrown inside {@code io.takamaka.code.lang.RedGreenContract.redPayable()}
 	 */
 	public final void redPayableFromContract(Object callee, Object caller, int amount) throws Throwable {
-		try {
-			redPayableInt.invoke(callee, caller, amount);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call RedGreenContract.redPayableEntry()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside RedGreenContract.redPayableEntry(): we forward it
-			throw e.getCause();
-		}
+		redPayableInt.invokeExact(callee, caller, amount);
 	}
 
 	/**
@@ -611,19 +573,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 * @throws any possible exception thrown inside {@code io.takamaka.code.lang.Contract.payableFromContract()}
 	 */
 	public final void payableFromContract(Object callee, Object caller, long amount) throws Throwable {
-		try {
-			payableFromContractLong.invoke(callee, caller, amount);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call Contract.payableFromContract()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside Contract.payableFromContract() itself: we forward it
-			throw e.getCause();
-		}
+		payableFromContractLong.invokeExact(callee, caller, amount);
 	}
 
 	/**
@@ -636,19 +586,58 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 	 * @throws any possible exception thrown inside {@code io.takamaka.code.lang.RedGreenContract.redPayable()}
 	 */
 	public final void redPayableFromContract(Object callee, Object caller, long amount) throws Throwable {
-		try {
-			redPayableLong.invoke(callee, caller, amount);
-		}
-		catch (IllegalArgumentException e) {
-			throw e;
-		}
-		catch (IllegalAccessException e) {
-			throw new IllegalArgumentException("cannot call RedGreenContract.redPayable()", e);
-		}
-		catch (InvocationTargetException e) {
-			// an exception inside RedGreenContract.redPayable() itself: we forward it
-			throw e.getCause();
+		redPayableLong.invokeExact(callee, caller, amount);
+	}
+
+	/**
+	 * Calls the given method of a class of this class loader, with the same semantics as
+	 * {@link Method#invoke(Object, Object...)}, but through a method handle, whenever possible.
+	 * 
+	 * @param method the method
+	 * @param receiver the receiver of the call; this is ignored for static methods
+	 * @param actuals the actual arguments of the call
+	 * @return the result of the call; this is {@code null} for {@code void} methods
+	 * @throws IllegalAccessException if the method cannot be accessed
+	 * @throws InvocationTargetException if the method throws an exception
+	 */
+	public final Object invoke(Method method, Object receiver, Object[] actuals) throws IllegalAccessException, InvocationTargetException {
+		return linkage.invoke(method, receiver, actuals);
+	}
+
+	/**
+	 * Yields the layout of the given storage class of this class loader.
+	 * It is computed only once and then reused.
+	 * 
+	 * @param clazz the storage class
+	 * @return the layout
+	 */
+	final StorageClassLayout getLayout(Class<?> clazz) {
+		StorageClassLayout layout = layouts.get(clazz);
+		if (layout == null) {
+			// we compute the layout outside the map, so that other classes are not blocked;
+			// if more threads compute the same layout concurrently, only the first one is kept
+			layout = new StorageClassLayout(clazz, this);
+			StorageClassLayout old = layouts.putIfAbsent(clazz, layout);
+			if (old != null)
+				layout = old;
 		}
+
+		return layout;
+	}
+
+	/**
+	 * Calls the given constructor of a class of this class loader, with the same semantics as
+	 * {@link Constructor#newInstance(Object...)}, but through a method handle, whenever possible.
+	 * 
+	 * @param constructor the constructor
+	 * @param actuals the actual arguments of the call
+	 * @return the object created by the constructor
+	 * @throws InstantiationException if the class of the constructor is abstract
+	 * @throws IllegalAccessException if the constructor cannot be accessed
+	 * @throws InvocationTargetException if the constructor throws an exception
+	 */
+	public final Object newInstance(Constructor<?> constructor, Object[] actuals) throws InstantiationException, IllegalAccessException, InvocationTargetException {
+		return linkage.newInstance(constructor, actuals);
 	}
 
 	/**
@@ -681,7 +670,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 
 	@Override
 	public Optional<Constructor<?>> resolveConstructor(String className, Class<?>[] args) throws ClassNotFoundException {
-		return parent.resolveConstructor(className, args);
+		return linkage.resolveConstructor(className, args);
 	}
 
 	@Override
@@ -691,7 +680,7 @@ public final class EngineClassLoaderImpl implements EngineClassLoader {
 
 	@Override
 	public Optional<Method> resolveMethod(String className, String methodName, Class<?>[] args, Class<?> returnType) throws ClassNotFoundException {
-		return parent.resolveMethod(className, methodName, args, returnType);
+		return linkage.resolveMethod(className, methodName, args, returnType);
 	}
 
 	@Override
@@ -16,170 +16,354 @@ limitations under the License.
 
 package io.hotmoka.local.internal;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+import io.hotmoka.annotations.ThreadSafe;
+
 /**
- * A class to cache objects based on LRU (Least Recently Used) cache eviction strategy,
- * wherein if the cache size has reached the maximum allocated capacity, the
- * least recently used objects in the cache will be evicted.
- * 
- * @author sunil
+ * A bounded cache of objects, with an approximation of the LRU (Least Recently Used)
+ * eviction strategy: if the cache size has reached the maximum allocated capacity,
+ * objects that have not been accessed recently get evicted.
  *
- * @param <K>
- * @param <V>
+ * The cache is split into segments, each with its own lock, that is only taken
+ * for modifications. Reads are lock-free: they only mark the accessed object as
+ * recently used. Eviction follows the CLOCK policy inside each segment: objects are
+ * scanned in insertion order and the first one that has not been accessed since
+ * the last scan gets evicted, while the others get a second chance.
  *
- * <p>
- *        Date: 14/Nov/2019
- * </p>
- * 
- * Taken from https://dzone.com/articles/java-based-simple-cache-lru-eviction.
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
  */
+@ThreadSafe
 public final class LRUCache<K, V> {
 
 	/**
-	 * A doubly-linked-list implementation to save objects into the hashmap
-	 * as key-value pari.
-	 * 
-	 * @author sunil
+	 * The maximal number of segments of the cache.
+	 */
+	private final static int MAX_SEGMENTS = 16;
+
+	/**
+	 * The segments of the cache. Their number is a power of two.
+	 */
+	private final Segment<K, V>[] segments;
+
+	/**
+	 * The number of reads that found their key in cache.
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * The number of reads that did not find their key in cache.
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * The number of objects evicted from the cache for lack of space.
+	 */
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * The computations of the values of the keys that are currently running,
+	 * through the {@code computeIfAbsent} methods.
+	 */
+	private final ConcurrentMap<K, Computation<V>> computations = new ConcurrentHashMap<>();
+
+	/**
+	 * A running computation of the value of a key.
+	 *
+	 * @param <V> the type of the value
+	 */
+	private final static class Computation<V> {
+
+		/**
+		 * The thread that is running the computation.
+		 */
+		private final Thread owner = Thread.currentThread();
+
+		/**
+		 * The result of the computation. It is completed with {@code null} if the computation failed.
+		 */
+		private final CompletableFuture<Optional<V>> result = new CompletableFuture<>();
+	}
+
+	/**
+	 * An object in cache.
 	 *
-	 * @param <K>
-	 * @param <V>
+	 * @param <K> the type of the key of the object
+	 * @param <V> the type of the object
 	 */
-	private static class Node<K, V> {
-		private V value;
+	private final static class Entry<K, V> {
 		private final K key;
-		private Node<K, V> next, prev;
+		private volatile V value;
 
-		public Node(K key, V value) {
+		/**
+		 * True if and only if the object has been accessed since it was last scanned for eviction.
+		 */
+		private volatile boolean referenced;
+
+		private Entry(K key, V value) {
 			this.key = key;
 			this.value = value;
 		}
-
-		@Override
-		public String toString() {
-			return value.toString();
-		}
 	}
 
 	/**
-	 * The maximum number of elements that can be cached, should be set during instantiation time.
+	 * A segment of the cache, that holds the keys whose hash falls into the segment.
+	 *
+	 * @param <K> the type of the keys
+	 * @param <V> the type of the cached values
 	 */
-	private final int maxCapacity;
+	private final static class Segment<K, V> {
 
-	/**
-	 * Use {@linkplain ConcurrentHashMap} here to maintain the cache of objects.
-	 * Also this offers thread safe access of the cache.
-	 */
-	private final Map<K, Node<K, V>> map;
+		/**
+		 * The maximal number of objects in this segment.
+		 */
+		private final int capacity;
+
+		/**
+		 * The objects in this segment. This map is read without synchronization
+		 * but only modified while holding the lock of the segment.
+		 */
+		private final ConcurrentMap<K, Entry<K, V>> map;
+
+		/**
+		 * The objects of this segment, in insertion order, scanned by the clock hand for eviction.
+		 * It might contain objects already removed from {@link #map}, that get discarded
+		 * when reached. Guarded by the lock of this segment.
+		 */
+		private final ArrayDeque<Entry<K, V>> clock = new ArrayDeque<>();
+
+		private Segment(int initialCapacity, int capacity) {
+			this.capacity = capacity;
+			this.map = new ConcurrentHashMap<>(Math.max(1, Math.min(initialCapacity, capacity)));
+		}
+	}
 
 	/**
-	 * A key-value representation of the cache object identified by a cache key.
-	 * This is actually a doubly-linked list which maintains the most recently accessed
-	 * objects (read/write) at the tail-end and the least read objects at the head. 
+	 * Builds an empty cache.
+	 *
+	 * @param maxCapacity the maximal number of objects that can be kept in the cache
 	 */
-	private Node<K, V> head, tail;
-
 	public LRUCache(int maxCapacity) {
 		this(16, maxCapacity);
 	}
 
+	/**
+	 * Builds an empty cache.
+	 *
+	 * @param initialCapacity the number of objects that the cache can hold before resizing its internal tables
+	 * @param maxCapacity the maximal number of objects that can be kept in the cache
+	 */
+	@SuppressWarnings("unchecked")
 	public LRUCache(int initialCapacity, int maxCapacity) {
-		this.maxCapacity = maxCapacity;
-
-		if (initialCapacity > maxCapacity)
-			initialCapacity = maxCapacity;
+		// we use few segments for small caches, so that each segment has a reasonable size
+		int numberOfSegments = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxCapacity / 8)));
+		this.segments = (Segment<K, V>[]) new Segment<?, ?>[numberOfSegments];
 
-		map = new HashMap<>(initialCapacity);
+		// the capacities of the segments sum up to maxCapacity
+		for (int pos = 0; pos < numberOfSegments; pos++)
+			segments[pos] = new Segment<>(initialCapacity / numberOfSegments,
+				maxCapacity / numberOfSegments + (pos < maxCapacity % numberOfSegments ? 1 : 0));
 	}
 
 	/**
-	 * Removes a node from the head position doubly-linked list.
+	 * Yields the segment that holds the given key.
 	 *
-	 * @param node the node to remove
+	 * @param key the key
+	 * @return the segment
 	 */
-	private void removeNode(Node<K, V> node) {
-		if (node.prev != null)
-			node.prev.next = node.next;
-		else
-			head = node.next;
-
-		if (node.next != null)
-			node.next.prev = node.prev;
-		else
-			tail = node.prev;
+	private Segment<K, V> segmentFor(Object key) {
+		int h = key.hashCode();
+		return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
 	}
+
 	/**
-	 * Offers a node to the tail-end of the doubly-linked list because
-	 * it was recently read or written.
+	 * Adds a new object to the cache. If the cache size has reached its capacity,
+	 * then an object not recently accessed gets evicted.
 	 *
-	 * @param node the node offered
+	 * @param key the key to bind
+	 * @param value the value to bind to the {@code key}; if this is {@code null},
+	 *              the key is removed from the cache
 	 */
-	private void offerNode(Node<K, V> node) {
-		if (head == null)
-			head = tail = node;
-		else {
-			tail.next = node;
-			node.prev = tail;
-			node.next = null;
-			tail = node;
-		}
+	public void put(K key, V value) {
+		put(key, value, true);
 	}
 
 	/**
-	 * Adds a new object to the cache. If the cache size has reached it's capacity,
-	 * then the least recently accessed object will be evicted.
+	 * Adds a new object to the cache, if its key was unbound.
 	 *
 	 * @param key the key to bind
 	 * @param value the value to bind to the {@code key}
+	 * @return the value bound to {@code key} at the end of the method
 	 */
-	public synchronized void put(K key, V value) {
-		if (map.containsKey(key)) {
-			Node<K, V> node = map.get(key);
-			node.value = value;
-			removeNode(node);
-			offerNode(node);
-		}
-		else {
-			if (map.size() == maxCapacity) {
-				map.remove(head.key);
-				removeNode(head);
+	private V putIfAbsent(K key, V value) {
+		return put(key, value, false);
+	}
+
+	/**
+	 * Adds a new object to the cache. If the cache size has reached its capacity,
+	 * then an object not recently accessed gets evicted.
+	 *
+	 * @param key the key to bind
+	 * @param value the value to bind to the {@code key}; if this is {@code null},
+	 *              the key is removed from the cache
+	 * @param replace true if and only if {@code value} must replace the value
+	 *                already bound to {@code key}, if any
+	 * @return the value bound to {@code key} at the end of the method
+	 */
+	private V put(K key, V value, boolean replace) {
+		Segment<K, V> segment = segmentFor(key);
+
+		synchronized (segment) {
+			if (value == null)
+				segment.map.remove(key);
+			else {
+				Entry<K, V> old = segment.map.get(key);
+				if (old != null) {
+					if (replace)
+						old.value = value;
+					else
+						value = old.value;
+
+					old.referenced = true;
+				}
+				else {
+					var entry = new Entry<>(key, value);
+					segment.map.put(key, entry);
+					segment.clock.addLast(entry);
+
+					while (segment.map.size() > segment.capacity && evictFrom(segment));
+				}
 			}
 
-			Node<K, V> node = new Node<>(key, value);
-			offerNode(node);
-			map.put(key, node);
+			// the clock might be filled with removed objects, if many removals
+			// occur while the segment is not full: we compact it in that case
+			if (segment.clock.size() > 2 * Math.max(segment.capacity, 16))
+				segment.clock.removeIf(entry -> segment.map.get(entry.key) != entry);
 		}
+
+		return value;
+	}
+
+	/**
+	 * Evicts an object from the given segment. The caller must hold the lock of the segment.
+	 *
+	 * @param segment the segment
+	 * @return true if and only if an object has been evicted
+	 */
+	private boolean evictFrom(Segment<K, V> segment) {
+		Entry<K, V> entry;
+		while ((entry = segment.clock.pollFirst()) != null) {
+			if (segment.map.get(entry.key) != entry)
+				continue; // already removed
+
+			if (entry.referenced) {
+				// second chance
+				entry.referenced = false;
+				segment.clock.addLast(entry);
+			}
+			else {
+				segment.map.remove(entry.key);
+				evictions.increment();
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 	/**
 	 * Fetches an object from the cache (could be null if no such mapping exists).
-	 * If the object is found in the cache, then it will be moved to the tail-end of the
-	 * doubly-linked list to indicate that it was recently accessed.
+	 * If the object is found in the cache, then it gets marked as recently accessed.
 	 *
 	 * @param key the key to access
 	 * @return the value bound to the {@code key}
 	 */
-	public synchronized V get(K key) {
-		Node<K, V> node = map.get(key);
-		if (node == null)
+	public V get(K key) {
+		Entry<K, V> entry = segmentFor(key).map.get(key);
+		if (entry == null) {
+			misses.increment();
 			return null;
+		}
 
-		removeNode(node);
-		offerNode(node);
+		hits.increment();
 
-		return node.value;
+		// we avoid useless writes to shared memory
+		if (!entry.referenced)
+			entry.referenced = true;
+
+		return entry.value;
+	}
+
+	/**
+	 * Removes the given key from the cache, if it is bound to the given value.
+	 *
+	 * @param key the key to remove
+	 * @param value the value that {@code key} must be bound to, for its removal
+	 * @return true if and only if the key has been removed
+	 */
+	public boolean remove(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+
+		synchronized (segment) {
+			Entry<K, V> entry = segment.map.get(key);
+			if (entry == null || entry.value != value)
+				return false;
+
+			// the entry remains in the clock, that discards it when reached
+			segment.map.remove(key);
+			return true;
+		}
 	}
 
 	/**
 	 * Clears this cache.
 	 */
-	public synchronized void clear() {
-		map.clear();
-		head = tail = null;
+	public void clear() {
+		for (var segment: segments) {
+			synchronized (segment) {
+				segment.map.clear();
+				segment.clock.clear();
+			}
+		}
+	}
+
+	/**
+	 * Yields the number of reads that found their key in this cache.
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Yields the number of reads that did not find their key in this cache.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Yields the number of objects evicted from this cache for lack of space.
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "hits: " + getHits() + ", misses: " + getMisses() + ", evictions: " + getEvictions();
 	}
 
 	public interface ValueSupplier<K,V,E extends Exception> {
@@ -189,50 +373,40 @@ public final class LRUCache<K, V> {
 	/**
 	 * Adds a new object to the cache, if its key was unbound.
 	 * In that case, it calls a supplier to provide the new object to add.
-	 * 
+	 * If this method is called concurrently for the same key, the supplier is called only once
+	 * and the other calls wait for its result (see {@link #computeIfAbsentOptional(Object, Function)}).
+	 *
 	 * @param key the key of the cached value
 	 * @param supplier the supplier that produces the value to put in cache
 	 * @return the current (old or computed) value in cache for {@code key} at the end of the method
 	 */
 	public <E extends Exception> V computeIfAbsent(K key, ValueSupplier<K,V,E> supplier) throws E {
-		V old = get(key);
-		if (old == null) {
-			V _new = supplier.supply(key);
-			if (_new != null)
-				put(key, _new);
-
-			return _new;
-		}
-		else
-			return old;
+		return compute(key, _key -> Optional.ofNullable(supplier.supply(_key))).orElse(null);
 	}
 
 	/**
 	 * Adds a new object to the cache, if its key was unbound.
 	 * In that case, it calls a supplier to provide the new object to add.
-	 * 
+	 * If this method is called concurrently for the same key, the supplier is called only once
+	 * and the other calls wait for its result (see {@link #computeIfAbsentOptional(Object, Function)}).
+	 *
 	 * @param key the key of the cached value
 	 * @param supplier the supplier that produces the value to put in cache
 	 * @return the current (old or computed) value in cache for {@code key} at the end of the method
 	 */
 	public V computeIfAbsentNoException(K key, Function<K,V> supplier) {
-		V old = get(key);
-		if (old == null) {
-			V _new = supplier.apply(key);
-			if (_new != null)
-				put(key, _new);
-
-			return _new;
-		}
-		else
-			return old;
+		return computeIfAbsentOptional(key, _key -> Optional.ofNullable(supplier.apply(_key))).orElse(null);
 	}
 
 	/**
 	 * Adds a new object to the cache, if its key was unbound.
 	 * In that case, it calls a supplier to provide the new object to add.
 	 * If the supplier yields an empty optional, nothing is added to the map.
-	 * 
+	 * If this method is called concurrently for the same key, the supplier is called only once,
+	 * outside the locks of the cache, and the other calls wait for its result.
+	 * If the supplier fails, one of the waiting calls runs the supplier again.
+	 * A call from inside the supplier, for the same key, does not wait but runs the supplier again.
+	 *
 	 * @param key the key of the cached value
 	 * @param supplier the supplier that produces the value to put in cache
 	 * @return the current (old or computed) value in cache for {@code key} at the end of the method;
@@ -240,14 +414,53 @@ public final class LRUCache<K, V> {
 	 *         an empty optional, then an empty optional is returned
 	 */
 	public Optional<V> computeIfAbsentOptional(K key, Function<K, Optional<V>> supplier) {
-		V old = get(key);
-		if (old == null) {
-			Optional<V> _new = supplier.apply(key);
-			_new.ifPresent(v -> put(key, v));
+		return this.<RuntimeException> compute(key, supplier::apply);
+	}
+
+	/**
+	 * Implements the {@code computeIfAbsent} methods of this cache.
+	 *
+	 * @param key the key of the cached value
+	 * @param supplier the supplier that produces the value to put in cache, if any
+	 * @return the current (old or computed) value in cache for {@code key} at the end of the method, if any
+	 * @throws E if the supplier throws it
+	 */
+	private <E extends Exception> Optional<V> compute(K key, ValueSupplier<K, Optional<V>, E> supplier) throws E {
+		while (true) {
+			V old = get(key);
+			if (old != null)
+				return Optional.of(old);
+
+			var computation = new Computation<V>();
+			Computation<V> running = computations.putIfAbsent(key, computation);
 
-			return _new;
+			if (running == null) {
+				try {
+					// another computation might have added the value after our miss and before ours got registered:
+					// we look for it again, without counting a further hit or miss
+					Entry<K, V> entry = segmentFor(key).map.get(key);
+					Optional<V> result = entry != null ? Optional.of(entry.value) : supplier.supply(key).map(_new -> putIfAbsent(key, _new));
+					computation.result.complete(result);
+					return result;
+				}
+				catch (Throwable t) {
+					computation.result.complete(null);
+					throw t;
+				}
+				finally {
+					computations.remove(key, computation);
+				}
+			}
+			else if (running.owner == Thread.currentThread())
+				// a recursive call from the supplier: waiting would never terminate
+				return supplier.supply(key).map(_new -> putIfAbsent(key, _new));
+			else {
+				Optional<V> result = running.result.join();
+				if (result != null)
+					return result;
+
+				// the computation failed: we try again
+			}
 		}
-		else
-			return Optional.of(old);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,291 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.verification.api.TakamakaClassLoader;
+
+/**
+ * The linkage of the methods and constructors called by the transactions
+ * executed with a given class loader. Methods and constructors are resolved only once
+ * and are called through method handles, rather than through reflection. The semantics
+ * is the same as for reflection: calls that reflection would refuse, because of
+ * access restrictions or wrong arguments, are delegated to reflection itself, so that
+ * they fail with the same exceptions.
+ */
+@ThreadSafe
+class Linkage {
+
+	/**
+	 * The class loader whose classes are linked.
+	 */
+	private final TakamakaClassLoader classLoader;
+
+	/**
+	 * The methods resolved up to now.
+	 */
+	private final ConcurrentMap<Signature, Optional<Method>> methods = new ConcurrentHashMap<>();
+
+	/**
+	 * The constructors resolved up to now.
+	 */
+	private final ConcurrentMap<Signature, Optional<Constructor<?>>> constructors = new ConcurrentHashMap<>();
+
+	/**
+	 * The method handles of the methods and constructors called up to now. They have all
+	 * type {@code (Object, Object[])Object}: the receiver, if any, and the actual arguments.
+	 * An empty handle means that the method or constructor must be called through reflection.
+	 */
+	private final ConcurrentMap<Executable, Optional<MethodHandle>> handles = new ConcurrentHashMap<>();
+
+	/**
+	 * The signature of a method or constructor, used as key for the resolution caches.
+	 */
+	private static class Signature {
+		private final String className;
+		private final String methodName;
+		private final List<Class<?>> args;
+		private final Class<?> returnType;
+
+		private Signature(String className, String methodName, Class<?>[] args, Class<?> returnType) {
+			this.className = className;
+			this.methodName = methodName;
+			this.args = List.of(args);
+			this.returnType = returnType;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (other instanceof Signature) {
+				var otherAsSignature = (Signature) other;
+				return className.equals(otherAsSignature.className) && Objects.equals(methodName, otherAsSignature.methodName)
+					&& args.equals(otherAsSignature.args) && returnType == otherAsSignature.returnType;
+			}
+			else
+				return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return className.hashCode() ^ Objects.hashCode(methodName) ^ args.hashCode();
+		}
+	}
+
+	/**
+	 * Builds the linkage of the classes of the given class loader.
+	 *
+	 * @param classLoader the class loader
+	 */
+	Linkage(TakamakaClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	/**
+	 * Yields the method with the given signature, as resolved by the class loader.
+	 *
+	 * @param className the name of the class from which the method is looked up
+	 * @param methodName the name of the method
+	 * @param args the formal arguments of the method
+	 * @param returnType the return type of the method
+	 * @return the method, if any
+	 * @throws ClassNotFoundException if some class could not be found during resolution
+	 */
+	Optional<Method> resolveMethod(String className, String methodName, Class<?>[] args, Class<?> returnType) throws ClassNotFoundException {
+		var signature = new Signature(className, methodName, args, returnType);
+		Optional<Method> result = methods.get(signature);
+		if (result == null) {
+			result = classLoader.resolveMethod(className, methodName, args, returnType);
+			methods.putIfAbsent(signature, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Yields the constructor with the given signature, as resolved by the class loader.
+	 *
+	 * @param className the name of the class of the constructor
+	 * @param args the formal arguments of the constructor
+	 * @return the constructor, if any
+	 * @throws ClassNotFoundException if some class could not be found during resolution
+	 */
+	Optional<Constructor<?>> resolveConstructor(String className, Class<?>[] args) throws ClassNotFoundException {
+		var signature = new Signature(className, null, args, void.class);
+		Optional<Constructor<?>> result = constructors.get(signature);
+		if (result == null) {
+			result = classLoader.resolveConstructor(className, args);
+			constructors.putIfAbsent(signature, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calls the given method, with the same semantics as {@link Method#invoke(Object, Object...)}.
+	 *
+	 * @param method the method
+	 * @param receiver the receiver of the call; this is ignored for static methods
+	 * @param actuals the actual arguments of the call
+	 * @return the result of the call; this is {@code null} for {@code void} methods
+	 * @throws IllegalAccessException if the method cannot be accessed
+	 * @throws InvocationTargetException if the method throws an exception
+	 */
+	Object invoke(Method method, Object receiver, Object[] actuals) throws IllegalAccessException, InvocationTargetException {
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+		if ((isStatic || method.getDeclaringClass().isInstance(receiver)) && argumentsMatch(method, actuals)) {
+			Optional<MethodHandle> handle = handles.computeIfAbsent(method, _method -> link(method, isStatic ? null : receiver));
+			if (handle.isPresent())
+				return invoke(handle.get(), receiver, actuals);
+		}
+
+		// reflection will fail in the same way as before
+		return method.invoke(receiver, actuals);
+	}
+
+	/**
+	 * Calls the given constructor, with the same semantics as {@link Constructor#newInstance(Object...)}.
+	 *
+	 * @param constructor the constructor
+	 * @param actuals the actual arguments of the call
+	 * @return the object created by the constructor
+	 * @throws InstantiationException if the class of the constructor is abstract
+	 * @throws IllegalAccessException if the constructor cannot be accessed
+	 * @throws InvocationTargetException if the constructor throws an exception
+	 */
+	Object newInstance(Constructor<?> constructor, Object[] actuals) throws InstantiationException, IllegalAccessException, InvocationTargetException {
+		if (argumentsMatch(constructor, actuals)) {
+			Optional<MethodHandle> handle = handles.computeIfAbsent(constructor, _constructor -> link(constructor));
+			if (handle.isPresent())
+				return invoke(handle.get(), null, actuals);
+		}
+
+		// reflection will fail in the same way as before
+		return constructor.newInstance(actuals);
+	}
+
+	private static Object invoke(MethodHandle handle, Object receiver, Object[] actuals) throws InvocationTargetException {
+		try {
+			return (Object) handle.invokeExact(receiver, actuals);
+		}
+		catch (Throwable t) {
+			// the arguments have been already checked, hence the exception comes from the callee
+			throw new InvocationTargetException(t);
+		}
+	}
+
+	/**
+	 * Determines if the given actual arguments can be passed to the given method or constructor
+	 * without any conversion other than unboxing.
+	 *
+	 * @param executable the method or constructor
+	 * @param actuals the actual arguments
+	 * @return true if and only if that condition holds
+	 */
+	private static boolean argumentsMatch(Executable executable, Object[] actuals) {
+		Class<?>[] formals = executable.getParameterTypes();
+		if (formals.length != actuals.length)
+			return false;
+
+		for (int pos = 0; pos < formals.length; pos++) {
+			Class<?> formal = formals[pos];
+			Object actual = actuals[pos];
+
+			if (formal.isPrimitive()) {
+				if (actual == null || MethodType.methodType(formal).wrap().returnType() != actual.getClass())
+					return false;
+			}
+			else if (actual != null && !formal.isInstance(actual))
+				return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Yields a method handle for the given method.
+	 *
+	 * @param method the method
+	 * @param receiver the receiver of the call; this is {@code null} for static methods
+	 * @return the method handle, if the method can be called through a method handle
+	 */
+	private static Optional<MethodHandle> link(Method method, Object receiver) {
+		// the access rules are the same as for reflection: we do not change them
+		if (!method.canAccess(receiver))
+			return Optional.empty();
+
+		try {
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+			int arity = method.getParameterCount();
+
+			if (receiver == null)
+				return Optional.of(MethodHandles.dropArguments(spread(handle, arity), 0, Object.class));
+			else
+				return Optional.of(handle.asType(MethodType.genericMethodType(arity + 1)).asSpreader(Object[].class, arity));
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Yields a method handle for the given constructor.
+	 *
+	 * @param constructor the constructor
+	 * @return the method handle, if the constructor can be called through a method handle
+	 */
+	private static Optional<MethodHandle> link(Constructor<?> constructor) {
+		// the access rules are the same as for reflection: we do not change them
+		if (Modifier.isAbstract(constructor.getDeclaringClass().getModifiers()) || !constructor.canAccess(null))
+			return Optional.empty();
+
+		try {
+			constructor.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity();
+			return Optional.of(MethodHandles.dropArguments(spread(handle, constructor.getParameterCount()), 0, Object.class));
+		}
+		catch (IllegalAccessException | RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Transforms the given method handle into a handle of type {@code (Object[])Object}.
+	 *
+	 * @param handle the method handle
+	 * @param arity the number of arguments of {@code handle}
+	 * @return the resulting method handle
+	 */
+	private static MethodHandle spread(MethodHandle handle, int arity) {
+		return handle.asType(MethodType.genericMethodType(arity)).asSpreader(Object[].class, arity);
+	}
+}
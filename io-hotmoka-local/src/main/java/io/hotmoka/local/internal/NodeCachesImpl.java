@@ -25,10 +25,19 @@ import java.security.NoSuchProviderException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import io.hotmoka.beans.CodeExecutionException;
@@ -42,14 +51,18 @@ import io.hotmoka.beans.responses.InitializationTransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithEvents;
 import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.signatures.MethodSignature;
 import io.hotmoka.beans.signatures.NonVoidMethodSignature;
 import io.hotmoka.beans.types.BasicTypes;
 import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.values.BigIntegerValue;
 import io.hotmoka.beans.values.BooleanValue;
 import io.hotmoka.beans.values.IntValue;
 import io.hotmoka.beans.values.LongValue;
 import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
 import io.hotmoka.beans.values.StringValue;
 import io.hotmoka.crypto.api.SignatureAlgorithm;
 import io.hotmoka.local.AbstractLocalNode;
@@ -84,10 +97,38 @@ public class NodeCachesImpl implements NodeCaches {
 	private final LRUCache<SignedTransactionRequest, Boolean> checkedSignatures;
 
 	/**
-	 * The cache for the class loaders.
+	 * The cache for the class loaders. It is cleared only when the consensus parameters
+	 * that affect the construction of class loaders change.
 	 */
 	private final LRUCache<TransactionReference, EngineClassLoader> classLoaders = new LRUCache<>(100, 1000);
 
+	/**
+	 * The number of times that the class loader for each classpath has been requested.
+	 * It is used to select the class loaders to build in advance, when the cache of
+	 * the class loaders gets cleared.
+	 */
+	private final ConcurrentMap<TransactionReference, LongAdder> usesOfClassLoaders = new ConcurrentHashMap<>();
+
+	/**
+	 * The number of class loaders built up to now.
+	 */
+	private final AtomicLong classLoadersBuilt = new AtomicLong();
+
+	/**
+	 * The time spent for building class loaders up to now, in milliseconds.
+	 */
+	private final AtomicLong timeForBuildingClassLoaders = new AtomicLong();
+
+	/**
+	 * The maximal number of classpaths whose use is tracked in {@link #usesOfClassLoaders}.
+	 */
+	private final static int MAX_TRACKED_CLASSPATHS = 10_000;
+
+	/**
+	 * The maximal number of class loaders built in advance when the cache of the class loaders gets cleared.
+	 */
+	private final static int MAX_PREWARMED_CLASS_LOADERS = 16;
+
 	/**
 	 * The consensus parameters of the node.
 	 */
@@ -130,6 +171,48 @@ public class NodeCachesImpl implements NodeCaches {
 	 */
 	private final static BigInteger _100_000 = BigInteger.valueOf(100_000L);
 
+	/**
+	 * The fields of the manifest, read directly from store when computing the consensus parameters.
+	 */
+	private final static FieldSignature MANIFEST_GENESIS_TIME_FIELD = new FieldSignature(ClassType.MANIFEST, "genesisTime", ClassType.STRING);
+	private final static FieldSignature MANIFEST_CHAIN_ID_FIELD = new FieldSignature(ClassType.MANIFEST, "chainId", ClassType.STRING);
+	private final static FieldSignature MANIFEST_MAX_ERROR_LENGTH_FIELD = new FieldSignature(ClassType.MANIFEST, "maxErrorLength", BasicTypes.INT);
+	private final static FieldSignature MANIFEST_MAX_DEPENDENCIES_FIELD = new FieldSignature(ClassType.MANIFEST, "maxDependencies", BasicTypes.INT);
+	private final static FieldSignature MANIFEST_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES_FIELD = new FieldSignature(ClassType.MANIFEST, "maxCumulativeSizeOfDependencies", BasicTypes.LONG);
+	private final static FieldSignature MANIFEST_ALLOWS_SELF_CHARGED_FIELD = new FieldSignature(ClassType.MANIFEST, "allowsSelfCharged", BasicTypes.BOOLEAN);
+	private final static FieldSignature MANIFEST_ALLOWS_UNSIGNED_FAUCET_FIELD = new FieldSignature(ClassType.MANIFEST, "allowsUnsignedFaucet", BasicTypes.BOOLEAN);
+	private final static FieldSignature MANIFEST_ALLOWS_MINT_BURN_FROM_GAMETE_FIELD = new FieldSignature(ClassType.MANIFEST, "allowsMintBurnFromGamete", BasicTypes.BOOLEAN);
+	private final static FieldSignature MANIFEST_SKIPS_VERIFICATION_FIELD = new FieldSignature(ClassType.MANIFEST, "skipsVerification", BasicTypes.BOOLEAN);
+	private final static FieldSignature MANIFEST_SIGNATURE_FIELD = new FieldSignature(ClassType.MANIFEST, "signature", ClassType.STRING);
+
+	/**
+	 * The fields of the abstract validators, read directly from store when computing the consensus parameters.
+	 */
+	private final static FieldSignature ABSTRACT_VALIDATORS_TICKET_FOR_NEW_POLL_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "ticketForNewPoll", ClassType.BIG_INTEGER);
+	private final static FieldSignature ABSTRACT_VALIDATORS_INITIAL_SUPPLY_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "initialSupply", ClassType.BIG_INTEGER);
+	private final static FieldSignature ABSTRACT_VALIDATORS_INITIAL_RED_SUPPLY_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "initialRedSupply", ClassType.BIG_INTEGER);
+	private final static FieldSignature ABSTRACT_VALIDATORS_FINAL_SUPPLY_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "finalSupply", ClassType.BIG_INTEGER);
+	private final static FieldSignature ABSTRACT_VALIDATORS_INITIAL_INFLATION_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "initialInflation", BasicTypes.LONG);
+	private final static FieldSignature ABSTRACT_VALIDATORS_CURRENT_INFLATION_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "currentInflation", BasicTypes.LONG);
+	private final static FieldSignature ABSTRACT_VALIDATORS_BUYER_SURCHARGE_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "buyerSurcharge", BasicTypes.INT);
+	private final static FieldSignature ABSTRACT_VALIDATORS_SLASHING_FOR_MISBEHAVING_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "slashingForMisbehaving", BasicTypes.INT);
+	private final static FieldSignature ABSTRACT_VALIDATORS_SLASHING_FOR_NOT_BEHAVING_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "slashingForNotBehaving", BasicTypes.INT);
+	private final static FieldSignature ABSTRACT_VALIDATORS_PERCENT_STAKED_FIELD = new FieldSignature(ClassType.ABSTRACT_VALIDATORS, "percentStaked", BasicTypes.INT);
+
+	/**
+	 * The fields of the generic gas station, read directly from store when computing the consensus parameters.
+	 */
+	private final static FieldSignature GENERIC_GAS_STATION_INITIAL_GAS_PRICE_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "initialGasPrice", ClassType.BIG_INTEGER);
+	private final static FieldSignature GENERIC_GAS_STATION_MAX_GAS_PER_TRANSACTION_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "maxGasPerTransaction", ClassType.BIG_INTEGER);
+	private final static FieldSignature GENERIC_GAS_STATION_IGNORES_GAS_PRICE_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "ignoresGasPrice", BasicTypes.BOOLEAN);
+	private final static FieldSignature GENERIC_GAS_STATION_TARGET_GAS_AT_REWARD_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "targetGasAtReward", ClassType.BIG_INTEGER);
+	private final static FieldSignature GENERIC_GAS_STATION_OBLIVION_FIELD = new FieldSignature(ClassType.GENERIC_GAS_STATION, "oblivion", ClassType.BIG_INTEGER);
+
+	/**
+	 * The fields of the versions object, read directly from store when computing the consensus parameters.
+	 */
+	private final static FieldSignature VERSIONS_VERIFICATION_VERSION_FIELD = new FieldSignature(ClassType.VERSIONS, "verificationVersion", BasicTypes.INT);
+
 	/**
 	 * Builds the caches for the given node.
 	 * 
@@ -170,7 +253,6 @@ public class NodeCachesImpl implements NodeCaches {
 			logger.info("recomputing the consensus cache since the information in the manifest might have changed");
 			recomputeConsensus();
 			logger.info("the consensus cache has been recomputed");
-			classLoaders.clear();
 			if (versionBefore != consensus.verificationVersion)
 				logger.info("the version of the verification module has changed from " + versionBefore + " to " + consensus.verificationVersion);
 		}
@@ -192,93 +274,88 @@ public class NodeCachesImpl implements NodeCaches {
 
 	@Override
 	public final void recomputeConsensus() {
+		ConsensusParams before = consensus;
+
 		try {
 			StorageReference gasStation = getGasStation().get();
 			StorageReference validators = getValidators().get();
 			StorageReference versions = getVersions().get();
-			TransactionReference takamakaCode = node.getStoreUtilities().getTakamakaCodeUncommitted().get();
 			StorageReference manifest = node.getStore().getManifestUncommitted().get();
-	
-			String genesisTime = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_GENESIS_TIME, manifest))).value;
 
-			String chainId = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_CHAIN_ID, manifest))).value;
-	
-			StorageReference gamete = (StorageReference) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_GAMETE, manifest));
-
-			String publicKeyOfGamete = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.PUBLIC_KEY, gamete))).value;
-
-			int maxErrorLength = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_ERROR_LENGTH, manifest))).value;
-
-			int maxDependencies = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_DEPENDENCIES, manifest))).value;
-
-			long maxCumulativeSizeOfDependencies = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES, manifest))).value;
-
-			boolean allowsSelfCharged = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_SELF_CHARGED, manifest))).value;
-	
-			boolean allowsFaucet = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_UNSIGNED_FAUCET, manifest))).value;
-
-			boolean allowsMintBurnFromGamete = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.ALLOWS_MINT_BURN_FROM_GAMETE, manifest))).value;
-
-			boolean skipsVerification = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.SKIPS_VERIFICATION, manifest))).value;
-
-			String signature = ((StringValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_SIGNATURE, manifest))).value;
-
-			BigInteger ticketForNewPoll = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_TICKET_FOR_NEW_POLL, validators))).value;
-
-			BigInteger initialGasPrice = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_GAS_PRICE, gasStation))).value;
-
-			BigInteger maxGasPerTransaction = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_MAX_GAS_PER_TRANSACTION, gasStation))).value;
-	
-			boolean ignoresGasPrice = ((BooleanValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.IGNORES_GAS_PRICE, gasStation))).value;
-	
-			BigInteger targetGasAtReward = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_TARGET_GAS_AT_REWARD, gasStation))).value;
-	
-			long oblivion = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_OBLIVION, gasStation))).value;
-	
-			long initialInflation = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_INFLATION, validators))).value;
-
-			int verificationVersion = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_VERIFICATION_VERSION, versions))).value;
-
-			BigInteger initialSupply = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_SUPPLY, validators))).value;
-
-			BigInteger initialRedSupply = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_INITIAL_RED_SUPPLY, validators))).value;
-
-			BigInteger finalSupply = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, CodeSignature.GET_FINAL_SUPPLY, validators))).value;
+			// the manifest is a final class whose getters yield final fields: we read them from the store,
+			// without running its getters; the same holds for the public key of the gamete
+			String genesisTime = ((StringValue) getFinalField(manifest, MANIFEST_GENESIS_TIME_FIELD)).value;
+			String chainId = ((StringValue) getFinalField(manifest, MANIFEST_CHAIN_ID_FIELD)).value;
+			StorageReference gamete = getGamete().get();
+			String publicKeyOfGamete = node.getStoreUtilities().getPublicKeyUncommitted(gamete);
+			int maxErrorLength = ((IntValue) getFinalField(manifest, MANIFEST_MAX_ERROR_LENGTH_FIELD)).value;
+			int maxDependencies = ((IntValue) getFinalField(manifest, MANIFEST_MAX_DEPENDENCIES_FIELD)).value;
+			long maxCumulativeSizeOfDependencies = ((LongValue) getFinalField(manifest, MANIFEST_MAX_CUMULATIVE_SIZE_OF_DEPENDENCIES_FIELD)).value;
+			boolean allowsSelfCharged = ((BooleanValue) getFinalField(manifest, MANIFEST_ALLOWS_SELF_CHARGED_FIELD)).value;
+			boolean allowsFaucet = ((BooleanValue) getFinalField(manifest, MANIFEST_ALLOWS_UNSIGNED_FAUCET_FIELD)).value;
+			boolean allowsMintBurnFromGamete = ((BooleanValue) getFinalField(manifest, MANIFEST_ALLOWS_MINT_BURN_FROM_GAMETE_FIELD)).value;
+			boolean skipsVerification = ((BooleanValue) getFinalField(manifest, MANIFEST_SKIPS_VERIFICATION_FIELD)).value;
+			String signature = ((StringValue) getFinalField(manifest, MANIFEST_SIGNATURE_FIELD)).value;
+
+			// the validators, gas station and versions might be of any class: if they extend
+			// the classes of the Takamaka runtime, their getters are final and yield fields that we read
+			// from the store; otherwise, we must run their getters
+			BigInteger ticketForNewPoll, initialSupply, initialRedSupply, finalSupply;
+			long initialInflation;
+			int buyerSurcharge, slashingForMisbehaving, slashingForNotBehaving, percentStaked;
+
+			if (isInstanceOf(validators, ClassType.ABSTRACT_VALIDATORS)) {
+				ticketForNewPoll = ((BigIntegerValue) getFinalField(validators, ABSTRACT_VALIDATORS_TICKET_FOR_NEW_POLL_FIELD)).value;
+				initialSupply = ((BigIntegerValue) getFinalField(validators, ABSTRACT_VALIDATORS_INITIAL_SUPPLY_FIELD)).value;
+				initialRedSupply = ((BigIntegerValue) getFinalField(validators, ABSTRACT_VALIDATORS_INITIAL_RED_SUPPLY_FIELD)).value;
+				finalSupply = ((BigIntegerValue) getFinalField(validators, ABSTRACT_VALIDATORS_FINAL_SUPPLY_FIELD)).value;
+				initialInflation = ((LongValue) getFinalField(validators, ABSTRACT_VALIDATORS_INITIAL_INFLATION_FIELD)).value;
+				buyerSurcharge = ((IntValue) getFinalField(validators, ABSTRACT_VALIDATORS_BUYER_SURCHARGE_FIELD)).value;
+				slashingForMisbehaving = ((IntValue) getFinalField(validators, ABSTRACT_VALIDATORS_SLASHING_FOR_MISBEHAVING_FIELD)).value;
+				slashingForNotBehaving = ((IntValue) getFinalField(validators, ABSTRACT_VALIDATORS_SLASHING_FOR_NOT_BEHAVING_FIELD)).value;
+				percentStaked = ((IntValue) getFinalField(validators, ABSTRACT_VALIDATORS_PERCENT_STAKED_FIELD)).value;
+			}
+			else {
+				ticketForNewPoll = ((BigIntegerValue) runView(CodeSignature.GET_TICKET_FOR_NEW_POLL, validators)).value;
+				initialSupply = ((BigIntegerValue) runView(CodeSignature.GET_INITIAL_SUPPLY, validators)).value;
+				initialRedSupply = ((BigIntegerValue) runView(CodeSignature.GET_INITIAL_RED_SUPPLY, validators)).value;
+				finalSupply = ((BigIntegerValue) runView(CodeSignature.GET_FINAL_SUPPLY, validators)).value;
+				initialInflation = ((LongValue) runView(CodeSignature.GET_INITIAL_INFLATION, validators)).value;
+				buyerSurcharge = ((IntValue) runView(new NonVoidMethodSignature(ClassType.VALIDATORS, "getBuyerSurcharge", BasicTypes.INT), validators)).value;
+				slashingForMisbehaving = ((IntValue) runView(new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForMisbehaving", BasicTypes.INT), validators)).value;
+				slashingForNotBehaving = ((IntValue) runView(new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForNotBehaving", BasicTypes.INT), validators)).value;
+				percentStaked = ((IntValue) runView(new NonVoidMethodSignature(ClassType.VALIDATORS, "getPercentStaked", BasicTypes.INT), validators)).value;
+			}
 
-			int buyerSurcharge = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getBuyerSurcharge", BasicTypes.INT), validators))).value;
+			BigInteger initialGasPrice, maxGasPerTransaction, targetGasAtReward;
+			boolean ignoresGasPrice;
+			long oblivion;
 
-			int slashingForMisbehaving = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForMisbehaving", BasicTypes.INT), validators))).value;
+			if (isInstanceOf(gasStation, ClassType.GENERIC_GAS_STATION)) {
+				initialGasPrice = ((BigIntegerValue) getFinalField(gasStation, GENERIC_GAS_STATION_INITIAL_GAS_PRICE_FIELD)).value;
+				maxGasPerTransaction = ((BigIntegerValue) getFinalField(gasStation, GENERIC_GAS_STATION_MAX_GAS_PER_TRANSACTION_FIELD)).value;
+				ignoresGasPrice = ((BooleanValue) getFinalField(gasStation, GENERIC_GAS_STATION_IGNORES_GAS_PRICE_FIELD)).value;
+				targetGasAtReward = ((BigIntegerValue) getFinalField(gasStation, GENERIC_GAS_STATION_TARGET_GAS_AT_REWARD_FIELD)).value;
+			}
+			else {
+				initialGasPrice = ((BigIntegerValue) runView(CodeSignature.GET_INITIAL_GAS_PRICE, gasStation)).value;
+				maxGasPerTransaction = ((BigIntegerValue) runView(CodeSignature.GET_MAX_GAS_PER_TRANSACTION, gasStation)).value;
+				ignoresGasPrice = ((BooleanValue) runView(CodeSignature.IGNORES_GAS_PRICE, gasStation)).value;
+				targetGasAtReward = ((BigIntegerValue) runView(CodeSignature.GET_TARGET_GAS_AT_REWARD, gasStation)).value;
+			}
 
-			int slashingForNotBehaving = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getSlashingForNotBehaving", BasicTypes.INT), validators))).value;
+			// getOblivion() is not final, hence subclasses of the generic gas station might redefine it
+			if (isExactlyOf(gasStation, ClassType.GENERIC_GAS_STATION))
+				oblivion = ((BigIntegerValue) getFinalField(gasStation, GENERIC_GAS_STATION_OBLIVION_FIELD)).value.longValue();
+			else
+				oblivion = ((LongValue) runView(CodeSignature.GET_OBLIVION, gasStation)).value;
 
-			int percentStaked = ((IntValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-				(manifest, _100_000, takamakaCode, new NonVoidMethodSignature(ClassType.VALIDATORS, "getPercentStaked", BasicTypes.INT), validators))).value;
+			int verificationVersion;
+			if (isInstanceOf(versions, ClassType.VERSIONS))
+				// the verification version is not final, hence we look for its last update
+				verificationVersion = ((IntValue) getField(versions, VERSIONS_VERIFICATION_VERSION_FIELD)).value;
+			else
+				verificationVersion = ((IntValue) runView(CodeSignature.GET_VERIFICATION_VERSION, versions)).value;
 
 			consensus = new ConsensusParams.Builder()
 				.setGenesisTime(genesisTime)
@@ -309,10 +386,71 @@ public class NodeCachesImpl implements NodeCaches {
 				.setSlashingForNotBehaving(slashingForNotBehaving)
 				.build();
 		}
-		catch (TransactionRejectedException | TransactionException | CodeExecutionException e) {
+		catch (TransactionRejectedException | TransactionException | CodeExecutionException | ClassNotFoundException | UnsupportedVerificationVersionException e) {
 			logger.log(Level.SEVERE, "could not reconstruct the consensus parameters from the manifest", e);
 			throw new RuntimeException("could not reconstruct the consensus parameters from the manifest", e);
 		}
+
+		// the class loaders built before, possibly without consensus, are kept only if they are still valid
+		if (!classLoadersAreCompatible(before, consensus)) {
+			classLoaders.clear();
+			// this method runs while delivering transactions, that must not wait for the class loaders
+			ConsensusParams current = consensus;
+			node.submit(() -> prewarmClassLoaders(current));
+		}
+	}
+
+	/**
+	 * Determines if the class loaders built with the given consensus parameters are the same
+	 * as those built with the other given consensus parameters.
+	 * 
+	 * @param consensus1 the first consensus parameters; this might be {@code null}
+	 * @param consensus2 the second consensus parameters; this might be {@code null}
+	 * @return true if and only if the class loaders are the same
+	 */
+	private static boolean classLoadersAreCompatible(ConsensusParams consensus1, ConsensusParams consensus2) {
+		if (consensus1 == null || consensus2 == null)
+			return consensus1 == consensus2;
+
+		return consensus1.verificationVersion == consensus2.verificationVersion
+			&& consensus1.maxDependencies == consensus2.maxDependencies
+			&& consensus1.maxCumulativeSizeOfDependencies == consensus2.maxCumulativeSizeOfDependencies
+			&& consensus1.allowsSelfCharged == consensus2.allowsSelfCharged
+			&& consensus1.skipsVerification == consensus2.skipsVerification;
+	}
+
+	/**
+	 * Builds in advance the class loaders for the most used classpaths and for
+	 * the classpath of the Takamaka runtime, so that the next transactions find them in cache.
+	 * It stops as soon as the consensus parameters change, since the class loaders
+	 * built from now on would be built for obsolete parameters.
+	 * 
+	 * @param consensus the consensus parameters for which the class loaders are built
+	 */
+	private void prewarmClassLoaders(ConsensusParams consensus) {
+		List<TransactionReference> mostUsed = usesOfClassLoaders.entrySet().stream()
+			.sorted(Comparator.comparingLong((Map.Entry<TransactionReference, LongAdder> entry) -> entry.getValue().sum()).reversed())
+			.limit(MAX_PREWARMED_CLASS_LOADERS)
+			.map(Map.Entry::getKey)
+			.collect(Collectors.toList());
+
+		node.getStoreUtilities().getTakamakaCodeUncommitted()
+			.filter(takamakaCode -> !mostUsed.contains(takamakaCode))
+			.ifPresent(mostUsed::add);
+
+		for (TransactionReference classpath: mostUsed) {
+			try {
+				if (this.consensus != consensus)
+					return;
+
+				if (classLoaders.get(classpath) == null)
+					cacheClassLoader(classpath, mkClassLoader(classpath, consensus), consensus);
+			}
+			catch (ClassNotFoundException | UnsupportedVerificationVersionException | RuntimeException e) {
+				// the class loader will be built again, if needed
+				logger.log(Level.WARNING, "cannot build in advance the class loader for " + classpath, e);
+			}
+		}
 	}
 
 	@Override
@@ -336,12 +474,56 @@ public class NodeCachesImpl implements NodeCaches {
 
 	@Override
 	public final EngineClassLoader getClassLoader(TransactionReference classpath) throws ClassNotFoundException, UnsupportedVerificationVersionException {
+		if (usesOfClassLoaders.size() > MAX_TRACKED_CLASSPATHS)
+			usesOfClassLoaders.clear();
+
+		usesOfClassLoaders.computeIfAbsent(classpath, _classpath -> new LongAdder()).increment();
+
 		var classLoader = classLoaders.get(classpath);
 		if (classLoader != null)
 			return classLoader;
 
-		var classLoader2 = new EngineClassLoaderImpl(null, Stream.of(classpath), node, true, consensus);
-		return classLoaders.computeIfAbsent(classpath, _classpath -> classLoader2);
+		ConsensusParams consensus = this.consensus;
+		return cacheClassLoader(classpath, mkClassLoader(classpath, consensus), consensus);
+	}
+
+	/**
+	 * Adds the given class loader to the cache, unless another class loader for the same
+	 * classpath is already there. The class loader is removed from the cache again if the
+	 * consensus parameters have changed in the meantime in a way that affects class loaders,
+	 * since the cache might have been cleared before it was added, and it is obsolete then.
+	 * 
+	 * @param classpath the classpath of the class loader
+	 * @param classLoader the class loader
+	 * @param consensus the consensus parameters used to build {@code classLoader}
+	 * @return the class loader found or added in cache for {@code classpath}, possibly built concurrently
+	 */
+	private EngineClassLoader cacheClassLoader(TransactionReference classpath, EngineClassLoader classLoader, ConsensusParams consensus) {
+		EngineClassLoader cached = classLoaders.computeIfAbsent(classpath, _classpath -> classLoader);
+		if (!classLoadersAreCompatible(consensus, this.consensus))
+			classLoaders.remove(classpath, cached);
+
+		return cached;
+	}
+
+	/**
+	 * Builds the class loader for the given classpath.
+	 * 
+	 * @param classpath the classpath
+	 * @param consensus the consensus parameters to use for building the class loader
+	 * @return the class loader
+	 * @throws ClassNotFoundException if some class of the Takamaka runtime cannot be loaded
+	 * @throws UnsupportedVerificationVersionException if the verification version is not available
+	 */
+	private EngineClassLoader mkClassLoader(TransactionReference classpath, ConsensusParams consensus) throws ClassNotFoundException, UnsupportedVerificationVersionException {
+		long start = System.currentTimeMillis();
+		var classLoader = new EngineClassLoaderImpl(null, Stream.of(classpath), node, true, consensus);
+		long time = System.currentTimeMillis() - start;
+
+		logger.info("built the class loader for " + classpath + " in " + time + "ms ("
+			+ classLoadersBuilt.incrementAndGet() + " class loaders built in " + timeForBuildingClassLoaders.addAndGet(time) + "ms up to now)");
+
+		return classLoader;
 	}
 
 	@Override
@@ -420,31 +602,113 @@ public class NodeCachesImpl implements NodeCaches {
 	}
 
 	private void recomputeGasPrice() {
-		Optional<StorageReference> manifest = node.getStore().getManifestUncommitted();
-		if (manifest.isPresent())
+		if (isInitializedUncommitted())
 			try {
-				gasPrice = ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-					(manifest.get(), _100_000, node.getStoreUtilities().getTakamakaCodeUncommitted().get(),
-					CodeSignature.GET_GAS_PRICE, getGasStation().get()))).value;
+				StorageReference gasStation = getGasStation().get();
+
+				// getGasPrice() is final in the generic gas station and yields a field, that we read from the store
+				if (isInstanceOf(gasStation, ClassType.GENERIC_GAS_STATION))
+					gasPrice = ((BigIntegerValue) getField(gasStation, FieldSignature.GENERIC_GAS_STATION_GAS_PRICE_FIELD)).value;
+				else
+					gasPrice = ((BigIntegerValue) runView(CodeSignature.GET_GAS_PRICE, gasStation)).value;
 			}
-			catch (TransactionRejectedException | TransactionException | CodeExecutionException e) {
+			catch (TransactionRejectedException | TransactionException | CodeExecutionException | ClassNotFoundException | UnsupportedVerificationVersionException e) {
 				throw new RuntimeException("could not determine the gas price", e);
 			}
 	}
 
 	private void recomputeInflation() {
-		Optional<StorageReference> manifest = node.getStore().getManifestUncommitted();
-		if (manifest.isPresent())
+		if (isInitializedUncommitted())
 			try {
-				inflation = ((LongValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
-					(manifest.get(), _100_000, node.getStoreUtilities().getTakamakaCodeUncommitted().get(),
-					CodeSignature.GET_CURRENT_INFLATION, getValidators().get()))).value;
+				StorageReference validators = getValidators().get();
+
+				// getCurrentInflation() is final in the abstract validators and yields a field, that we read from the store
+				if (isInstanceOf(validators, ClassType.ABSTRACT_VALIDATORS))
+					inflation = ((LongValue) getField(validators, ABSTRACT_VALIDATORS_CURRENT_INFLATION_FIELD)).value;
+				else
+					inflation = ((LongValue) runView(CodeSignature.GET_CURRENT_INFLATION, validators)).value;
 			}
-			catch (TransactionRejectedException | TransactionException | CodeExecutionException e) {
+			catch (TransactionRejectedException | TransactionException | CodeExecutionException | ClassNotFoundException | UnsupportedVerificationVersionException e) {
 				throw new RuntimeException("could not determine the current inflation", e);
 			}
 	}
 
+	/**
+	 * Yields the value of the given final field of the given object, by looking for it
+	 * in the transaction that created the object, without running any code.
+	 * 
+	 * @param object the object
+	 * @param field the field
+	 * @return the value of the field
+	 */
+	private StorageValue getFinalField(StorageReference object, FieldSignature field) {
+		return node.getStoreUtilities().getLastUpdateToFinalFieldUncommitted(object, field)
+			.orElseThrow(() -> new NoSuchElementException("did not find the value of " + field + " of " + object))
+			.getValue();
+	}
+
+	/**
+	 * Yields the value of the given field of the given object, by looking for its last update
+	 * in store, without running any code.
+	 * 
+	 * @param object the object
+	 * @param field the field
+	 * @return the value of the field
+	 */
+	private StorageValue getField(StorageReference object, FieldSignature field) {
+		return node.getStoreUtilities().getLastUpdateToFieldUncommitted(object, field)
+			.orElseThrow(() -> new NoSuchElementException("did not find the last update for " + field + " of " + object))
+			.getValue();
+	}
+
+	/**
+	 * Runs the given {@code @@View} method without arguments on the given receiver,
+	 * using the manifest as caller.
+	 * 
+	 * @param method the method
+	 * @param receiver the receiver
+	 * @return the result of the method
+	 * @throws TransactionRejectedException if the transaction could not be executed
+	 * @throws TransactionException if the transaction could be executed but led to an exception outside the user code
+	 * @throws CodeExecutionException if the transaction could be executed but led to an exception in the user code
+	 */
+	private StorageValue runView(MethodSignature method, StorageReference receiver) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		StorageReference manifest = node.getStore().getManifestUncommitted().get();
+		TransactionReference takamakaCode = node.getStoreUtilities().getTakamakaCodeUncommitted().get();
+
+		return node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest(manifest, _100_000, takamakaCode, method, receiver));
+	}
+
+	/**
+	 * Determines if the given object is an instance of the given class or of one of its subclasses.
+	 * 
+	 * @param object the object
+	 * @param type the class
+	 * @return true if and only if that condition holds
+	 * @throws ClassNotFoundException if the class of {@code object} or {@code type} cannot be loaded
+	 * @throws UnsupportedVerificationVersionException if the verification version is not available
+	 */
+	private boolean isInstanceOf(StorageReference object, ClassType type) throws ClassNotFoundException, UnsupportedVerificationVersionException {
+		ClassTag tag = node.getStoreUtilities().getClassTagUncommitted(object);
+		if (tag.clazz.equals(type))
+			return true;
+
+		// the class loader of the jar of the class of the object can load the classes of the Takamaka runtime as well
+		EngineClassLoader classLoader = getClassLoader(tag.jar);
+		return classLoader.loadClass(type.name).isAssignableFrom(classLoader.loadClass(tag.clazz.name));
+	}
+
+	/**
+	 * Determines if the given object is an instance of exactly the given class.
+	 * 
+	 * @param object the object
+	 * @param type the class
+	 * @return true if and only if that condition holds
+	 */
+	private boolean isExactlyOf(StorageReference object, ClassType type) {
+		return node.getStoreUtilities().getClassTagUncommitted(object).clazz.equals(type);
+	}
+
 	/**
 	 * Determines if the given response might change the value of some consensus parameters.
 	 * 
@@ -0,0 +1,318 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.math.BigInteger;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.CodeExecutionException;
+import io.hotmoka.beans.TransactionException;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.InitialTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.updates.UpdateOfField;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.instrumentation.GasCostModel;
+import io.hotmoka.local.Config;
+import io.hotmoka.local.NodeCaches;
+import io.hotmoka.local.Store;
+import io.hotmoka.local.StoreUtilities;
+
+/**
+ * A view of a node that delegates to another view and takes note of the storage objects
+ * and of the transactions that get read through it. It is used for the speculative
+ * execution of a transaction, in order to determine, later, if that execution
+ * read some state that has been modified in the meanwhile by another transaction.
+ */
+@ThreadSafe
+public class RecordingNodeInternal implements NodeInternal {
+
+	/**
+	 * The view of the node to which all calls are delegated.
+	 */
+	private final NodeInternal parent;
+
+	/**
+	 * The store utilities that record the objects they access.
+	 */
+	private final StoreUtilities storeUtilities;
+
+	/**
+	 * The storage objects whose state has been read through this view.
+	 */
+	private final Set<StorageReference> objectsRead = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The transactions whose request or response has been read through this view.
+	 */
+	private final Set<TransactionReference> transactionsRead = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Builds a view of a node that records the state read through it.
+	 *
+	 * @param parent the view of the node to which all calls get delegated
+	 */
+	public RecordingNodeInternal(NodeInternal parent) {
+		this.parent = parent;
+		this.storeUtilities = new RecordingStoreUtilities(parent.getStoreUtilities());
+	}
+
+	/**
+	 * Yields the storage objects whose state has been read through this view, up to now.
+	 *
+	 * @return the storage objects
+	 */
+	public Stream<StorageReference> getObjectsRead() {
+		return objectsRead.stream();
+	}
+
+	/**
+	 * Yields the transactions whose request or response has been read through this view, up to now.
+	 *
+	 * @return the transactions
+	 */
+	public Stream<TransactionReference> getTransactionsRead() {
+		return transactionsRead.stream();
+	}
+
+	@Override
+	public Config getConfig() {
+		return parent.getConfig();
+	}
+
+	@Override
+	public NodeCaches getCaches() {
+		return parent.getCaches();
+	}
+
+	@Override
+	public GasCostModel getGasCostModel() {
+		return parent.getGasCostModel();
+	}
+
+	@Override
+	public Store getStore() {
+		return parent.getStore();
+	}
+
+	@Override
+	public StoreUtilities getStoreUtilities() {
+		return storeUtilities;
+	}
+
+	@Override
+	public int getRequestStorageCost(NonInitialTransactionRequest<?> request) {
+		return parent.getRequestStorageCost(request);
+	}
+
+	@Override
+	public boolean admitsAfterInitialization(InitialTransactionRequest<?> request) {
+		return parent.admitsAfterInitialization(request);
+	}
+
+	@Override
+	public TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
+		transactionsRead.add(reference);
+		return parent.getRequest(reference);
+	}
+
+	@Override
+	public TransactionResponse getResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
+		transactionsRead.add(reference);
+		return parent.getResponse(reference);
+	}
+
+	@Override
+	public ClassTag getClassTag(StorageReference object) throws NoSuchElementException {
+		objectsRead.add(object);
+		return parent.getClassTag(object);
+	}
+
+	@Override
+	public StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return parent.runInstanceMethodCallTransaction(request);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return parent.submit(task);
+	}
+
+	@Override
+	public void submit(Runnable task) {
+		parent.submit(task);
+	}
+
+	/**
+	 * Store utilities that delegate to other store utilities and take note
+	 * of the storage objects whose state they access.
+	 */
+	private class RecordingStoreUtilities implements StoreUtilities {
+
+		/**
+		 * The store utilities to which all calls are delegated.
+		 */
+		private final StoreUtilities parent;
+
+		private RecordingStoreUtilities(StoreUtilities parent) {
+			this.parent = parent;
+		}
+
+		/**
+		 * Takes note that the manifest, if any, has been read. This is a conservative
+		 * approximation for the accesses to the state reachable from the manifest.
+		 */
+		private void manifestRead() {
+			parent.getManifestUncommitted().ifPresent(objectsRead::add);
+		}
+
+		@Override
+		public boolean nodeIsInitializedUncommitted() {
+			manifestRead();
+			return parent.nodeIsInitializedUncommitted();
+		}
+
+		@Override
+		public Optional<TransactionReference> getTakamakaCodeUncommitted() {
+			manifestRead();
+			return parent.getTakamakaCodeUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getManifestUncommitted() {
+			manifestRead();
+			return parent.getManifestUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getGasStationUncommitted() {
+			manifestRead();
+			return parent.getGasStationUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getValidatorsUncommitted() {
+			manifestRead();
+			return parent.getValidatorsUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getVersionsUncommitted() {
+			manifestRead();
+			return parent.getVersionsUncommitted();
+		}
+
+		@Override
+		public Optional<StorageReference> getGameteUncommitted() {
+			manifestRead();
+			return parent.getGameteUncommitted();
+		}
+
+		@Override
+		public BigInteger getBalanceUncommitted(StorageReference contract) {
+			objectsRead.add(contract);
+			return parent.getBalanceUncommitted(contract);
+		}
+
+		@Override
+		public BigInteger getRedBalanceUncommitted(StorageReference contract) {
+			objectsRead.add(contract);
+			return parent.getRedBalanceUncommitted(contract);
+		}
+
+		@Override
+		public BigInteger getTotalBalanceUncommitted(StorageReference contract) {
+			objectsRead.add(contract);
+			return parent.getTotalBalanceUncommitted(contract);
+		}
+
+		@Override
+		public String getPublicKeyUncommitted(StorageReference account) {
+			objectsRead.add(account);
+			return parent.getPublicKeyUncommitted(account);
+		}
+
+		@Override
+		public StorageReference getCreatorUncommitted(StorageReference event) {
+			objectsRead.add(event);
+			return parent.getCreatorUncommitted(event);
+		}
+
+		@Override
+		public BigInteger getNonceUncommitted(StorageReference account) {
+			objectsRead.add(account);
+			return parent.getNonceUncommitted(account);
+		}
+
+		@Override
+		public BigInteger getCurrentSupplyUncommitted(StorageReference validators) {
+			objectsRead.add(validators);
+			return parent.getCurrentSupplyUncommitted(validators);
+		}
+
+		@Override
+		public String getClassNameUncommitted(StorageReference object) {
+			objectsRead.add(object);
+			return parent.getClassNameUncommitted(object);
+		}
+
+		@Override
+		public ClassTag getClassTagUncommitted(StorageReference object) {
+			objectsRead.add(object);
+			return parent.getClassTagUncommitted(object);
+		}
+
+		@Override
+		public Stream<UpdateOfField> getEagerFieldsUncommitted(StorageReference object) {
+			objectsRead.add(object);
+			return parent.getEagerFieldsUncommitted(object);
+		}
+
+		@Override
+		public Stream<Update> getStateCommitted(StorageReference object) {
+			objectsRead.add(object);
+			return parent.getStateCommitted(object);
+		}
+
+		@Override
+		public Optional<UpdateOfField> getLastUpdateToFieldUncommitted(StorageReference object, FieldSignature field) {
+			objectsRead.add(object);
+			return parent.getLastUpdateToFieldUncommitted(object, field);
+		}
+
+		@Override
+		public Optional<UpdateOfField> getLastUpdateToFinalFieldUncommitted(StorageReference object, FieldSignature field) {
+			objectsRead.add(object);
+			return parent.getLastUpdateToFinalFieldUncommitted(object, field);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.CodeExecutionException;
+import io.hotmoka.beans.TransactionException;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.InitialTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.updates.ClassTag;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.instrumentation.GasCostModel;
+import io.hotmoka.local.Config;
+import io.hotmoka.local.NodeCaches;
+import io.hotmoka.local.Store;
+import io.hotmoka.local.StoreUtilities;
+import io.hotmoka.local.internal.transactions.InstanceViewMethodCallResponseBuilder;
+
+/**
+ * A view of a node that reads the state of the objects from a snapshot of the store of the node,
+ * that is, a store that sees the state committed at the time of its creation and does not
+ * change afterwards. It delegates everything else to the view of the node.
+ * It is used to run view transactions concurrently with the delivery of transactions.
+ * Requests and responses are read from the node, since they never change once committed.
+ */
+@ThreadSafe
+public class SnapshotNodeInternal implements NodeInternal {
+
+	/**
+	 * The view of the node to which calls are delegated.
+	 */
+	private final NodeInternal parent;
+
+	/**
+	 * The snapshot of the store of the node.
+	 */
+	private final Store store;
+
+	/**
+	 * The store utilities over {@link #store}.
+	 */
+	private final StoreUtilities storeUtilities;
+
+	/**
+	 * Builds a view of a node that reads the state of the objects from the given snapshot.
+	 *
+	 * @param parent the view of the node to which calls get delegated
+	 * @param store the snapshot of the store of the node
+	 */
+	public SnapshotNodeInternal(NodeInternal parent, Store store) {
+		this.parent = parent;
+		this.store = store;
+		this.storeUtilities = new StoreUtilitiesImpl(this, store);
+	}
+
+	@Override
+	public Config getConfig() {
+		return parent.getConfig();
+	}
+
+	@Override
+	public NodeCaches getCaches() {
+		return parent.getCaches();
+	}
+
+	@Override
+	public GasCostModel getGasCostModel() {
+		return parent.getGasCostModel();
+	}
+
+	@Override
+	public Store getStore() {
+		return store;
+	}
+
+	@Override
+	public StoreUtilities getStoreUtilities() {
+		return storeUtilities;
+	}
+
+	@Override
+	public int getRequestStorageCost(NonInitialTransactionRequest<?> request) {
+		return parent.getRequestStorageCost(request);
+	}
+
+	@Override
+	public boolean admitsAfterInitialization(InitialTransactionRequest<?> request) {
+		return parent.admitsAfterInitialization(request);
+	}
+
+	@Override
+	public TransactionRequest<?> getRequest(TransactionReference reference) throws NoSuchElementException {
+		return parent.getRequest(reference);
+	}
+
+	@Override
+	public TransactionResponse getResponse(TransactionReference reference) throws TransactionRejectedException, NoSuchElementException {
+		return parent.getResponse(reference);
+	}
+
+	@Override
+	public ClassTag getClassTag(StorageReference object) throws NoSuchElementException {
+		if (store.getResponse(object.transaction).isEmpty())
+			throw new NoSuchElementException("unknown transaction reference " + object.transaction);
+
+		return storeUtilities.getClassTagUncommitted(object);
+	}
+
+	@Override
+	public StorageValue runInstanceMethodCallTransaction(InstanceMethodCallTransactionRequest request) throws TransactionRejectedException, TransactionException, CodeExecutionException {
+		return new InstanceViewMethodCallResponseBuilder(request.getReference(), request, this).getResponse().getOutcome();
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return parent.submit(task);
+	}
+
+	@Override
+	public void submit(Runnable task) {
+		parent.submit(task);
+	}
+}
@@ -0,0 +1,282 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.signatures.FieldSignature;
+import io.hotmoka.beans.types.BasicTypes;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.types.StorageType;
+import io.hotmoka.instrumentation.InstrumentationConstants;
+import io.hotmoka.local.EngineClassLoader;
+import io.hotmoka.verification.Dummy;
+
+/**
+ * The layout of the instances of a storage class: its non-transient instance fields,
+ * including those inherited from its superclasses, with the accessors to their current
+ * and old value, and the order of the eager fields in the formal arguments
+ * of the constructor used for deserialization. It is computed once per class and class loader,
+ * so that the extraction of the updates and the deserialization of storage objects
+ * do not need to look up fields and constructors reflectively.
+ */
+@ThreadSafe
+class StorageClassLayout {
+
+	/**
+	 * The non-transient instance fields of the class, including the inherited ones.
+	 * The fields of the class come first, then those of its superclass and so on.
+	 */
+	final List<StorageField> fields;
+
+	/**
+	 * The formal arguments of the constructor used for deserialization.
+	 */
+	private final Class<?>[] formals;
+
+	/**
+	 * The position of the eager fields in the formal arguments of the constructor used for deserialization.
+	 */
+	private final Map<FieldSignature, Integer> positions = new HashMap<>();
+
+	/**
+	 * The class.
+	 */
+	private final Class<?> clazz;
+
+	/**
+	 * The constructor used for deserialization, made accessible, if it has been already looked up.
+	 */
+	private volatile Constructor<?> deserializationConstructor;
+
+	/**
+	 * A non-transient instance field of a storage class.
+	 */
+	static class StorageField {
+
+		/**
+		 * The signature of the field.
+		 */
+		final FieldSignature signature;
+
+		/**
+		 * The declared type of the field.
+		 */
+		final Class<?> type;
+
+		/**
+		 * True if and only if the field is lazily loaded.
+		 */
+		final boolean isLazy;
+
+		/**
+		 * A getter of the current value of the field, of type {@code (Object)Object}.
+		 */
+		private final MethodHandle current;
+
+		/**
+		 * A getter of the old value of the field, of type {@code (Object)Object}.
+		 */
+		private final MethodHandle old;
+
+		private StorageField(Field field, boolean isLazy) {
+			this.type = field.getType();
+			this.isLazy = isLazy;
+			this.signature = new FieldSignature(field.getDeclaringClass().getName(), field.getName(), storageTypeOf(type));
+
+			String oldName = InstrumentationConstants.OLD_PREFIX + field.getName();
+			try {
+				this.current = getterFor(field);
+			}
+			catch (IllegalAccessException | RuntimeException e) {
+				throw new IllegalStateException("cannot access field " + signature.definingClass + "." + signature.name, e);
+			}
+
+			try {
+				this.old = getterFor(field.getDeclaringClass().getDeclaredField(oldName));
+			}
+			catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+				throw new IllegalStateException("cannot access old value for field " + signature.definingClass + "." + signature.name, e);
+			}
+		}
+
+		/**
+		 * Yields the current value of this field in the given object.
+		 *
+		 * @param object the object
+		 * @return the value, boxed if primitive
+		 */
+		Object getCurrent(Object object) {
+			try {
+				return (Object) current.invokeExact(object);
+			}
+			catch (Throwable t) {
+				throw new IllegalStateException("cannot access field " + signature.definingClass + "." + signature.name, t);
+			}
+		}
+
+		/**
+		 * Yields the old value of this field in the given object, that is,
+		 * the value it had when the object was deserialized.
+		 *
+		 * @param object the object
+		 * @return the value, boxed if primitive
+		 */
+		Object getOld(Object object) {
+			try {
+				return (Object) old.invokeExact(object);
+			}
+			catch (Throwable t) {
+				throw new IllegalStateException("cannot access old value for field " + signature.definingClass + "." + signature.name, t);
+			}
+		}
+
+		private static MethodHandle getterFor(Field field) throws IllegalAccessException {
+			field.setAccessible(true); // it might be private
+			return MethodHandles.lookup().unreflectGetter(field).asType(MethodType.genericMethodType(1));
+		}
+
+		private static StorageType storageTypeOf(Class<?> type) {
+			if (type == boolean.class)
+				return BasicTypes.BOOLEAN;
+			else if (type == byte.class)
+				return BasicTypes.BYTE;
+			else if (type == char.class)
+				return BasicTypes.CHAR;
+			else if (type == short.class)
+				return BasicTypes.SHORT;
+			else if (type == int.class)
+				return BasicTypes.INT;
+			else if (type == long.class)
+				return BasicTypes.LONG;
+			else if (type == float.class)
+				return BasicTypes.FLOAT;
+			else if (type == double.class)
+				return BasicTypes.DOUBLE;
+			else if (type == String.class)
+				return ClassType.STRING;
+			else if (type == BigInteger.class)
+				return ClassType.BIG_INTEGER;
+			else
+				return new ClassType(type.getName());
+		}
+	}
+
+	/**
+	 * Computes the layout of the given storage class.
+	 *
+	 * @param clazz the class
+	 * @param classLoader the class loader of the class
+	 */
+	StorageClassLayout(Class<?> clazz, EngineClassLoader classLoader) {
+		this.clazz = clazz;
+
+		List<StorageField> fields = new ArrayList<>();
+		// the eager fields, per class, from the topmost superclass downwards
+		LinkedList<List<StorageField>> eagerFields = new LinkedList<>();
+
+		Class<?> previous = null, current = clazz;
+		while (previous != classLoader.getStorage()) {
+			List<StorageField> eagerFieldsOfCurrent = new ArrayList<>();
+
+			for (Field field: current.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+					var storageField = new StorageField(field, classLoader.isLazilyLoaded(field.getType()));
+					fields.add(storageField);
+					if (!storageField.isLazy)
+						eagerFieldsOfCurrent.add(storageField);
+				}
+			}
+
+			// the same order used by the instrumentation for the constructor used for deserialization
+			eagerFieldsOfCurrent.sort(Comparator.comparing((StorageField field) -> field.signature.name)
+				.thenComparing(field -> field.signature.type.toString()));
+			eagerFields.addFirst(eagerFieldsOfCurrent);
+
+			previous = current;
+			current = current.getSuperclass();
+		}
+
+		this.fields = List.copyOf(fields);
+
+		// the constructor used for deserialization has a first parameter
+		// that receives the storage reference of the object and a last,
+		// fictitious parameter that avoids name clashes
+		List<Class<?>> formals = new ArrayList<>();
+		formals.add(Object.class);
+		eagerFields.stream().flatMap(List::stream).forEachOrdered(field -> {
+			positions.put(field.signature, formals.size());
+			formals.add(field.type);
+		});
+		formals.add(Dummy.class);
+
+		this.formals = formals.toArray(Class<?>[]::new);
+	}
+
+	/**
+	 * Yields the number of formal arguments of the constructor used for deserialization.
+	 *
+	 * @return the number of formal arguments
+	 */
+	int getDeserializationArity() {
+		return formals.length;
+	}
+
+	/**
+	 * Yields the position of the given eager field among the formal arguments
+	 * of the constructor used for deserialization.
+	 *
+	 * @param field the field
+	 * @return the position, or -1 if the field is not an eager field of the class
+	 */
+	int getDeserializationPositionOf(FieldSignature field) {
+		return positions.getOrDefault(field, -1);
+	}
+
+	/**
+	 * Yields the constructor used for deserialization. It is public, but the class might well
+	 * be non-public, hence it is made accessible.
+	 *
+	 * @return the constructor
+	 * @throws NoSuchMethodException if the class has no constructor for deserialization
+	 */
+	Constructor<?> getDeserializationConstructor() throws NoSuchMethodException {
+		Constructor<?> result = deserializationConstructor;
+		if (result == null) {
+			// if more threads look up the constructor concurrently, they find equivalent constructors
+			result = clazz.getConstructor(formals);
+			result.setAccessible(true);
+			deserializationConstructor = result;
+		}
+
+		return result;
+	}
+}
@@ -159,6 +159,14 @@ public class StoreUtilitiesImpl implements StoreUtilities {
 
 	@Override
 	public ClassTag getClassTagUncommitted(StorageReference reference) {
+		Optional<ClassTag> indexed = getStore().getStateUncommitted(reference)
+			.filter(update -> update instanceof ClassTag)
+			.map(update -> (ClassTag) update)
+			.findFirst();
+
+		if (indexed.isPresent())
+			return indexed.get();
+
 		// we go straight to the transaction that created the object
 		Optional<TransactionResponse> response = node.getCaches().getResponseUncommitted(reference.transaction);
 		if (!(response.get() instanceof TransactionResponseWithUpdates))
@@ -172,6 +180,11 @@ public class StoreUtilitiesImpl implements StoreUtilities {
 
 	@Override
 	public Stream<Update> getStateCommitted(StorageReference object) {
+		Update[] indexed = getStore().getState(object).toArray(Update[]::new);
+		if (indexed.length > 0)
+			return Stream.of(indexed);
+
+		// the state of the object is not indexed: we reconstruct it from its history
 		Set<Update> updates = new HashSet<>();
 		Stream<TransactionReference> history = getStore().getHistory(object);
 		history.forEachOrdered(transaction -> addUpdatesCommitted(object, transaction, updates));
@@ -180,6 +193,13 @@ public class StoreUtilitiesImpl implements StoreUtilities {
 
 	@Override
 	public Stream<UpdateOfField> getEagerFieldsUncommitted(StorageReference object) {
+		Update[] indexed = getStore().getStateUncommitted(object).toArray(Update[]::new);
+		if (indexed.length > 0)
+			return Stream.of(indexed)
+				.filter(update -> update.isEager() && update instanceof UpdateOfField)
+				.map(update -> (UpdateOfField) update);
+
+		// the state of the object is not indexed: we reconstruct it from its history
 		Set<FieldSignature> fieldsAlreadySeen = new HashSet<>();
 		NodeCaches caches = node.getCaches();
 
@@ -192,6 +212,14 @@ public class StoreUtilitiesImpl implements StoreUtilities {
 
 	@Override
 	public Optional<UpdateOfField> getLastUpdateToFieldUncommitted(StorageReference object, FieldSignature field) {
+		Update[] indexed = getStore().getStateUncommitted(object).toArray(Update[]::new);
+		if (indexed.length > 0)
+			return Stream.of(indexed)
+				.filter(update -> update instanceof UpdateOfField && ((UpdateOfField) update).getField().equals(field))
+				.map(update -> (UpdateOfField) update)
+				.findFirst();
+
+		// the state of the object is not indexed: we look for the field in its history
 		return getStore().getHistoryUncommitted(object)
 			.map(transaction -> getLastUpdateUncommitted(object, field, transaction))
 			.filter(Optional::isPresent)
@@ -29,8 +29,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import io.hotmoka.beans.signatures.FieldSignature;
-import io.hotmoka.beans.types.BasicTypes;
-import io.hotmoka.beans.types.ClassType;
 import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.updates.UpdateOfBigInteger;
@@ -49,8 +47,8 @@ import io.hotmoka.beans.updates.UpdateOfString;
 import io.hotmoka.beans.updates.UpdateToNullEager;
 import io.hotmoka.beans.updates.UpdateToNullLazy;
 import io.hotmoka.beans.values.StorageReference;
-import io.hotmoka.instrumentation.InstrumentationConstants;
 import io.hotmoka.local.EngineClassLoader;
+import io.hotmoka.local.internal.StorageClassLayout.StorageField;
 import io.hotmoka.local.internal.transactions.AbstractResponseBuilder;
 import io.hotmoka.nodes.DeserializationError;
 
@@ -161,11 +159,15 @@ public class UpdatesExtractorFromRAM {
 				if (!inStorage)
 					updates.add(new ClassTag(storageReference, clazz.getName(), classLoader.transactionThatInstalledJarFor(clazz)));
 
-				Class<?> previous = null;
-				while (previous != classLoader.getStorage()) {
-					addUpdatesForFieldsDefinedInClass(clazz, object);
-					previous = clazz;
-					clazz = clazz.getSuperclass();
+				for (var field: ((EngineClassLoaderImpl) classLoader).getLayout(clazz).fields) {
+					Object currentValue = field.getCurrent(object);
+					Object oldValue = field.getOld(object);
+
+					if (!inStorage || !Objects.equals(oldValue, currentValue))
+						addUpdateFor(field, currentValue);
+
+					if (inStorage && field.isLazy)
+						recursiveExtract(oldValue);
 				}
 			}
 
@@ -189,14 +191,10 @@ public class UpdatesExtractorFromRAM {
 			/**
 			 * Takes note that a field of lazy type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of the storage object or one of its superclasses
-			 * @param fieldName the name of the field
-			 * @param fieldClassName the name of the type of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, String fieldClassName, Object s) {
-				FieldSignature field = new FieldSignature(fieldDefiningClass, fieldName, new ClassType(fieldClassName));
-
+			private void addUpdateFor(FieldSignature field, Object s) {
 				if (s == null)
 					// the field has been set to null
 					updates.add(new UpdateToNullLazy(storageReference, field));
@@ -240,114 +238,103 @@ public class UpdatesExtractorFromRAM {
 			/**
 			 * Takes note that a field of {@code boolean} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, boolean s) {
-				updates.add(new UpdateOfBoolean(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.BOOLEAN), s));
+			private void addUpdateFor(FieldSignature field, boolean s) {
+				updates.add(new UpdateOfBoolean(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code byte} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, byte s) {
-				updates.add(new UpdateOfByte(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.BYTE), s));
+			private void addUpdateFor(FieldSignature field, byte s) {
+				updates.add(new UpdateOfByte(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code char} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, char s) {
-				updates.add(new UpdateOfChar(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.CHAR), s));
+			private void addUpdateFor(FieldSignature field, char s) {
+				updates.add(new UpdateOfChar(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code double} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, double s) {
-				updates.add(new UpdateOfDouble(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.DOUBLE), s));
+			private void addUpdateFor(FieldSignature field, double s) {
+				updates.add(new UpdateOfDouble(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code float} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, float s) {
-				updates.add(new UpdateOfFloat(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.FLOAT), s));
+			private void addUpdateFor(FieldSignature field, float s) {
+				updates.add(new UpdateOfFloat(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code int} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, int s) {
-				updates.add(new UpdateOfInt(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.INT), s));
+			private void addUpdateFor(FieldSignature field, int s) {
+				updates.add(new UpdateOfInt(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code long} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, long s) {
-				updates.add(new UpdateOfLong(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.LONG), s));
+			private void addUpdateFor(FieldSignature field, long s) {
+				updates.add(new UpdateOfLong(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@code short} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, short s) {
-				updates.add(new UpdateOfShort(storageReference, new FieldSignature(fieldDefiningClass, fieldName, BasicTypes.SHORT), s));
+			private void addUpdateFor(FieldSignature field, short s) {
+				updates.add(new UpdateOfShort(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@link java.lang.String} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param s the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, String s) {
+			private void addUpdateFor(FieldSignature field, String s) {
 				if (s == null)
-					updates.add(new UpdateToNullEager(storageReference, new FieldSignature(fieldDefiningClass, fieldName, ClassType.STRING)));
+					updates.add(new UpdateToNullEager(storageReference, field));
 				else
-					updates.add(new UpdateOfString(storageReference, new FieldSignature(fieldDefiningClass, fieldName, ClassType.STRING), s));
+					updates.add(new UpdateOfString(storageReference, field, s));
 			}
 
 			/**
 			 * Takes note that a field of {@link java.math.BigInteger} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param bi the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, BigInteger bi) {
-				FieldSignature field = new FieldSignature(fieldDefiningClass, fieldName, ClassType.BIG_INTEGER);
+			private void addUpdateFor(FieldSignature field, BigInteger bi) {
 				if (bi == null)
 					updates.add(new UpdateToNullEager(storageReference, field));
 				else
@@ -357,104 +344,52 @@ public class UpdatesExtractorFromRAM {
 			/**
 			 * Takes note that a field of {@code enum} type has changed its value and consequently adds it to the set of updates.
 			 * 
-			 * @param fieldDefiningClass the class of the field. This can only be the class of this storage object or one of its superclasses
-			 * @param fieldName the name of the field
-			 * @param fieldClassName the name of the type of the field
+			 * @param field the field. Its defining class can only be the class of this storage object or one of its superclasses
 			 * @param element the value set to the field
 			 */
-			private void addUpdateFor(String fieldDefiningClass, String fieldName, String fieldClassName, Enum<?> element) {
-				FieldSignature field = new FieldSignature(fieldDefiningClass, fieldName, new ClassType(fieldClassName));
+			private void addUpdateFor(FieldSignature field, Enum<?> element) {
 				if (element == null)
 					updates.add(new UpdateToNullEager(storageReference, field));
 				else
 					updates.add(new UpdateOfEnumEager(storageReference, field, element.getClass().getName(), element.name()));
 			}
 
-			/**
-			 * Takes note of updates to the fields of the given object, defined in the given class.
-			 * 
-			 * @param clazz the class
-			 * @param object the object
-			 */
-			private void addUpdatesForFieldsDefinedInClass(Class<?> clazz, Object object) {
-				for (Field field: clazz.getDeclaredFields())
-					if (!isStaticOrTransient(field)) {
-						field.setAccessible(true); // it might be private
-						Object currentValue, oldValue;
-
-						try {
-							currentValue = field.get(object);
-						}
-						catch (IllegalArgumentException | IllegalAccessException e) {
-							throw new IllegalStateException("cannot access field " + field.getDeclaringClass().getName() + "." + field.getName(), e);
-						}
-
-						String oldName = InstrumentationConstants.OLD_PREFIX + field.getName();
-						try {
-							Field oldField = field.getDeclaringClass().getDeclaredField(oldName);
-							oldField.setAccessible(true); // it is always private
-							oldValue = oldField.get(object);
-						}
-						catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-							throw new IllegalStateException("cannot access old value for field " + field.getDeclaringClass().getName() + "." + field.getName(), e);
-						}
-
-						if (!inStorage || !Objects.equals(oldValue, currentValue))
-							addUpdateFor(field, currentValue);
-
-						if (inStorage && classLoader.isLazilyLoaded(field.getType()))
-							recursiveExtract(oldValue);
-					}
-			}
-
 			/**
 			 * Takes note that a field has been updated to a new current value.
 			 * 
 			 * @param field the field
 			 * @param currentValue the current value of the field
 			 */
-			private void addUpdateFor(Field field, Object currentValue) {
-				Class<?> fieldType = field.getType();
-				String fieldDefiningClass = field.getDeclaringClass().getName();
-				String fieldName = field.getName();
+			private void addUpdateFor(StorageField field, Object currentValue) {
+				Class<?> fieldType = field.type;
+				FieldSignature signature = field.signature;
 
 				if (fieldType == char.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (char) currentValue);
+					addUpdateFor(signature, (char) currentValue);
 				else if (fieldType == boolean.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (boolean) currentValue);
+					addUpdateFor(signature, (boolean) currentValue);
 				else if (fieldType == byte.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (byte) currentValue);
+					addUpdateFor(signature, (byte) currentValue);
 				else if (fieldType == short.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (short) currentValue);
+					addUpdateFor(signature, (short) currentValue);
 				else if (fieldType == int.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (int) currentValue);
+					addUpdateFor(signature, (int) currentValue);
 				else if (fieldType == long.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (long) currentValue);
+					addUpdateFor(signature, (long) currentValue);
 				else if (fieldType == float.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (float) currentValue);
+					addUpdateFor(signature, (float) currentValue);
 				else if (fieldType == double.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (double) currentValue);
+					addUpdateFor(signature, (double) currentValue);
 				else if (fieldType == BigInteger.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (BigInteger) currentValue);
+					addUpdateFor(signature, (BigInteger) currentValue);
 				else if (fieldType == String.class)
-					addUpdateFor(fieldDefiningClass, fieldName, (String) currentValue);
+					addUpdateFor(signature, (String) currentValue);
 				else if (fieldType.isEnum())
-					addUpdateFor(fieldDefiningClass, fieldName, fieldType.getName(), (Enum<?>) currentValue);
-				else if (classLoader.isLazilyLoaded(fieldType))
-					addUpdateFor(fieldDefiningClass, fieldName, fieldType.getName(), currentValue);
+					addUpdateFor(signature, (Enum<?>) currentValue);
+				else if (field.isLazy)
+					addUpdateFor(signature, currentValue);
 				else
-					throw new IllegalStateException("unexpected field in storage object: " + fieldDefiningClass + '.' + fieldName);
-			}
-
-			/**
-			 * Determines if the given field is static or transient, hence its updates are not extracted.
-			 * 
-			 * @param field the field
-			 * @return true if and only if that condition holds
-			 */
-			private boolean isStaticOrTransient(Field field) {
-				int modifiers = field.getModifiers();
-				return Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers);
+					throw new IllegalStateException("unexpected field in storage object: " + signature.definingClass + '.' + signature.name);
 			}
 		}
 	}
@@ -272,6 +272,15 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 		 */
 		public abstract void chargeGasForCPU(BigInteger amount);
 
+		/**
+		 * Decreases the available gas by the given amount, for CPU execution.
+		 * This is equivalent to {@link #chargeGasForCPU(BigInteger)} but avoids
+		 * the allocation of a {@link BigInteger} for the very frequent case of a small amount.
+		 * 
+		 * @param amount the amount of gas to consume
+		 */
+		public abstract void chargeGasForCPU(long amount);
+
 		/**
 		 * Decreases the available gas by the given amount, for RAM execution.
 		 * 
@@ -279,6 +288,15 @@ public abstract class AbstractResponseBuilder<Request extends TransactionRequest
 		 */
 		public abstract void chargeGasForRAM(BigInteger amount);
 
+		/**
+		 * Decreases the available gas by the given amount, for RAM execution.
+		 * This is equivalent to {@link #chargeGasForRAM(BigInteger)} but avoids
+		 * the allocation of a {@link BigInteger} for the very frequent case of a small amount.
+		 * 
+		 * @param amount the amount of gas to consume
+		 */
+		public abstract void chargeGasForRAM(long amount);
+
 		/**
 		 * Yields the latest value for the given field of the object with the given storage reference.
 		 * The field is not {@code final}. Conceptually, this method looks for the value of the field
@@ -105,7 +105,7 @@ public class ConstructorCallResponseBuilder extends CodeCallResponseBuilder<Cons
 		
 				Object result;
 				try {
-					result = constructorJVM.newInstance(deserializedActuals);
+					result = getClassLoader().newInstance(constructorJVM, deserializedActuals);
 				}
 				catch (InvocationTargetException e) {
 					Throwable cause = e.getCause();
@@ -78,7 +78,7 @@ public class StaticMethodCallResponseBuilder extends MethodCallResponseBuilder<S
 
 				Object result;
 				try {
-					result = methodJVM.invoke(null, deserializedActuals); // no receiver
+					result = getClassLoader().invoke(methodJVM, null, deserializedActuals); // no receiver
 				}
 				catch (InvocationTargetException e) {
 					Throwable cause = e.getCause();
@@ -0,0 +1,179 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.local.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the bounded cache of the nodes.
+ */
+class LRUCaches {
+
+	@Test
+	@DisplayName("a full cache evicts an object that has not been accessed recently")
+	void evictsNotRecentlyAccessed() {
+		var cache = new LRUCache<Integer, String>(8);
+		for (int key = 0; key < 8; key++)
+			cache.put(key, "value #" + key);
+
+		cache.get(0);
+		cache.put(8, "value #8");
+
+		assertEquals(1L, cache.getEvictions());
+		assertNull(cache.get(1));
+		assertEquals("value #0", cache.get(0));
+		assertEquals("value #8", cache.get(8));
+	}
+
+	@Test
+	@DisplayName("a key is removed only if it is bound to the given value")
+	void removesOnlyTheGivenValue() {
+		var cache = new LRUCache<Integer, String>(8);
+		cache.put(0, "value #0");
+
+		assertFalse(cache.remove(0, "another value"));
+		assertEquals("value #0", cache.get(0));
+		assertTrue(cache.remove(0, cache.get(0)));
+		assertNull(cache.get(0));
+		assertFalse(cache.remove(0, "value #0"));
+
+		// removed objects do not count for eviction
+		for (int key = 1; key <= 8; key++)
+			cache.put(key, "value #" + key);
+
+		assertEquals(0L, cache.getEvictions());
+	}
+
+	@Test
+	@DisplayName("the cache counts its hits, misses and evictions")
+	void countsHitsMissesAndEvictions() {
+		var cache = new LRUCache<Integer, String>(8);
+		for (int key = 0; key < 20; key++)
+			cache.put(key, "value #" + key);
+
+		for (int key = 0; key < 20; key++)
+			cache.get(key);
+
+		assertEquals(8L, cache.getHits());
+		assertEquals(12L, cache.getMisses());
+		assertEquals(12L, cache.getEvictions());
+	}
+
+	@Test
+	@DisplayName("concurrent computations of the same key call the supplier only once")
+	void computesEachKeyOnce() throws Exception {
+		var cache = new LRUCache<Integer, Object>(8);
+		var calls = new AtomicInteger();
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+
+		try {
+			List<Future<Object>> results = new ArrayList<>();
+			results.add(executor.submit(() -> cache.computeIfAbsent(13, _key -> {
+				calls.incrementAndGet();
+				started.countDown();
+				release.await();
+				return new Object();
+			})));
+
+			started.await();
+
+			for (int counter = 0; counter < 7; counter++)
+				results.add(executor.submit(() -> cache.computeIfAbsent(13, _key -> {
+					calls.incrementAndGet();
+					return new Object();
+				})));
+
+			// we give the other computations the time to reach the cache, while the first is still running
+			Thread.sleep(200);
+			release.countDown();
+
+			Object value = results.get(0).get();
+			for (var result: results)
+				assertSame(value, result.get());
+
+			assertEquals(1, calls.get());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("computations racing on many keys call the supplier once per key")
+	void computesEachKeyOnceUnderContention() throws Exception {
+		final int keys = 2000;
+		final int threads = 4;
+		var cache = new LRUCache<Integer, Object>(keys);
+		var calls = new AtomicIntegerArray(keys);
+		var barrier = new CyclicBarrier(threads);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<List<Object>>> results = new ArrayList<>();
+			for (int thread = 0; thread < threads; thread++)
+				results.add(executor.submit(() -> {
+					var values = new ArrayList<Object>();
+
+					for (int key = 0; key < keys; key++) {
+						// all threads ask for the same key at the same time, with a quick supplier
+						barrier.await();
+						values.add(cache.computeIfAbsent(key, _key -> {
+							calls.incrementAndGet(_key);
+							return new Object();
+						}));
+					}
+
+					return values;
+				}));
+
+			List<Object> expected = results.get(0).get();
+			for (var result: results) {
+				List<Object> values = result.get();
+				for (int key = 0; key < keys; key++)
+					assertSame(expected.get(key), values.get(key));
+			}
+
+			for (int key = 0; key < keys; key++)
+				assertEquals(1, calls.get(key));
+
+			// each computation counts a single hit or miss
+			assertEquals((long) keys * threads, cache.getHits() + cache.getMisses());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+}
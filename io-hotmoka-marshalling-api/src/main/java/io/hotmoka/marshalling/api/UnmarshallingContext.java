@@ -86,6 +86,14 @@ public interface UnmarshallingContext extends AutoCloseable {
 	 */
 	byte[] readBytes(int length, String errorMessage) throws IOException;
 
+	/**
+	 * Determines if all bytes of the context have been read.
+	 * 
+	 * @return true if and only if there are no more bytes to read
+	 * @throws IOException if the context cannot be accessed
+	 */
+	boolean isExhausted() throws IOException;
+
 	String readStringShared() throws IOException;
 
 	/**
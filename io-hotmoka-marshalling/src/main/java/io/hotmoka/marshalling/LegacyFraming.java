@@ -0,0 +1,122 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.marshalling;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamConstants;
+import java.io.PushbackInputStream;
+
+/**
+ * Support for data marshalled by older versions of the marshalling contexts,
+ * that framed it inside a Java object stream: a stream header followed by
+ * the data split into blocks. The header works as a version flag: data marshalled
+ * in the current format never starts with it, since it starts with a selector,
+ * a length or a node kind that cannot coincide with the header. This allows one
+ * to read data at rest in both formats.
+ */
+public final class LegacyFraming {
+
+	private LegacyFraming() {}
+
+	/**
+	 * The length of the header of the legacy framing.
+	 */
+	public final static int HEADER_LENGTH = 4;
+
+	/**
+	 * Determines if the given bytes start with the header of the legacy framing.
+	 *
+	 * @param bytes the bytes
+	 * @return true if and only if that condition holds
+	 */
+	public static boolean isFramed(byte[] bytes) {
+		return bytes.length >= HEADER_LENGTH
+			&& (short) (((bytes[0] & 0xff) << 8) | (bytes[1] & 0xff)) == ObjectStreamConstants.STREAM_MAGIC
+			&& (short) (((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff)) == ObjectStreamConstants.STREAM_VERSION;
+	}
+
+	/**
+	 * Determines if the given input stream starts with the header of the legacy framing.
+	 * The bytes read for that are pushed back into the stream, hence its content does not change.
+	 *
+	 * @param is the input stream; it must allow at least {@link #HEADER_LENGTH} bytes to be pushed back
+	 * @return true if and only if that condition holds
+	 * @throws IOException if the stream cannot be read
+	 */
+	public static boolean isFramed(PushbackInputStream is) throws IOException {
+		byte[] header = is.readNBytes(HEADER_LENGTH);
+		is.unread(header);
+		return isFramed(header);
+	}
+
+	/**
+	 * Yields an input stream that provides the data in the given input stream,
+	 * that was marshalled with the legacy framing, without that framing.
+	 * The result can be passed to the constructor of an unmarshalling context.
+	 *
+	 * @param is the input stream, with the legacy framing
+	 * @return the input stream, without the legacy framing
+	 * @throws IOException if {@code is} does not start with the header of the legacy framing
+	 */
+	public static InputStream unframe(InputStream is) throws IOException {
+		// an object stream, in block data mode, yields the content of the blocks only
+		return new ObjectInputStream(is);
+	}
+
+	/**
+	 * Yields the data in the given bytes, that were marshalled with the legacy framing,
+	 * without that framing.
+	 *
+	 * @param bytes the bytes, with the legacy framing
+	 * @return the bytes, without the legacy framing
+	 * @throws IOException if {@code bytes} are not framed with the legacy framing
+	 */
+	public static byte[] unframe(byte[] bytes) throws IOException {
+		try (var is = unframe(new ByteArrayInputStream(bytes))) {
+			return is.readAllBytes();
+		}
+	}
+
+	/**
+	 * Frames the given data with the legacy framing. The result coincides with what the older
+	 * marshalling contexts wrote for the same data, as long as it contains no strings with
+	 * characters outside the ASCII range, for which they might have split the blocks differently.
+	 * This is the case, for instance, of storage references, whose legacy bytes are needed
+	 * to compute the keys they were bound to in stores written with the legacy framing.
+	 *
+	 * @param bytes the data, without framing
+	 * @return the data, with the legacy framing
+	 */
+	public static byte[] frame(byte[] bytes) {
+		try (var baos = new ByteArrayOutputStream()) {
+			try (var oos = new ObjectOutputStream(baos)) {
+				oos.write(bytes);
+			}
+
+			return baos.toByteArray();
+		}
+		catch (IOException e) {
+			// impossible for a ByteArrayOutputStream
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+}
@@ -18,6 +18,7 @@ package io.hotmoka.marshalling;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 
 import io.hotmoka.marshalling.api.UnmarshallingContext;
 import io.hotmoka.marshalling.internal.UnmarshallingContextImpl;
@@ -36,4 +37,18 @@ public interface UnmarshallingContexts {
 	static UnmarshallingContext of(InputStream is) throws IOException {
 		return new UnmarshallingContextImpl(is);
 	}
+
+	/**
+	 * Creates an unmarshalling context for data at rest, that might have been marshalled
+	 * with the legacy framing (see {@link LegacyFraming}).
+	 * The framing, if any, is recognized from the first bytes of the stream.
+	 * 
+	 * @param is the input stream of the context
+	 * @return the unmarshalling context
+	 * @throws IOException if the context cannot be created
+	 */
+	static UnmarshallingContext ofAnyFormat(InputStream is) throws IOException {
+		var pis = new PushbackInputStream(is, LegacyFraming.HEADER_LENGTH);
+		return new UnmarshallingContextImpl(LegacyFraming.isFramed(pis) ? LegacyFraming.unframe(pis) : pis);
+	}
 }
\ No newline at end of file
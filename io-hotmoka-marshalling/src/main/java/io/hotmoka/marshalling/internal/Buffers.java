@@ -0,0 +1,62 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.marshalling.internal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A pool of byte buffers for the marshalling and unmarshalling contexts.
+ * Each thread keeps at most one buffer, that it reuses for the
+ * successive contexts. Nested contexts in the same thread find the buffer
+ * taken and allocate a new one.
+ */
+final class Buffers {
+
+	/**
+	 * The size of the buffers.
+	 */
+	final static int SIZE = 8192;
+
+	/**
+	 * The buffer available for reuse in each thread, if any.
+	 */
+	private final ThreadLocal<ByteBuffer> available = new ThreadLocal<>();
+
+	/**
+	 * Yields a buffer, reusing that of the current thread if it is available.
+	 *
+	 * @return the buffer, cleared
+	 */
+	ByteBuffer take() {
+		ByteBuffer buffer = available.get();
+		if (buffer == null)
+			return ByteBuffer.allocate(SIZE);
+
+		available.set(null);
+		return buffer.clear();
+	}
+
+	/**
+	 * Makes the given buffer available for reuse in the current thread.
+	 * The buffer must not be used after this call.
+	 *
+	 * @param buffer the buffer, previously yielded by {@link #take()}
+	 */
+	void release(ByteBuffer buffer) {
+		available.set(buffer);
+	}
+}
@@ -33,7 +33,7 @@ public abstract class MarshallableImpl implements Marshallable {
 
 	// TODO: check IOException catches
 	@Override
-	public final byte[] toByteArray() {
+	public byte[] toByteArray() {
 		try (var baos = new ByteArrayOutputStream(); var context = createMarshallingContext(baos)) {
 			into(context);
 			context.flush();
@@ -46,8 +46,38 @@ public abstract class MarshallableImpl implements Marshallable {
 	}
 
 	@Override
-	public final int size() {
-		return toByteArray().length;
+	public int size() {
+		// we marshal into a stream that only counts the bytes, without buffering them
+		try (var cos = new ByteCountingOutputStream(); var context = createMarshallingContext(cos)) {
+			into(context);
+			context.flush();
+			return cos.count;
+		}
+		catch (IOException e) {
+			// impossible with a ByteCountingOutputStream
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+
+	/**
+	 * An output stream that discards the bytes written into it and only counts them.
+	 */
+	private static class ByteCountingOutputStream extends OutputStream {
+
+		/**
+		 * The number of bytes written up to now.
+		 */
+		private int count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
 	}
 
 	/**
@@ -17,9 +17,10 @@ limitations under the License.
 package io.hotmoka.marshalling.internal;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.UTFDataFormatException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,9 +29,28 @@ import io.hotmoka.marshalling.api.ObjectMarshaller;
 
 /**
  * Implementation of a context used during object marshaling into bytes.
+ * Values are written in big-endian order, as in {@link java.io.DataOutput},
+ * into a buffer that is flushed into the output stream when full.
+ * No stream header nor block framing is added to the data.
  */
 public class MarshallingContextImpl implements MarshallingContext {
-	private final ObjectOutputStream oos;
+
+	/**
+	 * The pool of the buffers of the marshalling contexts.
+	 */
+	private final static Buffers BUFFERS = new Buffers();
+
+	/**
+	 * The output stream of this context.
+	 */
+	private final OutputStream os;
+
+	/**
+	 * The buffer where data is written before being flushed into {@link #os}.
+	 * It is {@code null} after this context has been closed.
+	 */
+	private ByteBuffer buffer;
+
 	private final Map<String, Integer> memoryString = new HashMap<>();
 
 	/**
@@ -38,8 +58,39 @@ public class MarshallingContextImpl implements MarshallingContext {
 	 */
 	private final Map<Class<?>, ObjectMarshaller<?>> objectMarshallers = new HashMap<>();
 
-	public MarshallingContextImpl(OutputStream oos) throws IOException {
-		this.oos = new ObjectOutputStream(oos);
+	/**
+	 * Creates a marshalling context.
+	 * 
+	 * @param os the output stream of the context
+	 * @throws IOException if the context cannot be created
+	 */
+	public MarshallingContextImpl(OutputStream os) throws IOException {
+		this.os = os;
+		this.buffer = BUFFERS.take();
+	}
+
+	/**
+	 * Guarantees that the buffer has room for the given number of bytes,
+	 * flushing its content into the output stream if needed.
+	 * 
+	 * @param size the number of bytes, at most {@link Buffers#SIZE}
+	 * @throws IOException if the buffer could not be flushed
+	 */
+	private void ensure(int size) throws IOException {
+		if (buffer.remaining() < size)
+			drain();
+	}
+
+	/**
+	 * Writes the content of the buffer into the output stream and clears the buffer.
+	 * 
+	 * @throws IOException if the output stream cannot be written
+	 */
+	private void drain() throws IOException {
+		if (buffer.position() > 0) {
+			os.write(buffer.array(), 0, buffer.position());
+			buffer.clear();
+		}
 	}
 
 	/**
@@ -67,10 +118,10 @@ public class MarshallingContextImpl implements MarshallingContext {
 
 		if (index != null) {
 			if (index < 254)
-				oos.writeByte(index);
+				writeByte(index);
 			else {
-				oos.writeByte(254);
-				oos.writeInt(index);
+				writeByte(254);
+				writeInt(index);
 			}
 		}
 		else {
@@ -80,24 +131,27 @@ public class MarshallingContextImpl implements MarshallingContext {
 
 			memoryString.put(s, next);
 
-			oos.writeByte(255);
-			oos.writeUTF(s);
+			writeByte(255);
+			writeUTF(s);
 		}
 	}
 
 	@Override
 	public void writeByte(int b) throws IOException {
-		oos.writeByte(b);
+		ensure(1);
+		buffer.put((byte) b);
 	}
 
 	@Override
 	public void writeChar(int c) throws IOException {
-		oos.writeChar(c);
+		ensure(2);
+		buffer.putChar((char) c);
 	}
 
 	@Override
 	public void writeInt(int i) throws IOException {
-		oos.writeInt(i);
+		ensure(4);
+		buffer.putInt(i);
 	}
 
 	@Override
@@ -112,44 +166,91 @@ public class MarshallingContextImpl implements MarshallingContext {
 
 	@Override
 	public void writeUTF(String s) throws IOException {
-		oos.writeUTF(s);
+		// we use the modified UTF-8 encoding of java.io.DataOutput
+		int length = s.length(), encodedLength = 0;
+		for (int pos = 0; pos < length; pos++) {
+			char c = s.charAt(pos);
+			if (c >= 0x0001 && c <= 0x007f)
+				encodedLength++;
+			else if (c > 0x07ff)
+				encodedLength += 3;
+			else
+				encodedLength += 2;
+		}
+
+		if (encodedLength > 65535)
+			throw new UTFDataFormatException("string too long to be marshalled: " + encodedLength + " bytes");
+
+		writeShort(encodedLength);
+
+		for (int pos = 0; pos < length; pos++) {
+			char c = s.charAt(pos);
+			if (c >= 0x0001 && c <= 0x007f)
+				writeByte(c);
+			else if (c > 0x07ff) {
+				ensure(3);
+				buffer.put((byte) (0xe0 | ((c >> 12) & 0x0f)));
+				buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+				buffer.put((byte) (0x80 | (c & 0x3f)));
+			}
+			else {
+				ensure(2);
+				buffer.put((byte) (0xc0 | ((c >> 6) & 0x1f)));
+				buffer.put((byte) (0x80 | (c & 0x3f)));
+			}
+		}
 	}
 
 	@Override
 	public void write(byte[] bytes) throws IOException {
-		oos.write(bytes);
+		if (bytes.length <= buffer.remaining())
+			buffer.put(bytes);
+		else {
+			// large arrays are written directly into the output stream, without copying them into the buffer
+			drain();
+			if (bytes.length < Buffers.SIZE)
+				buffer.put(bytes);
+			else
+				os.write(bytes);
+		}
 	}
 
 	@Override
 	public void writeDouble(double d) throws IOException {
-		oos.writeDouble(d);
+		ensure(8);
+		buffer.putDouble(d);
 	}
 
 	@Override
 	public void writeFloat(float f) throws IOException {
-		oos.writeFloat(f);
+		ensure(4);
+		buffer.putFloat(f);
 	}
 
 	@Override
 	public void writeLong(long l) throws IOException {
-		oos.writeLong(l);
+		ensure(8);
+		buffer.putLong(l);
 	}
 
 	@Override
 	public void writeShort(int s) throws IOException {
-		oos.writeShort(s);
+		ensure(2);
+		buffer.putShort((short) s);
 	}
 
 	@Override
 	public void writeBoolean(boolean b) throws IOException {
-		oos.writeBoolean(b);
+		writeByte(b ? 1 : 0);
 	}
 
 	@Override
 	public void writeBigInteger(BigInteger bi) throws IOException {
-		short small = bi.shortValue();
+		// the bit length, without the sign bit, selects the smallest representation, without creating other big integers
+		int bitLength = bi.bitLength();
 
-		if (BigInteger.valueOf(small).equals(bi)) {
+		if (bitLength < Short.SIZE) {
+			short small = bi.shortValue();
 			if (0 <= small && small <= 251)
 				writeByte(4 + small);
 			else {
@@ -157,17 +258,20 @@ public class MarshallingContextImpl implements MarshallingContext {
 				writeShort(small);
 			}
 		}
-		else if (BigInteger.valueOf(bi.intValue()).equals(bi)) {
+		else if (bitLength < Integer.SIZE) {
 			writeByte(1);
 			writeInt(bi.intValue());
 		}
-		else if (BigInteger.valueOf(bi.longValue()).equals(bi)) {
+		else if (bitLength < Long.SIZE) {
 			writeByte(2);
 			writeLong(bi.longValue());
 		}
 		else {
+			// selector 3 was followed by the decimal digits of the big integer, which are at least 19;
+			// hence a 0 length marks the two's-complement representation of the big integer instead
 			writeByte(3);
-			byte[] bytes = bi.toString().getBytes();
+			writeByte(0);
+			byte[] bytes = bi.toByteArray();
 			writeCompactInt(bytes.length);
 			write(bytes);
 		}
@@ -175,11 +279,21 @@ public class MarshallingContextImpl implements MarshallingContext {
 
 	@Override
 	public void flush() throws IOException {
-		oos.flush();
+		drain();
+		os.flush();
 	}
 
 	@Override
 	public void close() throws IOException {
-		oos.close();
+		if (buffer != null) {
+			try {
+				flush();
+			}
+			finally {
+				BUFFERS.release(buffer);
+				buffer = null;
+				os.close();
+			}
+		}
 	}
 }
\ No newline at end of file
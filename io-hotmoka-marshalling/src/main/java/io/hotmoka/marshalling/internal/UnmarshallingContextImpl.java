@@ -16,11 +16,12 @@ limitations under the License.
 
 package io.hotmoka.marshalling.internal;
 
-import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
+import java.io.UTFDataFormatException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -32,9 +33,26 @@ import io.hotmoka.marshalling.api.UnmarshallingContext;
 
 /**
  * Implementation of a context used during bytes unmarshalling into objects.
+ * It reads the data written by a {@link MarshallingContextImpl}, through a buffer
+ * that is refilled from the input stream when exhausted.
  */
 public class UnmarshallingContextImpl implements UnmarshallingContext {
-	private final ObjectInputStream ois;
+
+	/**
+	 * The pool of the buffers of the unmarshalling contexts.
+	 */
+	private final static Buffers BUFFERS = new Buffers();
+
+	/**
+	 * The input stream of this context.
+	 */
+	private final InputStream is;
+
+	/**
+	 * The buffer holding the data read from {@link #is} and not consumed yet.
+	 * It is {@code null} after this context has been closed.
+	 */
+	private ByteBuffer buffer;
 
 	/**
 	 * A memory to avoid duplicated strings in the marshalled bytes.
@@ -53,7 +71,36 @@ public class UnmarshallingContextImpl implements UnmarshallingContext {
 	 * @throws IOException if the context cannot be created
 	 */
 	public UnmarshallingContextImpl(InputStream is) throws IOException {
-		this.ois = new ObjectInputStream(new BufferedInputStream(is));
+		this.is = is;
+		this.buffer = BUFFERS.take().flip(); // initially empty
+	}
+
+	/**
+	 * Guarantees that the buffer holds at least the given number of bytes,
+	 * refilling it from the input stream if needed.
+	 * 
+	 * @param size the number of bytes, at most {@link Buffers#SIZE}
+	 * @throws EOFException if the input stream ends before
+	 * @throws IOException if the input stream cannot be read
+	 */
+	private void ensure(int size) throws IOException {
+		if (buffer.remaining() < size) {
+			buffer.compact();
+
+			try {
+				do {
+					int read = is.read(buffer.array(), buffer.position(), buffer.remaining());
+					if (read < 0)
+						throw new EOFException();
+
+					buffer.position(buffer.position() + read);
+				}
+				while (buffer.position() < size);
+			}
+			finally {
+				buffer.flip();
+			}
+		}
 	}
 
 	/**
@@ -87,22 +134,25 @@ public class UnmarshallingContextImpl implements UnmarshallingContext {
 
 	@Override
 	public byte readByte() throws IOException {
-		return ois.readByte();
+		ensure(1);
+		return buffer.get();
 	}
 
 	@Override
 	public char readChar() throws IOException {
-		return ois.readChar();
+		ensure(2);
+		return buffer.getChar();
 	}
 
 	@Override
 	public boolean readBoolean() throws IOException {
-		return ois.readBoolean();
+		return readByte() != 0;
 	}
 
 	@Override
 	public int readInt() throws IOException {
-		return ois.readInt();
+		ensure(4);
+		return buffer.getInt();
 	}
 
 	@Override
@@ -119,38 +169,103 @@ public class UnmarshallingContextImpl implements UnmarshallingContext {
 
 	@Override
 	public short readShort() throws IOException {
-		return ois.readShort();
+		ensure(2);
+		return buffer.getShort();
 	}
 
 	@Override
 	public long readLong() throws IOException {
-		return ois.readLong();
+		ensure(8);
+		return buffer.getLong();
 	}
 
 	@Override
 	public float readFloat() throws IOException {
-		return ois.readFloat();
+		ensure(4);
+		return buffer.getFloat();
 	}
 
 	@Override
 	public double readDouble() throws IOException {
-		return ois.readDouble();
+		ensure(8);
+		return buffer.getDouble();
 	}
 
 	@Override
 	public String readUTF() throws IOException {
-		return ois.readUTF();
+		// we use the modified UTF-8 encoding of java.io.DataInput
+		int encodedLength = readShort() & 0xffff;
+		byte[] bytes = readBytes(encodedLength, "string length mismatch");
+		char[] chars = new char[encodedLength];
+		int length = 0;
+
+		for (int pos = 0; pos < encodedLength; ) {
+			int b = bytes[pos] & 0xff;
+			if (b < 0x80) {
+				chars[length++] = (char) b;
+				pos++;
+			}
+			else if ((b & 0xe0) == 0xc0) {
+				if (pos + 1 >= encodedLength || (bytes[pos + 1] & 0xc0) != 0x80)
+					throw new UTFDataFormatException("malformed string around byte " + pos);
+
+				chars[length++] = (char) (((b & 0x1f) << 6) | (bytes[pos + 1] & 0x3f));
+				pos += 2;
+			}
+			else if ((b & 0xf0) == 0xe0) {
+				if (pos + 2 >= encodedLength || (bytes[pos + 1] & 0xc0) != 0x80 || (bytes[pos + 2] & 0xc0) != 0x80)
+					throw new UTFDataFormatException("malformed string around byte " + pos);
+
+				chars[length++] = (char) (((b & 0x0f) << 12) | ((bytes[pos + 1] & 0x3f) << 6) | (bytes[pos + 2] & 0x3f));
+				pos += 3;
+			}
+			else
+				throw new UTFDataFormatException("malformed string around byte " + pos);
+		}
+
+		return new String(chars, 0, length);
 	}
 
 	@Override
 	public byte[] readBytes(int length, String errorMessage) throws IOException {
-		byte[] bytes = new byte[length];
-		if (length != ois.readNBytes(bytes, 0, length))
+		if (length < 0)
+			throw new IOException(errorMessage);
+
+		int available = Math.min(length, buffer.remaining());
+		if (available == length) {
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return bytes;
+		}
+
+		// the rest is read directly from the input stream, without passing through the buffer;
+		// it is read in chunks, so that the memory allocated is bounded by the bytes actually
+		// available in the stream, also if the length has been provided by an untrusted party
+		byte[] rest = is.readNBytes(length - available);
+		if (rest.length != length - available)
 			throw new IOException(errorMessage);
 
+		byte[] bytes = new byte[length];
+		buffer.get(bytes, 0, available);
+		System.arraycopy(rest, 0, bytes, available, rest.length);
+
 		return bytes;
 	}
 
+	@Override
+	public boolean isExhausted() throws IOException {
+		if (buffer.hasRemaining())
+			return false;
+
+		try {
+			ensure(1);
+			return false;
+		}
+		catch (EOFException e) {
+			return true;
+		}
+	}
+
 	@Override
 	public String readStringShared() throws IOException {
 		int selector = readByte();
@@ -177,7 +292,14 @@ public class UnmarshallingContextImpl implements UnmarshallingContext {
 		case 2: return BigInteger.valueOf(readLong());
 		case 3: {
 			int numBytes = readCompactInt();
-			return new BigInteger(new String(readBytes(numBytes, "BigInteger length mismatch")));
+			if (numBytes == 0) {
+				// two's-complement representation
+				numBytes = readCompactInt();
+				return new BigInteger(readBytes(numBytes, "BigInteger length mismatch"));
+			}
+			else
+				// decimal representation, written by previous versions
+				return new BigInteger(new String(readBytes(numBytes, "BigInteger length mismatch")));
 		}
 		default: {
 			if (selector - 4 < 0)
@@ -190,6 +312,10 @@ public class UnmarshallingContextImpl implements UnmarshallingContext {
 
 	@Override
 	public void close() throws IOException {
-		ois.close();
+		if (buffer != null) {
+			BUFFERS.release(buffer);
+			buffer = null;
+			is.close();
+		}
 	}
 }
\ No newline at end of file
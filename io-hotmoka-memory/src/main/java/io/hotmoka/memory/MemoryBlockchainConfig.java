@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.memory;
 
+import java.math.BigInteger;
+
 import io.hotmoka.annotations.Immutable;
 import io.hotmoka.local.Config;
 
@@ -31,16 +33,63 @@ public class MemoryBlockchainConfig extends Config {
 	 */
 	public final int transactionsPerBlock;
 
+	/**
+	 * The gas after which a block gets closed, computed as the sum of the gas limits
+	 * of its requests. If zero, blocks are not closed because of their gas.
+	 * It defaults to zero.
+	 */
+	public final BigInteger maxGasPerBlock;
+
+	/**
+	 * The maximal time, in milliseconds, that a block remains open after its first request
+	 * has been delivered. If zero, blocks are not closed because of time.
+	 * It defaults to zero.
+	 */
+	public final long maxBlockLatency;
+
+	/**
+	 * True if and only if requests and responses are appended to a segmented log,
+	 * rather than being written into a directory for each transaction.
+	 * It defaults to false.
+	 */
+	public final boolean appendOnlyLog;
+
+	/**
+	 * The size, in bytes, after which a segment of the log gets closed and a new one is started.
+	 * It is only relevant if {@link #appendOnlyLog} holds. It defaults to 64 megabytes.
+	 */
+	public final long segmentSize;
+
+	/**
+	 * True if and only if a human-readable dump of requests and responses is written
+	 * into a directory for each transaction. This is only useful for debugging.
+	 * It defaults to true.
+	 */
+	public final boolean textDumps;
+
 	/**
 	 * Full constructor for the builder pattern.
 	 * 
 	 * @param transactionsPerBlock the number of transactions that fit inside a block.
 	 *                             It defaults to 5.
+	 * @param maxGasPerBlock the gas after which a block gets closed; zero means no limit. It defaults to zero
+	 * @param maxBlockLatency the time, in milliseconds, after which a block gets closed; zero means no limit.
+	 *                        It defaults to zero
+	 * @param appendOnlyLog true if and only if requests and responses are appended to a segmented log.
+	 *                      It defaults to false.
+	 * @param segmentSize the size, in bytes, of the segments of the log. It defaults to 64 megabytes
+	 * @param textDumps true if and only if a human-readable dump of requests and responses is written.
+	 *                  It defaults to true.
 	 */
-	protected MemoryBlockchainConfig(io.hotmoka.local.Config superConfig, int transactionsPerBlock) {
+	protected MemoryBlockchainConfig(io.hotmoka.local.Config superConfig, int transactionsPerBlock, BigInteger maxGasPerBlock, long maxBlockLatency, boolean appendOnlyLog, long segmentSize, boolean textDumps) {
 		super(superConfig);
 
 		this.transactionsPerBlock = transactionsPerBlock;
+		this.maxGasPerBlock = maxGasPerBlock;
+		this.maxBlockLatency = maxBlockLatency;
+		this.appendOnlyLog = appendOnlyLog;
+		this.segmentSize = segmentSize;
+		this.textDumps = textDumps;
 	}
 
 	/**
@@ -53,9 +102,34 @@ public class MemoryBlockchainConfig extends Config {
 		 */
 		private int transactionsPerBlock = 5;
 
+		/**
+		 * The gas after which a block gets closed; zero means no limit.
+		 */
+		private BigInteger maxGasPerBlock = BigInteger.ZERO;
+
+		/**
+		 * The time, in milliseconds, after which a block gets closed; zero means no limit.
+		 */
+		private long maxBlockLatency = 0L;
+
+		/**
+		 * True if and only if requests and responses are appended to a segmented log.
+		 */
+		private boolean appendOnlyLog = false;
+
+		/**
+		 * The size, in bytes, of the segments of the log.
+		 */
+		private long segmentSize = 64L * 1024 * 1024;
+
+		/**
+		 * True if and only if a human-readable dump of requests and responses is written.
+		 */
+		private boolean textDumps = true;
+
 		@Override
 		public MemoryBlockchainConfig build() {
-			return new MemoryBlockchainConfig(super.build(), transactionsPerBlock);
+			return new MemoryBlockchainConfig(super.build(), transactionsPerBlock, maxGasPerBlock, maxBlockLatency, appendOnlyLog, segmentSize, textDumps);
 		}
 
 		/**
@@ -70,6 +144,71 @@ public class MemoryBlockchainConfig extends Config {
 			return this;
 		}
 
+		/**
+		 * Sets the gas after which a block gets closed, computed as the sum of the gas limits
+		 * of its requests. Zero means that blocks are not closed because of their gas.
+		 * It defaults to zero.
+		 * 
+		 * @param maxGasPerBlock the gas
+		 * @return this builder
+		 */
+		public Builder setMaxGasPerBlock(BigInteger maxGasPerBlock) {
+			this.maxGasPerBlock = maxGasPerBlock;
+			return this;
+		}
+
+		/**
+		 * Sets the maximal time, in milliseconds, that a block remains open after its first request
+		 * has been delivered. Zero means that blocks are not closed because of time.
+		 * It defaults to zero.
+		 * 
+		 * @param maxBlockLatency the time
+		 * @return this builder
+		 */
+		public Builder setMaxBlockLatency(long maxBlockLatency) {
+			this.maxBlockLatency = maxBlockLatency;
+			return this;
+		}
+
+		/**
+		 * Sets whether requests and responses are appended to a segmented log,
+		 * rather than being written into a directory for each transaction.
+		 * The log avoids the creation of many small files, hence it is faster
+		 * when many transactions get executed. It defaults to false.
+		 * 
+		 * @param appendOnlyLog true if and only if the log must be used
+		 * @return this builder
+		 */
+		public Builder setAppendOnlyLog(boolean appendOnlyLog) {
+			this.appendOnlyLog = appendOnlyLog;
+			return this;
+		}
+
+		/**
+		 * Sets the size, in bytes, after which a segment of the log gets closed and a new one is started.
+		 * It defaults to 64 megabytes.
+		 * 
+		 * @param segmentSize the size of the segments
+		 * @return this builder
+		 */
+		public Builder setSegmentSize(long segmentSize) {
+			this.segmentSize = segmentSize;
+			return this;
+		}
+
+		/**
+		 * Sets whether a human-readable dump of requests and responses is written
+		 * into a directory for each transaction. This is only useful for debugging.
+		 * It defaults to true.
+		 * 
+		 * @param textDumps true if and only if the dumps must be written
+		 * @return this builder
+		 */
+		public Builder setTextDumps(boolean textDumps) {
+			this.textDumps = textDumps;
+			return this;
+		}
+
 		@Override
 		protected Builder getThis() {
 			return this;
@@ -17,12 +17,14 @@ limitations under the License.
 package io.hotmoka.memory.internal;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.hotmoka.annotations.ThreadSafe;
 import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.nodes.NodeInfo;
+import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.responses.TransactionResponseWithEvents;
@@ -103,6 +105,12 @@ public class MemoryBlockchainImpl extends AbstractLocalNode<MemoryBlockchainConf
 		notifyEventsOf(response);
 	}
 
+	@Override
+	protected void scheduleForNotificationOfOutcome(TransactionReference reference) {
+		// immediate notification, since there is no commit
+		notifyOutcomeOf(reference);
+	}
+
 	private class MemoryBlockchainInternalImpl implements MemoryBlockchainInternal {
 
 		@Override
@@ -115,11 +123,21 @@ public class MemoryBlockchainImpl extends AbstractLocalNode<MemoryBlockchainConf
 			MemoryBlockchainImpl.this.checkTransaction(request);
 		}
 
+		@Override
+		public void verifySignatures(List<TransactionRequest<?>> requests) {
+			MemoryBlockchainImpl.this.verifySignatures(requests);
+		}
+
 		@Override
 		public TransactionResponse deliverTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
 			return MemoryBlockchainImpl.this.deliverTransaction(request);
 		}
 
+		@Override
+		public void deliverTransactions(List<TransactionRequest<?>> requests) {
+			MemoryBlockchainImpl.this.deliverTransactions(requests);
+		}
+
 		@Override
 		public boolean rewardValidators(String behaving, String misbehaving) {
 			return MemoryBlockchainImpl.this.rewardValidators(behaving, misbehaving);
@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.memory.internal;
 
+import java.util.List;
+
 import io.hotmoka.beans.TransactionRejectedException;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
@@ -42,6 +44,14 @@ public interface MemoryBlockchainInternal {
 	 */
 	void checkTransaction(TransactionRequest<?> request) throws TransactionRejectedException;
 
+	/**
+	 * Verifies the signatures of the given requests in parallel, so that their subsequent
+	 * check finds them already verified. This does not reject any request.
+	 * 
+	 * @param requests the requests
+	 */
+	void verifySignatures(List<TransactionRequest<?>> requests);
+
 	/**
 	 * Builds a response for the given request and adds it to the store of the node.
 	 * 
@@ -52,6 +62,15 @@ public interface MemoryBlockchainInternal {
 	 */
 	TransactionResponse deliverTransaction(TransactionRequest<?> request) throws TransactionRejectedException;
 
+	/**
+	 * Builds the responses for the given requests and adds them to the store of the node,
+	 * in order. The requests are executed speculatively in parallel, whenever possible.
+	 * Rejected requests are stored as errors but their rejection is not propagated.
+	 * 
+	 * @param requests the requests, in order of delivery
+	 */
+	void deliverTransactions(List<TransactionRequest<?>> requests);
+
 	/**
 	 * Rewards the validators with the cost of the gas consumed by the
 	 * transactions in the last block. This is meaningful only if the
@@ -16,20 +16,48 @@ limitations under the License.
 
 package io.hotmoka.memory.internal;
 
+import static java.math.BigInteger.ZERO;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.requests.NonInitialTransactionRequest;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.memory.MemoryBlockchainConfig;
 
 /**
  * A mempool receives transaction requests and schedules them for execution,
- * respecting the order in which they have been proposed.
+ * respecting the order in which they have been proposed. Requests are checked in parallel,
+ * but they are executed in the order of admission. Blocks are closed when they contain
+ * enough transactions, or enough gas, or have been open for enough time, according to the
+ * configuration of the node.
  */
 class Mempool {
 	public final static int MAX_CAPACITY = 200_000;
+
+	/**
+	 * The maximal number of requests whose signatures get verified together,
+	 * before being checked. This is kept smaller than the cache of the verified signatures.
+	 */
+	private final static int MAX_CHECK_BATCH = 256;
+
+	/**
+	 * The maximal time, in milliseconds, that a request waits for room in a full mempool,
+	 * before being refused.
+	 */
+	private final static long MAX_ADMISSION_WAIT = 10_000L;
+
 	private final static Logger logger = Logger.getLogger(Mempool.class.getName());
 
 	/**
@@ -47,6 +75,11 @@ class Mempool {
 	 */
 	private final MemoryBlockchainInternal node;
 
+	/**
+	 * The executor of the checks of the requests.
+	 */
+	private final ExecutorService checkers;
+
 	/**
 	 * The thread that checks requests when they are submitted.
 	 */
@@ -64,6 +97,7 @@ class Mempool {
 	 */
 	Mempool(MemoryBlockchainInternal node) {
 		this.node = node;
+		this.checkers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 		this.checker = new Thread(this::check);
 		this.checker.start();
 		this.deliverer = new Thread(this::deliver);
@@ -72,12 +106,21 @@ class Mempool {
 
 	/**
 	 * Adds a request to the mempool. Eventually, it will be checked and executed.
+	 * If the mempool is full, this method waits until room becomes available,
+	 * so that clients cannot submit requests faster than they get executed.
 	 * 
 	 * @param request the request
+	 * @throws RuntimeException if the mempool remains full for too much time
 	 */
 	public void add(TransactionRequest<?> request) {
-		if (!mempool.offer(request))
-			throw new RuntimeException("mempool overflow");
+		try {
+			if (!mempool.offer(request, MAX_ADMISSION_WAIT, TimeUnit.MILLISECONDS))
+				throw new RuntimeException("mempool overflow");
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("interrupted while waiting for room in the mempool", e);
+		}
 	}
 
 	/**
@@ -86,61 +129,176 @@ class Mempool {
 	public void stop() {
 		checker.interrupt();
 		deliverer.interrupt();
+		checkers.shutdownNow();
 	}
 
 	/**
-	 * The body of the checking thread. Its pops a request from the mempool and checks it.
+	 * The body of the checking thread. Its pops the requests available in the mempool,
+	 * verifies their signatures in parallel and then checks them, in parallel as well.
+	 * The requests that pass their check are passed to the deliverer in the order of admission,
+	 * which keeps the order of the requests of each caller.
 	 */
 	private void check() {
+		List<TransactionRequest<?>> batch = new ArrayList<>();
+		List<Future<Boolean>> checks = new ArrayList<>();
+
 		while (!Thread.currentThread().isInterrupted()) {
 			try {
-				TransactionRequest<?> current = mempool.take();
+				batch.add(mempool.take());
+				// we add the other requests already available, so that their signatures get verified in parallel
+				mempool.drainTo(batch, MAX_CHECK_BATCH - 1);
 
 				try {
-					node.checkTransaction(current);
-					if (!checkedMempool.offer(current)) {
-						deliverer.interrupt();
-						throw new IllegalStateException("mempool overflow");
-					}
+					node.verifySignatures(batch);
 				}
-				catch (TransactionRejectedException e) {
-					// already logged
+				catch (Throwable t) {
+					logger.log(Level.WARNING, "Failed to verify the signatures of transaction requests", t);
 				}
-	            catch (Throwable t) {
-	            	logger.log(Level.WARNING, "Failed to check transaction request", t);
-	    		}
+
+				for (TransactionRequest<?> current: batch)
+					checks.add(checkers.submit(() -> isValid(current)));
+
+				for (int pos = 0; pos < batch.size(); pos++)
+					if (checks.get(pos).get())
+						// this waits if the deliverer is late, so that the mempool fills up and admission slows down
+						checkedMempool.put(batch.get(pos));
 			}
 			catch (InterruptedException e) {
 				return;
 			}
+			catch (ExecutionException e) {
+				// impossible, since isValid() catches all exceptions
+				logger.log(Level.WARNING, "Failed to check transaction requests", e);
+			}
+			finally {
+				batch.clear();
+				checks.clear();
+			}
+		}
+	}
+
+	/**
+	 * Checks the given request.
+	 * 
+	 * @param request the request
+	 * @return true if and only if the request passed its check
+	 */
+	private boolean isValid(TransactionRequest<?> request) {
+		try {
+			node.checkTransaction(request);
+			return true;
+		}
+		catch (TransactionRejectedException e) {
+			// already logged
+			return false;
+		}
+		catch (Throwable t) {
+			logger.log(Level.WARNING, "Failed to check transaction request", t);
+			return false;
 		}
 	}
 
 	/**
-	 * The body of the thread that executes requests. Its pops a request from the checked mempool and executes it.
+	 * The body of the thread that executes requests. Its pops the requests from the checked mempool,
+	 * as soon as they are available, and executes them, in parallel whenever possible.
+	 * When the current block is full, or has been open for too much time, it closes
+	 * the block by rewarding the validators. If rewarding is not performed, the block remains open
+	 * and its closure is attempted again later.
 	 */
 	private void deliver() {
-		int counter = 0;
-		int transactionsPerBlock = node.getConfig().transactionsPerBlock;
+		MemoryBlockchainConfig config = node.getConfig();
+		// the last transaction of a block is for rewarding the validators and updating the gas price
+		int maxRequestsPerBlock = config.transactionsPerBlock - 1;
+		List<TransactionRequest<?>> requests = new ArrayList<>();
+		int requestsInBlock = 0;
+		BigInteger gasInBlock = ZERO;
+		long deadline = 0L;
 
 		while (!Thread.currentThread().isInterrupted()) {
 			try {
-				TransactionRequest<?> current = checkedMempool.take();
+				TransactionRequest<?> request;
+				if (requestsInBlock == 0 || config.maxBlockLatency <= 0L)
+					request = checkedMempool.take();
+				else
+					request = checkedMempool.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
 
-				try {
-					node.deliverTransaction(current);
-					counter = (counter + 1) % transactionsPerBlock;
-					// the last transaction of a block is for rewarding the validators and updating the gas price
-					if (counter == transactionsPerBlock - 1 && node.rewardValidators("", ""))
-						counter = 0;
+				boolean timedOut = request == null;
+
+				if (!timedOut) {
+					if (requestsInBlock == 0)
+						deadline = System.currentTimeMillis() + config.maxBlockLatency;
+
+					// we add the other requests already checked, up to the end of the current block
+					TransactionRequest<?> next = request;
+					do {
+						requests.add(next);
+						gasInBlock = gasInBlock.add(gasOf(next));
+					}
+					while (requestsInBlock + requests.size() < maxRequestsPerBlock && !isFull(gasInBlock, config)
+						&& (next = checkedMempool.poll()) != null);
+
+					try {
+						node.deliverTransactions(requests);
+					}
+					catch (Throwable t) {
+						logger.log(Level.WARNING, "Failed to deliver transaction requests", t);
+					}
+
+					requestsInBlock += requests.size();
+					requests.clear();
+				}
+
+				if (timedOut || requestsInBlock >= maxRequestsPerBlock || isFull(gasInBlock, config)
+						|| (config.maxBlockLatency > 0L && System.currentTimeMillis() >= deadline)) {
+
+					if (rewardValidators()) {
+						requestsInBlock = 0;
+						gasInBlock = ZERO;
+					}
+					else
+						// the block remains open: we try to close it again at the next request or after another latency period
+						deadline = System.currentTimeMillis() + config.maxBlockLatency;
 				}
-	            catch (Throwable t) {
-	            	logger.log(Level.WARNING, "Failed to deliver transaction request", t);
-	    		}
 			}
 			catch (InterruptedException e) {
 				return;
 			}
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Rewards the validators, which closes the current block.
+	 * 
+	 * @return true if and only if rewarding was performed
+	 */
+	private boolean rewardValidators() {
+		try {
+			return node.rewardValidators("", "");
+		}
+		catch (Throwable t) {
+			logger.log(Level.WARNING, "Failed to reward the validators", t);
+			return false;
+		}
+	}
+
+	/**
+	 * Yields the gas that the given request allows to consume.
+	 * 
+	 * @param request the request
+	 * @return the gas
+	 */
+	private static BigInteger gasOf(TransactionRequest<?> request) {
+		return request instanceof NonInitialTransactionRequest<?> ? ((NonInitialTransactionRequest<?>) request).gasLimit : ZERO;
+	}
+
+	/**
+	 * Determines if a block with the given gas is full.
+	 * 
+	 * @param gasInBlock the gas of the block
+	 * @param config the configuration of the node
+	 * @return true if and only if the block is full
+	 */
+	private static boolean isFull(BigInteger gasInBlock, MemoryBlockchainConfig config) {
+		return config.maxGasPerBlock.signum() > 0 && gasInBlock.compareTo(config.maxGasPerBlock) >= 0;
+	}
+}
@@ -0,0 +1,172 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.memory.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.hotmoka.annotations.Immutable;
+import io.hotmoka.annotations.ThreadSafe;
+
+/**
+ * An append-only log of byte records, split into segment files of bounded size.
+ * Records are appended at the end of the last segment and read back through
+ * their position, that the caller keeps in memory. Reads do not block appends.
+ */
+@ThreadSafe
+class SegmentedLog implements AutoCloseable {
+
+	/**
+	 * The directory where the segments are written.
+	 */
+	private final Path dir;
+
+	/**
+	 * The size after which a segment gets closed and a new one is started.
+	 */
+	private final long segmentSize;
+
+	/**
+	 * The channels of the segments, in order of creation. Only the last one gets appended to.
+	 */
+	private final List<FileChannel> segments = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The size of the last segment.
+	 */
+	private long sizeOfLastSegment;
+
+	/**
+	 * Creates an empty log in the given directory.
+	 *
+	 * @param dir the directory; it gets created if missing
+	 * @param segmentSize the size after which a segment gets closed and a new one is started
+	 * @throws IOException if the directory or the first segment cannot be created
+	 */
+	SegmentedLog(Path dir, long segmentSize) throws IOException {
+		this.dir = dir;
+		this.segmentSize = segmentSize;
+
+		Files.createDirectories(dir);
+		startSegment();
+	}
+
+	/**
+	 * The position of a record inside a log.
+	 */
+	@Immutable
+	static class Position {
+
+		/**
+		 * The progressive number of the segment holding the record.
+		 */
+		private final int segment;
+
+		/**
+		 * The offset of the record inside its segment.
+		 */
+		private final long offset;
+
+		/**
+		 * The length of the record.
+		 */
+		private final int length;
+
+		private Position(int segment, long offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * Appends the given record at the end of this log.
+	 *
+	 * @param record the record
+	 * @return the position where the record has been written
+	 * @throws IOException if the record could not be written
+	 */
+	synchronized Position append(byte[] record) throws IOException {
+		if (sizeOfLastSegment > 0L && sizeOfLastSegment + record.length > segmentSize)
+			startSegment();
+
+		int segment = segments.size() - 1;
+		FileChannel channel = segments.get(segment);
+		long offset = sizeOfLastSegment;
+
+		ByteBuffer buffer = ByteBuffer.wrap(record);
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+
+		sizeOfLastSegment += record.length;
+
+		return new Position(segment, offset, record.length);
+	}
+
+	/**
+	 * Reads the record at the given position of this log.
+	 *
+	 * @param position the position, as previously yielded by {@link #append(byte[])}
+	 * @return the record
+	 * @throws IOException if the record could not be read
+	 */
+	byte[] read(Position position) throws IOException {
+		FileChannel channel = segments.get(position.segment);
+		ByteBuffer buffer = ByteBuffer.allocate(position.length);
+
+		// positional reads do not modify the position of the channel, hence they can run concurrently with appends
+		while (buffer.hasRemaining())
+			if (channel.read(buffer, position.offset + buffer.position()) < 0)
+				throw new IOException("truncated segment " + position.segment + " of the log");
+
+		return buffer.array();
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException exception = null;
+
+		for (FileChannel channel: segments) {
+			try {
+				channel.close();
+			}
+			catch (IOException e) {
+				exception = e;
+			}
+		}
+
+		if (exception != null)
+			throw exception;
+	}
+
+	/**
+	 * Starts a new segment, that becomes the last one.
+	 *
+	 * @throws IOException if the segment cannot be created
+	 */
+	private void startSegment() throws IOException {
+		Path path = dir.resolve("segment-" + segments.size() + ".log");
+		segments.add(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE));
+		sizeOfLastSegment = 0L;
+	}
+}
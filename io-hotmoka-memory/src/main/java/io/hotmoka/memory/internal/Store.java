@@ -16,6 +16,7 @@ limitations under the License.
 
 package io.hotmoka.memory.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -37,6 +38,7 @@ import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.local.AbstractStore;
 import io.hotmoka.memory.MemoryBlockchainConfig;
@@ -44,7 +46,9 @@ import io.hotmoka.memory.MemoryBlockchainConfig;
 /**
  * The store of the memory blockchain. It is not transactional and just writes
  * everything immediately into files. It keeps responses into persistent memory,
- * while the histories are kept in RAM.
+ * while the histories and the states of the objects are kept in RAM.
+ * Requests and responses are written either into a directory for each transaction
+ * or, if the configuration requires it, appended to a segmented log, whose index is kept in RAM.
  */
 @ThreadSafe
 class Store extends AbstractStore<MemoryBlockchainConfig> {
@@ -55,6 +59,12 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	 */
 	private final ConcurrentMap<StorageReference, TransactionReference[]> histories;
 
+	/**
+	 * The current state of the objects created in blockchain. In a real implementation, this must
+	 * be stored in a persistent state.
+	 */
+	private final ConcurrentMap<StorageReference, Update[]> states;
+
 	/**
 	 * The errors generated by each transaction (if any). In a real implementation, this must
 	 * be stored in a persistent memory such as a blockchain.
@@ -79,6 +89,22 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	 */
 	private final ConcurrentMap<TransactionReference, Integer> progressive;
 
+	/**
+	 * The log where requests and responses are appended, if the configuration requires it;
+	 * otherwise this is {@code null}.
+	 */
+	private final SegmentedLog log;
+
+	/**
+	 * The position of each request inside {@link #log}.
+	 */
+	private final ConcurrentMap<TransactionReference, SegmentedLog.Position> requestsInLog;
+
+	/**
+	 * The position of each response inside {@link #log}.
+	 */
+	private final ConcurrentMap<TransactionReference, SegmentedLog.Position> responsesInLog;
+
 	/**
      * Creates a state for a node.
      * 
@@ -88,8 +114,19 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
     	super(node);
 
     	this.histories = new ConcurrentHashMap<>();
+    	this.states = new ConcurrentHashMap<>();
     	this.errors = new ConcurrentHashMap<>();
     	this.progressive = new ConcurrentHashMap<>();
+    	this.requestsInLog = new ConcurrentHashMap<>();
+    	this.responsesInLog = new ConcurrentHashMap<>();
+
+    	try {
+    		this.log = config.appendOnlyLog ? new SegmentedLog(config.dir.resolve("log"), config.segmentSize) : null;
+    	}
+    	catch (IOException e) {
+    		logger.log(Level.WARNING, "unexpected exception", e);
+    		throw new RuntimeException("unexpected exception", e);
+    	}
     }
 
     /**
@@ -101,10 +138,28 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
     	super(parent);
 
     	this.histories = parent.histories;
+    	this.states = parent.states;
     	this.errors = parent.errors;
     	this.manifest.set(parent.manifest.get());
     	this.transactionsCount.set(parent.transactionsCount.get());
     	this.progressive = parent.progressive;
+    	this.log = parent.log;
+    	this.requestsInLog = parent.requestsInLog;
+    	this.responsesInLog = parent.responsesInLog;
+    }
+
+    @Override
+    public void close() {
+    	if (log != null) {
+    		try {
+    			log.close();
+    		}
+    		catch (IOException e) {
+    			logger.log(Level.WARNING, "failed to close the log", e);
+    		}
+    	}
+
+    	super.close();
     }
 
     @Override
@@ -114,6 +169,22 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 
 	@Override
     public Optional<TransactionResponse> getResponse(TransactionReference reference) {
+		if (log != null) {
+			try {
+				SegmentedLog.Position position = responsesInLog.get(reference);
+				if (position == null)
+					return Optional.empty();
+
+				try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(log.read(position)))) {
+					return Optional.of(TransactionResponse.from(context));
+				}
+			}
+			catch (IOException e) {
+				logger.log(Level.WARNING, "failed to read the response of " + reference + " from the log", e);
+				return Optional.empty();
+			}
+		}
+
 		synchronized (lock) {
     		try {
     			Path response = getPathFor(reference, "response");
@@ -148,6 +219,17 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 		return getHistory(object);
 	}
 
+	@Override
+	public Stream<Update> getState(StorageReference object) {
+		Update[] state = states.get(object);
+		return state == null ? Stream.empty() : Stream.of(state);
+	}
+
+	@Override
+	public Stream<Update> getStateUncommitted(StorageReference object) {
+		return getState(object);
+	}
+
 	@Override
 	public Optional<StorageReference> getManifest() {
 		return Optional.ofNullable(manifest.get());
@@ -160,6 +242,22 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 
 	@Override
 	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
+		if (log != null) {
+			try {
+				SegmentedLog.Position position = requestsInLog.get(reference);
+				if (position == null)
+					return Optional.empty();
+
+				try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(log.read(position)))) {
+					return Optional.of(TransactionRequest.from(context));
+				}
+			}
+			catch (IOException e) {
+				logger.log(Level.WARNING, "failed to read the request of " + reference + " from the log", e);
+				return Optional.empty();
+			}
+		}
+
 		try {
 			Path response = getPathFor(reference, "request");
 			try (var context = new BeanUnmarshallingContext(Files.newInputStream(response))) {
@@ -175,25 +273,29 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	protected void setResponse(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
 		try {
 			progressive.computeIfAbsent(reference, _reference -> transactionsCount.getAndIncrement());
-			Path requestPath = getPathFor(reference, "request");
-			Path parent = requestPath.getParent();
-			ensureDeleted(parent);
-			Files.createDirectories(parent);
 
-			try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "response.txt")))) {
-				output.print(response);
+			if (log != null) {
+				requestsInLog.put(reference, log.append(request.toByteArray()));
+				responsesInLog.put(reference, log.append(response.toByteArray()));
 			}
-
-			try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "request.txt")))) {
-				output.print(request);
-			}
-
-			try (var context = new BeanMarshallingContext(Files.newOutputStream(requestPath))) {
-				request.into(context);
+			else {
+				Path requestPath = getPathFor(reference, "request");
+				Path parent = requestPath.getParent();
+				ensureDeleted(parent);
+				Files.createDirectories(parent);
+
+				try (var context = new BeanMarshallingContext(Files.newOutputStream(requestPath))) {
+					request.into(context);
+				}
+
+				try (var context = new BeanMarshallingContext(Files.newOutputStream(getPathFor(reference, "response")))) {
+					response.into(context);
+				}
 			}
 
-			try (var context = new BeanMarshallingContext(Files.newOutputStream(getPathFor(reference, "response")))) {
-				response.into(context);
+			if (config.textDumps) {
+				dump(reference, "request.txt", request);
+				dump(reference, "response.txt", response);
 			}
 		}
 		catch (IOException e) {
@@ -207,6 +309,11 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 		histories.put(object, history.toArray(TransactionReference[]::new));
 	}
 
+	@Override
+	protected void setState(StorageReference object, Stream<Update> state) {
+		states.put(object, state.toArray(Update[]::new));
+	}
+
 	@Override
 	protected void setManifest(StorageReference manifest) {
 		this.manifest.set(manifest);
@@ -216,18 +323,24 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 	public void push(TransactionReference reference, TransactionRequest<?> request, String errorMessage) {
 		try {
 			progressive.computeIfAbsent(reference, _reference -> transactionsCount.getAndIncrement());
-			Path requestPath = getPathFor(reference, "request");
-			Path parent = requestPath.getParent();
-			ensureDeleted(parent);
-			Files.createDirectories(parent);
 
-			try (var output = new PrintWriter(Files.newBufferedWriter(getPathFor(reference, "request.txt")))) {
-				output.print(request);
+			if (log != null) {
+				requestsInLog.put(reference, log.append(request.toByteArray()));
+				responsesInLog.remove(reference);
 			}
-
-			try (var context = new BeanMarshallingContext(Files.newOutputStream(requestPath))) {
-				request.into(context);
+			else {
+				Path requestPath = getPathFor(reference, "request");
+				Path parent = requestPath.getParent();
+				ensureDeleted(parent);
+				Files.createDirectories(parent);
+
+				try (var context = new BeanMarshallingContext(Files.newOutputStream(requestPath))) {
+					request.into(context);
+				}
 			}
+
+			if (config.textDumps)
+				dump(reference, "request.txt", request);
 		}
 		catch (IOException e) {
 			logger.log(Level.WARNING, "unexpected exception", e);
@@ -253,6 +366,23 @@ class Store extends AbstractStore<MemoryBlockchainConfig> {
 		return config.dir.resolve("b" + progressive / config.transactionsPerBlock).resolve(progressive % config.transactionsPerBlock + "-" + reference).resolve(name);
 	}
 
+	/**
+	 * Writes a human-readable dump of the given object inside the directory for the given transaction.
+	 * 
+	 * @param reference the transaction reference
+	 * @param name the name of the file of the dump
+	 * @param object the object to dump
+	 * @throws IOException if a disk error occurs
+	 */
+	private void dump(TransactionReference reference, String name, Object object) throws IOException {
+		Path path = getPathFor(reference, name);
+		Files.createDirectories(path.getParent());
+
+		try (var output = new PrintWriter(Files.newBufferedWriter(path))) {
+			output.print(object);
+		}
+	}
+
 	/**
 	 * Deletes the given directory, recursively, if it exists.
 	 * 
@@ -0,0 +1,341 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.memory.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.references.LocalTransactionReference;
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.signatures.ConstructorSignature;
+import io.hotmoka.beans.types.ClassType;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.memory.MemoryBlockchainConfig;
+
+/**
+ * Tests for the mempool of the memory blockchain.
+ */
+class Mempools {
+
+	/**
+	 * The maximal time, in milliseconds, that a test waits for the mempool.
+	 */
+	private final static long TIMEOUT = 10_000L;
+
+	@Test
+	@DisplayName("blocks are closed when they contain enough transactions")
+	void blocksAreCutBySize() throws InterruptedException {
+		// three requests per block, plus the reward of the validators
+		var node = new Node(new MemoryBlockchainConfig.Builder().setTransactionsPerBlock(4).build());
+		var mempool = new Mempool(node);
+
+		try {
+			for (int nonce = 0; nonce < 7; nonce++)
+				mempool.add(request(nonce, 1_000));
+
+			node.waitForDeliveries(7);
+			// the last request does not fill its block, that remains open
+			Thread.sleep(200L);
+			assertEquals(List.of("D", "D", "D", "R", "D", "D", "D", "R", "D"), node.events());
+		}
+		finally {
+			mempool.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("a block is not closed just because there are no more requests to deliver")
+	void partialBlocksRemainOpen() throws InterruptedException {
+		var node = new Node(new MemoryBlockchainConfig.Builder().setTransactionsPerBlock(4).build());
+		var mempool = new Mempool(node);
+
+		try {
+			mempool.add(request(0, 1_000));
+			node.waitForDeliveries(1);
+			Thread.sleep(200L);
+			mempool.add(request(1, 1_000));
+			node.waitForDeliveries(2);
+			Thread.sleep(200L);
+			mempool.add(request(2, 1_000));
+			node.waitForDeliveries(3);
+			node.waitForRewards(1);
+			assertEquals(List.of("D", "D", "D", "R"), node.events());
+		}
+		finally {
+			mempool.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("blocks are closed when they contain enough gas")
+	void blocksAreCutByGas() throws InterruptedException {
+		var config = new MemoryBlockchainConfig.Builder()
+			.setTransactionsPerBlock(100)
+			.setMaxGasPerBlock(BigInteger.valueOf(5_000))
+			.build();
+
+		var node = new Node(config);
+		var mempool = new Mempool(node);
+
+		try {
+			mempool.add(request(0, 2_000));
+			mempool.add(request(1, 2_000));
+			mempool.add(request(2, 2_000));
+			mempool.add(request(3, 4_000));
+			mempool.add(request(4, 1_000));
+			node.waitForDeliveries(5);
+			node.waitForRewards(2);
+			Thread.sleep(200L);
+			assertEquals(List.of("D", "D", "D", "R", "D", "D", "R"), node.events());
+		}
+		finally {
+			mempool.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("blocks are closed when they have been open for enough time")
+	void blocksAreCutByLatency() throws InterruptedException {
+		var config = new MemoryBlockchainConfig.Builder()
+			.setTransactionsPerBlock(100)
+			.setMaxBlockLatency(300L)
+			.build();
+
+		var node = new Node(config);
+		var mempool = new Mempool(node);
+
+		try {
+			long start = System.currentTimeMillis();
+			mempool.add(request(0, 1_000));
+			mempool.add(request(1, 1_000));
+			node.waitForRewards(1);
+			assertTrue(System.currentTimeMillis() - start >= 300L);
+			assertEquals(List.of("D", "D", "R"), node.events());
+		}
+		finally {
+			mempool.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("a block remains open if the validators could not be rewarded")
+	void blocksRemainOpenWithoutReward() throws InterruptedException {
+		var node = new Node(new MemoryBlockchainConfig.Builder().setTransactionsPerBlock(3).build());
+		// the first reward is not performed, as before the installation of the manifest
+		node.failedRewards = 1;
+		var mempool = new Mempool(node);
+
+		try {
+			for (int nonce = 0; nonce < 4; nonce++)
+				mempool.add(request(nonce, 1_000));
+
+			node.waitForDeliveries(4);
+			Thread.sleep(200L);
+			// the block of the first two requests is closed only after the third request
+			assertEquals(List.of("D", "D", "D", "R", "D"), node.events());
+		}
+		finally {
+			mempool.stop();
+		}
+	}
+
+	@Test
+	@DisplayName("requests are checked in parallel but delivered in the order of admission")
+	void requestsAreCheckedInParallel() throws InterruptedException {
+		var node = new Node(new MemoryBlockchainConfig.Builder().setTransactionsPerBlock(100).build());
+		var mempool = new Mempool(node);
+		var firstCheckStarted = new CountDownLatch(1);
+		var firstCheckCanEnd = new CountDownLatch(1);
+		int parties = Math.min(4, Runtime.getRuntime().availableProcessors());
+		// the checks of the second batch can pass the barrier only if they run in parallel
+		var barrier = new CyclicBarrier(parties);
+
+		node.check = request -> {
+			try {
+				if (request.nonce.signum() == 0) {
+					firstCheckStarted.countDown();
+					return firstCheckCanEnd.await(TIMEOUT, TimeUnit.MILLISECONDS);
+				}
+
+				barrier.await(TIMEOUT, TimeUnit.MILLISECONDS);
+				// odd requests get rejected
+				return !request.nonce.testBit(0);
+			}
+			catch (Exception e) {
+				return false;
+			}
+		};
+
+		try {
+			mempool.add(request(0, 1_000));
+			firstCheckStarted.await(TIMEOUT, TimeUnit.MILLISECONDS);
+
+			// these get accumulated while the first request is being checked, hence they are checked together
+			for (int nonce = 1; nonce <= parties; nonce++)
+				mempool.add(request(nonce, 1_000));
+
+			firstCheckCanEnd.countDown();
+
+			var expected = new ArrayList<BigInteger>();
+			for (int nonce = 0; nonce <= parties; nonce += 2)
+				expected.add(BigInteger.valueOf(nonce));
+
+			node.waitForDeliveries(expected.size());
+			Thread.sleep(200L);
+			assertEquals(expected, node.deliveredNonces());
+			assertEquals(0, barrier.getNumberWaiting());
+			assertFalse(barrier.isBroken());
+		}
+		finally {
+			mempool.stop();
+		}
+	}
+
+	/**
+	 * Yields a request with the given nonce and gas limit.
+	 *
+	 * @param nonce the nonce of the request
+	 * @param gasLimit the gas limit of the request
+	 * @return the request
+	 */
+	private static ConstructorCallTransactionRequest request(int nonce, int gasLimit) {
+		var reference = new LocalTransactionReference("d0e496468c25fca59179885fa7c5ff4f440efbd0e0c96c2426b7997336619882");
+
+		return new ConstructorCallTransactionRequest(new byte[0], new StorageReference(reference, BigInteger.ZERO),
+			BigInteger.valueOf(nonce), "test", BigInteger.valueOf(gasLimit), BigInteger.ONE, reference, new ConstructorSignature(ClassType.EOA));
+	}
+
+	/**
+	 * A node that records the requests delivered to it and the rewards of the validators.
+	 */
+	private static class Node implements MemoryBlockchainInternal {
+		private final MemoryBlockchainConfig config;
+
+		/**
+		 * The events that occurred in this node: "D" for the delivery of a request and
+		 * "R" for the reward of the validators, if performed.
+		 */
+		private final List<String> events = new ArrayList<>();
+
+		/**
+		 * The nonces of the delivered requests, in order of delivery.
+		 */
+		private final List<BigInteger> deliveredNonces = new ArrayList<>();
+
+		/**
+		 * The check of the requests. Requests that do not satisfy it are rejected.
+		 */
+		private volatile Predicate<ConstructorCallTransactionRequest> check = request -> true;
+
+		/**
+		 * The number of rewards that, initially, are not performed.
+		 */
+		private int failedRewards;
+
+		private Node(MemoryBlockchainConfig config) {
+			this.config = config;
+		}
+
+		@Override
+		public MemoryBlockchainConfig getConfig() {
+			return config;
+		}
+
+		@Override
+		public void checkTransaction(TransactionRequest<?> request) throws TransactionRejectedException {
+			if (!check.test((ConstructorCallTransactionRequest) request))
+				throw new TransactionRejectedException("rejected");
+		}
+
+		@Override
+		public void verifySignatures(List<TransactionRequest<?>> requests) {}
+
+		@Override
+		public TransactionResponse deliverTransaction(TransactionRequest<?> request) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void deliverTransactions(List<TransactionRequest<?>> requests) {
+			for (var request: requests) {
+				events.add("D");
+				deliveredNonces.add(((ConstructorCallTransactionRequest) request).nonce);
+			}
+
+			notifyAll();
+		}
+
+		@Override
+		public synchronized boolean rewardValidators(String behaving, String misbehaving) {
+			if (failedRewards > 0) {
+				failedRewards--;
+				return false;
+			}
+
+			events.add("R");
+			notifyAll();
+			return true;
+		}
+
+		private synchronized List<String> events() {
+			return new ArrayList<>(events);
+		}
+
+		private synchronized List<BigInteger> deliveredNonces() {
+			return new ArrayList<>(deliveredNonces);
+		}
+
+		private void waitForDeliveries(int deliveries) throws InterruptedException {
+			waitFor(Set.of("D"), deliveries);
+		}
+
+		private void waitForRewards(int rewards) throws InterruptedException {
+			waitFor(Set.of("R"), rewards);
+		}
+
+		/**
+		 * Waits until the given number of events of the given kinds have occurred.
+		 *
+		 * @param kinds the kinds of the events
+		 * @param count the number of events
+		 */
+		private synchronized void waitFor(Set<String> kinds, int count) throws InterruptedException {
+			long deadline = System.currentTimeMillis() + TIMEOUT;
+			while (events.stream().filter(kinds::contains).count() < count) {
+				long remaining = deadline - System.currentTimeMillis();
+				assertTrue(remaining > 0, "timeout while waiting for the mempool");
+				wait(remaining);
+			}
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.memory.internal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the segmented log of the memory blockchain.
+ */
+class SegmentedLogs {
+
+	@Test
+	@DisplayName("a record that does not fit in the last segment starts a new segment")
+	void newSegmentIsStarted() throws IOException {
+		Path dir = Files.createTempDirectory("hotmoka-segmented-log");
+
+		try (var log = new SegmentedLog(dir, 100L)) {
+			var first = log.append(record(0, 60));
+			assertTrue(Files.exists(dir.resolve("segment-0.log")));
+			assertFalse(Files.exists(dir.resolve("segment-1.log")));
+
+			// 60 + 40 bytes fit exactly in the first segment
+			var second = log.append(record(1, 40));
+			assertFalse(Files.exists(dir.resolve("segment-1.log")));
+
+			var third = log.append(record(2, 1));
+			assertTrue(Files.exists(dir.resolve("segment-1.log")));
+			assertEquals(100L, Files.size(dir.resolve("segment-0.log")));
+
+			// a record larger than a segment is written anyway, into a segment of its own
+			var fourth = log.append(record(3, 250));
+			assertTrue(Files.exists(dir.resolve("segment-2.log")));
+			assertEquals(250L, Files.size(dir.resolve("segment-2.log")));
+			var fifth = log.append(record(4, 10));
+			assertTrue(Files.exists(dir.resolve("segment-3.log")));
+
+			assertArrayEquals(record(0, 60), log.read(first));
+			assertArrayEquals(record(1, 40), log.read(second));
+			assertArrayEquals(record(2, 1), log.read(third));
+			assertArrayEquals(record(3, 250), log.read(fourth));
+			assertArrayEquals(record(4, 10), log.read(fifth));
+		}
+	}
+
+	@Test
+	@DisplayName("records can be read while other records are appended")
+	void readsDuringAppends() throws Exception {
+		final int records = 2000;
+		var positions = new AtomicReferenceArray<SegmentedLog.Position>(records);
+		ExecutorService executors = Executors.newFixedThreadPool(5);
+
+		// small segments, so that many segments get started during the reads
+		try (var log = new SegmentedLog(Files.createTempDirectory("hotmoka-segmented-log"), 1000L)) {
+			Future<?> writer = executors.submit(() -> {
+				for (int num = 0; num < records; num++)
+					positions.set(num, log.append(record(num, 1 + num % 97)));
+
+				return null;
+			});
+
+			var readers = new ArrayList<Future<Integer>>();
+			for (int reader = 0; reader < 4; reader++)
+				readers.add(executors.submit(() -> {
+					int reads = 0;
+					boolean done;
+
+					// each reader reads back the records published so far, until the writer has finished
+					do {
+						done = writer.isDone();
+
+						for (int num = 0; num < records; num++) {
+							var position = positions.get(num);
+							if (position == null)
+								break;
+
+							assertArrayEquals(record(num, 1 + num % 97), log.read(position));
+							reads++;
+						}
+					}
+					while (!done);
+
+					return reads;
+				}));
+
+			writer.get();
+			for (var reader: readers)
+				assertTrue(reader.get() > 0);
+
+			for (int num = 0; num < records; num++)
+				assertArrayEquals(record(num, 1 + num % 97), log.read(positions.get(num)));
+		}
+		finally {
+			executors.shutdownNow();
+		}
+	}
+
+	/**
+	 * Yields a record whose content depends on its progressive number.
+	 *
+	 * @param num the progressive number of the record
+	 * @param length the length of the record
+	 * @return the record
+	 */
+	private static byte[] record(int num, int length) {
+		var record = new byte[length];
+		for (int pos = 0; pos < length; pos++)
+			record[pos] = (byte) (num * 31 + pos);
+
+		return record;
+	}
+}
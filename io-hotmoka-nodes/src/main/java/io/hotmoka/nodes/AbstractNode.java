@@ -21,7 +21,12 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,8 +38,10 @@ import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.responses.ConstructorCallTransactionResponse;
 import io.hotmoka.beans.responses.JarStoreNonInitialTransactionResponse;
 import io.hotmoka.beans.responses.MethodCallTransactionResponse;
+import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.nodes.internal.Pollers;
 
 /**
  * A generic implementation of a node. The goal of this class is to provide
@@ -102,34 +109,108 @@ public abstract class AbstractNode implements Node {
 	}
 
 	/**
-	 * Yields a jar supplier that polls for the outcome of a transaction that installed
+	 * Yields a future that completes with the response of the given transaction, when it is available.
+	 * It completes exceptionally with the same exceptions that {@link #getPolledResponse(TransactionReference)}
+	 * would throw. By default, it polls for the response in another thread. Subclasses can redefine
+	 * this method, if they can be notified when the response becomes available.
+	 * 
+	 * @param reference the reference of the request of the transaction
+	 * @return the future
+	 */
+	protected CompletableFuture<TransactionResponse> getResponseFuture(TransactionReference reference) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return getPolledResponse(reference);
+			}
+			catch (TransactionRejectedException | TimeoutException e) {
+				throw new CompletionException(e);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CompletionException(e);
+			}
+		}, Pollers.executor);
+	}
+
+	/**
+	 * Yields a jar supplier for the outcome of a transaction that installed
 	 * a jar in the store of the node.
 	 * 
 	 * @param reference the reference of the request of the transaction
 	 * @return the jar supplier
 	 */
 	protected final JarSupplier jarSupplierFor(TransactionReference reference) {
-		return jarSupplierFor(reference, () -> ((JarStoreNonInitialTransactionResponse) getPolledResponse(reference)).getOutcomeAt(reference));
+		return jarSupplierFor(reference, () -> outcomeOf(getResponseFuture(reference), response -> ((JarStoreNonInitialTransactionResponse) response).getOutcomeAt(reference)));
 	}
 
 	/**
-	 * Yields a code supplier that polls for the outcome of a transaction that ran a constructor.
+	 * Yields a code supplier for the outcome of a transaction that ran a constructor.
 	 * 
 	 * @param reference the reference of the request of the transaction
 	 * @return the code supplier
 	 */
 	protected final CodeSupplier<StorageReference> constructorSupplierFor(TransactionReference reference) {
-		return codeSupplierFor(reference, () -> ((ConstructorCallTransactionResponse) getPolledResponse(reference)).getOutcome());
+		return codeSupplierFor(reference, () -> outcomeOf(getResponseFuture(reference), response -> ((ConstructorCallTransactionResponse) response).getOutcome()));
 	}
 
 	/**
-	 * Yields a code supplier that polls for the outcome of a transaction that ran a method.
+	 * Yields a code supplier for the outcome of a transaction that ran a method.
 	 * 
 	 * @param reference the reference of the request of the transaction
 	 * @return the code supplier
 	 */
 	protected final CodeSupplier<StorageValue> methodSupplierFor(TransactionReference reference) {
-		return codeSupplierFor(reference, () -> ((MethodCallTransactionResponse) getPolledResponse(reference)).getOutcome());
+		return codeSupplierFor(reference, () -> outcomeOf(getResponseFuture(reference), response -> ((MethodCallTransactionResponse) response).getOutcome()));
+	}
+
+	/**
+	 * A function that extracts the outcome of a transaction from its response.
+	 *
+	 * @param <W> the type of the outcome
+	 */
+	private interface OutcomeExtractor<W> {
+		W apply(TransactionResponse response) throws TransactionException, CodeExecutionException;
+	}
+
+	/**
+	 * Yields a future that completes with the outcome of a transaction, extracted from its response.
+	 * 
+	 * @param <W> the type of the outcome
+	 * @param response the future of the response of the transaction
+	 * @param extractor the function that extracts the outcome from the response
+	 * @return the future of the outcome
+	 */
+	private static <W> CompletableFuture<W> outcomeOf(CompletableFuture<TransactionResponse> response, OutcomeExtractor<W> extractor) {
+		return response.thenApply(_response -> {
+			try {
+				return extractor.apply(_response);
+			}
+			catch (TransactionException | CodeExecutionException e) {
+				throw new CompletionException(e);
+			}
+		});
+	}
+
+	/**
+	 * Waits for the given future and yields its value. If the future completed
+	 * exceptionally, it throws the exception that caused that completion.
+	 * 
+	 * @param <T> the type of the value of the future
+	 * @param future the future
+	 * @return the value of the future
+	 * @throws Exception the exception that completed the future, if any
+	 */
+	private static <T> T valueOf(CompletableFuture<T> future) throws Exception {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			else
+				throw e;
+		}
 	}
 
 	/**
@@ -201,15 +282,17 @@ public abstract class AbstractNode implements Node {
 	}
 
 	/**
-	 * Adapts a callable into a jar supplier.
+	 * Adapts the supplier of a future into a jar supplier. The future is created
+	 * the first time it is needed.
 	 * 
 	 * @param reference the reference of the request whose future is being built
-	 * @param task the callable
+	 * @param future the supplier of the future
 	 * @return the jar supplier
 	 */
-	private static JarSupplier jarSupplierFor(TransactionReference reference, Callable<TransactionReference> task) {
+	private static JarSupplier jarSupplierFor(TransactionReference reference, Supplier<CompletableFuture<TransactionReference>> future) {
 		return new JarSupplier() {
 			private volatile TransactionReference cachedGet;
+			private CompletableFuture<TransactionReference> cachedFuture;
 	
 			@Override
 			public TransactionReference getReferenceOfRequest() {
@@ -218,22 +301,29 @@ public abstract class AbstractNode implements Node {
 	
 			@Override
 			public TransactionReference get() throws TransactionRejectedException, TransactionException {
-				return cachedGet != null ? cachedGet : (cachedGet = wrapInCaseOfExceptionMedium(task));
+				return cachedGet != null ? cachedGet : (cachedGet = wrapInCaseOfExceptionMedium(() -> valueOf(getFuture())));
+			}
+
+			@Override
+			public synchronized CompletableFuture<TransactionReference> getFuture() {
+				return cachedFuture != null ? cachedFuture : (cachedFuture = future.get());
 			}
 		};
 	}
 
 	/**
-	 * Adapts a callable into a code supplier.
+	 * Adapts the supplier of a future into a code supplier. The future is created
+	 * the first time it is needed.
 	 * 
-	 * @param <W> the return value of the callable
+	 * @param <W> the type of the outcome of the future
 	 * @param reference the reference of the request whose future is being built
-	 * @param task the callable
+	 * @param future the supplier of the future
 	 * @return the code supplier
 	 */
-	private static <W extends StorageValue> CodeSupplier<W> codeSupplierFor(TransactionReference reference, Callable<W> task) {
+	private static <W extends StorageValue> CodeSupplier<W> codeSupplierFor(TransactionReference reference, Supplier<CompletableFuture<W>> future) {
 		return new CodeSupplier<>() {
 			private volatile W cachedGet;
+			private CompletableFuture<W> cachedFuture;
 	
 			@Override
 			public TransactionReference getReferenceOfRequest() {
@@ -242,7 +332,12 @@ public abstract class AbstractNode implements Node {
 	
 			@Override
 			public W get() throws TransactionRejectedException, TransactionException, CodeExecutionException {
-				return cachedGet != null ? cachedGet : (cachedGet = wrapInCaseOfExceptionFull(task));
+				return cachedGet != null ? cachedGet : (cachedGet = wrapInCaseOfExceptionFull(() -> valueOf(getFuture())));
+			}
+
+			@Override
+			public synchronized CompletableFuture<W> getFuture() {
+				return cachedFuture != null ? cachedFuture : (cachedFuture = future.get());
 			}
 		};
 	}
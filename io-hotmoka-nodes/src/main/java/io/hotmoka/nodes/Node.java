@@ -17,6 +17,8 @@ limitations under the License.
 package io.hotmoka.nodes;
 
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
@@ -40,6 +42,7 @@ import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.nodes.internal.Pollers;
 
 /**
  * A node of the Hotmoka network, that provides the storage
@@ -364,6 +367,24 @@ public interface Node extends AutoCloseable {
 	     * @throws TransactionException if the transaction could be executed and the store of the node has been expanded with a failed transaction
 	     */
 	    V get() throws TransactionRejectedException, TransactionException, CodeExecutionException;
+
+	    /**
+	     * Yields a future that completes with the result of the transaction, when it is available.
+	     * It completes exceptionally with the same exceptions that {@link #get()} would throw.
+	     * By default, the future waits for the result in another thread.
+	     * 
+	     * @return the future
+	     */
+	    default CompletableFuture<V> getFuture() {
+	    	return CompletableFuture.supplyAsync(() -> {
+	    		try {
+	    			return get();
+	    		}
+	    		catch (TransactionRejectedException | TransactionException | CodeExecutionException e) {
+	    			throw new CompletionException(e);
+	    		}
+	    	}, Pollers.executor);
+	    }
 	}
 
 	/**
@@ -386,5 +407,23 @@ public interface Node extends AutoCloseable {
 	     * @throws TransactionException if the transaction could be executed and the store of the node has been expanded with a failed transaction
 	     */
 	    TransactionReference get() throws TransactionRejectedException, TransactionException;
+
+	    /**
+	     * Yields a future that completes with the result of the transaction, when it is available.
+	     * It completes exceptionally with the same exceptions that {@link #get()} would throw.
+	     * By default, the future waits for the result in another thread.
+	     * 
+	     * @return the future
+	     */
+	    default CompletableFuture<TransactionReference> getFuture() {
+	    	return CompletableFuture.supplyAsync(() -> {
+	    		try {
+	    			return get();
+	    		}
+	    		catch (TransactionRejectedException | TransactionException e) {
+	    			throw new CompletionException(e);
+	    		}
+	    	}, Pollers.executor);
+	    }
 	}
 }
\ No newline at end of file
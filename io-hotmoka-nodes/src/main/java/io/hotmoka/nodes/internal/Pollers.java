@@ -0,0 +1,39 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.nodes.internal;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * The threads that wait for the responses of transactions.
+ */
+public final class Pollers {
+
+	private Pollers() {}
+
+	/**
+	 * The executor of the threads that wait for the responses of transactions.
+	 * They block for long, hence they do not run in the common pool; moreover,
+	 * they are daemons, so that they do not keep the virtual machine alive.
+	 */
+	public final static Executor executor = Executors.newCachedThreadPool(runnable -> {
+		var thread = new Thread(runnable, "response poller");
+		thread.setDaemon(true);
+		return thread;
+	});
+}
@@ -18,6 +18,7 @@ package io.hotmoka.patricia;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Optional;
 
 import io.hotmoka.crypto.api.HashingAlgorithm;
@@ -48,6 +49,15 @@ public interface PatriciaTrie<Key, Value extends Marshallable> {
 	 */
 	void put(Key key, Value value);
 
+	/**
+	 * Binds the given keys to the given values. It replaces them
+	 * if already present. This is equivalent to putting each binding in turn,
+	 * but each node of the trie affected by the bindings gets hashed and persisted only once.
+	 * 
+	 * @param bindings the bindings
+	 */
+	void putAll(Map<? extends Key, ? extends Value> bindings);
+
 	/**
 	 * Yields the root of the trie, that can be used as a hash of its content.
 	 * 
@@ -0,0 +1,96 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.patricia.internal;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded cache of the decoded content of the nodes of Patricia tries, keyed by the hash of the nodes.
+ * This is safe since nodes are immutable and content-addressed: a hash always identifies the same node.
+ * The cache keeps two generations of nodes: when the young generation is full, it becomes
+ * the old generation and the previous old generation is dropped. Nodes found in the old generation
+ * are promoted to the young one. This approximates an LRU policy with lock-free lookups.
+ * This class is thread-safe.
+ *
+ * @param <V> the type of the decoded content of the nodes
+ */
+class NodeCache<V> {
+
+	/**
+	 * The maximal number of nodes in each generation.
+	 */
+	private final int maxSizeOfGeneration;
+
+	/**
+	 * The young generation of nodes.
+	 */
+	private volatile ConcurrentMap<ByteBuffer, V> young = new ConcurrentHashMap<>();
+
+	/**
+	 * The old generation of nodes.
+	 */
+	private volatile ConcurrentMap<ByteBuffer, V> old = new ConcurrentHashMap<>();
+
+	/**
+	 * Builds an empty cache.
+	 *
+	 * @param maxSize the maximal number of nodes that the cache keeps
+	 */
+	NodeCache(int maxSize) {
+		this.maxSizeOfGeneration = Math.max(1, maxSize / 2);
+	}
+
+	/**
+	 * Yields the decoded content of the node with the given hash, if it is in cache.
+	 *
+	 * @param hash the hash of the node; this is not modified by this method
+	 * @return the decoded content of the node, if it is in cache; otherwise {@code null}
+	 */
+	V get(byte[] hash) {
+		var key = ByteBuffer.wrap(hash);
+		V result = young.get(key);
+		if (result == null) {
+			result = old.get(key);
+			if (result != null)
+				put(hash, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Puts in cache the decoded content of the node with the given hash.
+	 *
+	 * @param hash the hash of the node; this must not be modified later
+	 * @param decoded the decoded content of the node
+	 */
+	void put(byte[] hash, V decoded) {
+		ConcurrentMap<ByteBuffer, V> young = this.young;
+		young.put(ByteBuffer.wrap(hash), decoded);
+
+		if (young.size() > maxSizeOfGeneration) {
+			synchronized (this) {
+				if (this.young == young) {
+					old = young;
+					this.young = new ConcurrentHashMap<>();
+				}
+			}
+		}
+	}
+}
@@ -16,17 +16,21 @@ limitations under the License.
 
 package io.hotmoka.patricia.internal;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.hotmoka.crypto.api.HashingAlgorithm;
+import io.hotmoka.marshalling.LegacyFraming;
 import io.hotmoka.marshalling.api.Marshallable;
 import io.hotmoka.marshalling.api.MarshallingContext;
 import io.hotmoka.marshalling.api.Unmarshaller;
@@ -69,6 +73,14 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	 */
 	private final long numberOfCommits;
 
+	/**
+	 * A cache of the decoded content of the branch and extension nodes, shared among all tries.
+	 * For a branch, it holds the hashes of its 16 children; for an extension, it holds
+	 * its shared nibbles and the hash of its next node. Leaves are not cached, since their
+	 * decoding depends on their depth in the trie and they are only met at the end of a lookup.
+	 */
+	private final static NodeCache<byte[][]> decodedNodes = new NodeCache<>(20_000);
+
 	private final static Logger logger = Logger.getLogger(PatriciaTrieImpl.class.getName());
 
 	/**
@@ -142,6 +154,34 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		}
 	}
 
+	@Override
+	public void putAll(Map<? extends Key, ? extends Value> bindings) {
+		if (bindings.isEmpty())
+			return;
+
+		var list = new ArrayList<Binding>(bindings.size());
+		for (var entry: bindings.entrySet())
+			list.add(new Binding(toNibbles(hashingForKeys.hash(entry.getKey())), entry.getValue().toByteArray()));
+
+		try {
+			byte[] newRoot;
+			byte[] hashOfRoot = store.getRoot();
+			if (hashOfRoot == null)
+				// the trie was empty: the new bindings form the whole trie
+				newRoot = build(list, 0);
+			else {
+				newRoot = getNodeFromHash(hashOfRoot, 0).putAll(list, 0);
+				addGarbageKeyIfReplaced(hashOfRoot, newRoot);
+			}
+
+			store.setRoot(newRoot);
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "unexpected error while putting keys into Patricia trie", e);
+			throw new RuntimeException("unexpected error while putting keys into Patricia trie", e);
+		}
+	}
+
 	@Override
 	public byte[] getRoot() {
 		return store.getRoot();
@@ -157,62 +197,67 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	}
 
 	/**
-	 * Factory method that unmarshals a node from the given stream.
+	 * Factory method that unmarshals a node from the given bytes.
 	 * 
-	 * @param ois the stream
+	 * @param buffer the marshalled bytes of the node
 	 * @param cursor the number of nibbles in the path from the root of the trie to the node;
 	 *               this is needed in order to foresee the size of the leaves
 	 * @return the node
 	 * @throws IOException if the node could not be unmarshalled
 	 */
-	private AbstractNode from(ObjectInputStream ois, final int cursor) throws IOException {
-		byte kind = ois.readByte();
-
-		if (kind == 0x00 || (kind & 0xf0) == 0x10) {
-			int nodeHashSize = hashingForNodes.length();
-			int sharedBytesLength = ois.available() - nodeHashSize + 1;
-			byte[] sharedBytes = new byte[sharedBytesLength];
-			sharedBytes[0] = kind;
-			if (sharedBytesLength - 1 != ois.readNBytes(sharedBytes, 1, sharedBytesLength - 1))
-				throw new IOException("nibbles length mismatch in an extension node of a Patricia trie");
+	private AbstractNode from(ByteBuffer buffer, final int cursor) throws IOException {
+		try {
+			byte kind = buffer.get();
+
+			if (kind == 0x00 || (kind & 0xf0) == 0x10) {
+				int nodeHashSize = hashingForNodes.length();
+				int sharedBytesLength = buffer.remaining() - nodeHashSize + 1;
+				if (sharedBytesLength < 1)
+					throw new IOException("nibbles length mismatch in an extension node of a Patricia trie");
+
+				byte[] sharedBytes = new byte[sharedBytesLength];
+				sharedBytes[0] = kind;
+				buffer.get(sharedBytes, 1, sharedBytesLength - 1);
+				byte[] sharedNibbles = expandBytesIntoNibbles(sharedBytes, (byte) 0x00);
+				byte[] next = new byte[buffer.remaining()];
+				buffer.get(next);
+
+				return new Extension(sharedNibbles, next);
+			}
+			else if (kind == 0x04) {
+				short selector = buffer.getShort();
+				int nodeHashSize = hashingForNodes.length();
+				byte[][] children = new byte[16][];
+				for (int pos = 0, bit = 0x8000; pos < 16; pos++, bit >>= 1)
+					if ((selector & bit) != 0) {
+						children[pos] = new byte[nodeHashSize];
+						buffer.get(children[pos]);
+					}
 
-			byte[] sharedNibbles = expandBytesIntoNibbles(sharedBytes, (byte) 0x00);
-			byte[] next = ois.readAllBytes();
+				return new Branch(children);
+			}
+			else if (kind == 0x02 || (kind & 0xf0) == 0x30) {
+				int expected;
+				if (cursor % 2 == 0)
+					expected = hashingForKeys.length() - cursor / 2 + 1;
+				else
+					expected = hashingForKeys.length() - cursor / 2;
 
-			return new Extension(sharedNibbles, next);
-		}
-		else if (kind == 0x04) {
-			short selector = ois.readShort();
-			int nodeHashSize = hashingForNodes.length();
-			byte[][] children = new byte[16][];
-			for (int pos = 0, bit = 0x8000; pos < 16; pos++, bit >>= 1)
-				if ((selector & bit) != 0) {
-					children[pos] = new byte[nodeHashSize];
-					if (nodeHashSize != ois.readNBytes(children[pos], 0, nodeHashSize))
-						throw new IOException("hash length mismatch in Patricia node");
-				}
+				byte[] nibbles = new byte[expected];
+				nibbles[0] = kind;
+				buffer.get(nibbles, 1, expected - 1);
+				byte[] keyEnd = expandBytesIntoNibbles(nibbles, (byte) 0x02);
+				byte[] value = new byte[buffer.remaining()];
+				buffer.get(value);
 
-			return new Branch(children);
-		}
-		else if (kind == 0x02 || (kind & 0xf0) == 0x30) {
-			int expected;
-			if (cursor % 2 == 0)
-				expected = hashingForKeys.length() - cursor / 2 + 1;
+				return new Leaf(keyEnd, value);
+			}
 			else
-				expected = hashingForKeys.length() - cursor / 2;
-
-			byte[] nibbles = new byte[expected];
-			nibbles[0] = kind;
-			if (expected - 1 != ois.readNBytes(nibbles, 1, expected - 1))
-				throw new IOException("keyEnd length mismatch in a leaf node of a Patricia trie");
-
-			byte[] keyEnd = expandBytesIntoNibbles(nibbles, (byte) 0x02);
-			byte[] value = ois.readAllBytes();
-
-			return new Leaf(keyEnd, value);
+				throw new IOException("unexpected Patricia node kind: " + kind);
+		}
+		catch (BufferUnderflowException e) {
+			throw new IOException("unexpected end of a Patricia node", e);
 		}
-		else
-			throw new IOException("unexpected Patricia node kind: " + kind);
 	}
 
 	/**
@@ -226,9 +271,136 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 	 * @throws IOException if the node could not be unmarshalled
 	 */
 	private AbstractNode getNodeFromHash(byte[] hash, int cursor) throws NoSuchElementException, IOException {
-		try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new ByteArrayInputStream(store.get(hash))))) {
-			return from(ois, cursor);
+		byte[][] decoded = decodedNodes.get(hash);
+		if (decoded != null)
+			return decoded.length == 16 ? new Branch(decoded) : new Extension(decoded[0], decoded[1]);
+
+		byte[] bytes = store.get(hash);
+		// nodes written with the legacy framing are still found in stores created before its removal
+		if (LegacyFraming.isFramed(bytes))
+			bytes = LegacyFraming.unframe(bytes);
+
+		AbstractNode node = from(ByteBuffer.wrap(bytes), cursor);
+		node.cacheAs(hash);
+
+		return node;
+	}
+
+	/**
+	 * Persists the given node in the store, bound to its hash.
+	 * 
+	 * @param node the node
+	 * @return the hash of {@code node}
+	 */
+	private byte[] persist(AbstractNode node) {
+		byte[] hash = hashingForNodes.hash(node);
+		store.put(hash, node.toByteArray());
+		// it is likely to be read soon, hence we cache it
+		node.cacheAs(hash);
+		return hash;
+	}
+
+	/**
+	 * Takes note that a node became garbage, if it has been replaced by a distinct node.
+	 * 
+	 * @param oldHash the hash of the node before the update
+	 * @param newHash the hash of the node after the update
+	 */
+	private void addGarbageKeyIfReplaced(byte[] oldHash, byte[] newHash) {
+		if (!Arrays.equals(oldHash, newHash))
+			addGarbageKey(oldHash);
+	}
+
+	/**
+	 * Builds and persists a new subtrie that contains the given bindings only.
+	 * 
+	 * @param bindings the bindings; this is not empty and the keys are distinct, but they
+	 *                 coincide in their first {@code cursor} nibbles
+	 * @param cursor the number of nibbles in the path from the root of the trie to the subtrie
+	 * @return the hash of the root of the subtrie
+	 */
+	private byte[] build(List<Binding> bindings, int cursor) {
+		byte[] nibblesOfFirst = bindings.get(0).nibblesOfHashedKey;
+
+		if (bindings.size() == 1)
+			return persist(new Leaf(Arrays.copyOfRange(nibblesOfFirst, cursor, nibblesOfFirst.length), bindings.get(0).value));
+
+		int shared = lengthOfSharedPrefix(nibblesOfFirst, cursor, nibblesOfFirst.length - cursor, bindings, cursor);
+		if (shared == nibblesOfFirst.length - cursor)
+			throw new RuntimeException("repeated key in Patricia trie");
+
+		// the keys diverge after the shared portion: we yield a branch, preceded by an extension for the shared portion
+		List<Binding>[] groups = groupByNibble(bindings, cursor + shared);
+		byte[][] children = new byte[16][];
+		for (int pos = 0; pos < 16; pos++)
+			if (groups[pos] != null)
+				children[pos] = build(groups[pos], cursor + shared + 1);
+
+		return withPrefix(nibblesOfFirst, cursor, shared, persist(new Branch(children)));
+	}
+
+	/**
+	 * Yields the hash of a node preceded by an extension node with the given shared nibbles, if any.
+	 * 
+	 * @param nibbles the array containing the shared nibbles
+	 * @param start the position of the first shared nibble inside {@code nibbles}
+	 * @param length the number of shared nibbles
+	 * @param hashOfNode the hash of the node
+	 * @return the hash of the persisted extension node, if {@code length} is positive;
+	 *         otherwise {@code hashOfNode}
+	 */
+	private byte[] withPrefix(byte[] nibbles, int start, int length, byte[] hashOfNode) {
+		if (length == 0)
+			return hashOfNode;
+		else
+			return persist(new Extension(Arrays.copyOfRange(nibbles, start, start + length), hashOfNode));
+	}
+
+	/**
+	 * Yields the length of the longest prefix of the given nibbles, shared by the keys of the given bindings.
+	 * 
+	 * @param nibbles the array containing the nibbles
+	 * @param start the position of the first nibble inside {@code nibbles}
+	 * @param max the maximal length of the prefix
+	 * @param bindings the bindings
+	 * @param cursor the position, inside the keys of the bindings, that corresponds to {@code start}
+	 * @return the length of the shared prefix
+	 */
+	private static int lengthOfSharedPrefix(byte[] nibbles, int start, int max, List<Binding> bindings, int cursor) {
+		for (int length = 0; length < max; length++) {
+			byte nibble = nibbles[start + length];
+			for (Binding binding: bindings)
+				if (binding.nibblesOfHashedKey[cursor + length] != nibble)
+					return length;
+		}
+
+		return max;
+	}
+
+	/**
+	 * Splits the given bindings according to the nibble of their keys at the given position.
+	 * 
+	 * @param bindings the bindings
+	 * @param cursor the position of the nibble
+	 * @return the bindings for each value of the nibble; this is {@code null} for the values
+	 *         of the nibble that no key has at position {@code cursor}
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Binding>[] groupByNibble(List<Binding> bindings, int cursor) {
+		List<Binding>[] groups = (List<Binding>[]) new List<?>[16];
+
+		for (Binding binding: bindings) {
+			if (cursor >= binding.nibblesOfHashedKey.length)
+				throw new RuntimeException("inconsistent key length in Patricia trie");
+
+			byte selection = binding.nibblesOfHashedKey[cursor];
+			if (groups[selection] == null)
+				groups[selection] = new ArrayList<>();
+
+			groups[selection].add(binding);
 		}
+
+		return groups;
 	}
 
 	/**
@@ -334,6 +506,18 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		 */
 		protected abstract AbstractNode put(byte[] nibblesOfHashedKey, int cursor, Value value) throws IOException, ClassNotFoundException;
 
+		/**
+		 * Binds the given values to the given keys, persisting each new node only once.
+		 * It considers only the portion of the keys starting at the {@code cursor}th nibble.
+		 * 
+		 * @param bindings the bindings; this is not empty and the keys are distinct, but they
+		 *                 coincide in their first {@code cursor} nibbles
+		 * @param cursor the starting point of the significant portion of the keys
+		 * @return the hash of the new node that replaced this in the trie
+		 * @throws IOException if some data could not be unmarshalled
+		 */
+		protected abstract byte[] putAll(List<Binding> bindings, int cursor) throws IOException;
+
 		/*
 		protected abstract int depth(int cursor) throws NoSuchElementException, ClassNotFoundException, IOException;
 
@@ -347,9 +531,29 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		}
 		*/
 
+		/**
+		 * Yields the decoded content of this node, that can be kept in {@link PatriciaTrieImpl#decodedNodes}.
+		 * 
+		 * @return the decoded content, or {@code null} if this node must not be cached
+		 */
+		protected byte[][] decoded() {
+			return null;
+		}
+
+		/**
+		 * Puts the decoded content of this node in {@link PatriciaTrieImpl#decodedNodes}, if it can be cached.
+		 * 
+		 * @param hash the hash of this node
+		 */
+		protected final void cacheAs(byte[] hash) {
+			byte[][] decoded = decoded();
+			if (decoded != null)
+				decodedNodes.put(hash, decoded);
+		}
+
 		protected final AbstractNode putInStore() {
 			// we bind it to its hash in the store
-			store.put(hashingForNodes.hash(this), toByteArray());
+			persist(this);
 			return this;
 		}
 	}
@@ -400,6 +604,31 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 					context.write(child);
 		}
 
+		@Override
+		protected byte[][] decoded() {
+			return children;
+		}
+
+		@Override
+		protected byte[] putAll(List<Binding> bindings, int cursor) throws IOException {
+			List<Binding>[] groups = groupByNibble(bindings, cursor);
+			byte[][] childrenCopy = children.clone();
+
+			for (int pos = 0; pos < 16; pos++)
+				if (groups[pos] != null) {
+					if (children[pos] == null)
+						// there was no path for this selection: we attach a new subtrie
+						childrenCopy[pos] = build(groups[pos], cursor + 1);
+					else {
+						// there was already a path for this selection: we recur
+						childrenCopy[pos] = getNodeFromHash(children[pos], cursor + 1).putAll(groups[pos], cursor + 1);
+						addGarbageKeyIfReplaced(children[pos], childrenCopy[pos]);
+					}
+				}
+
+			return persist(new Branch(childrenCopy));
+		}
+
 		@Override
 		protected Value get(byte[] nibblesOfHashedKey, final int cursor) throws NoSuchElementException, ClassNotFoundException, IOException {
 			if (cursor >= nibblesOfHashedKey.length)
@@ -494,6 +723,46 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 			context.write(next);
 		}
 
+		@Override
+		protected byte[][] decoded() {
+			return new byte[][] { sharedNibbles, next };
+		}
+
+		@Override
+		protected byte[] putAll(List<Binding> bindings, int cursor) throws IOException {
+			int shared = lengthOfSharedPrefix(sharedNibbles, 0, sharedNibbles.length, bindings, cursor);
+
+			if (shared == sharedNibbles.length) {
+				// all keys go through this extension: we recur
+				byte[] newNext = getNodeFromHash(next, cursor + shared).putAll(bindings, cursor + shared);
+				addGarbageKeyIfReplaced(next, newNext);
+				return persist(new Extension(sharedNibbles, newNext));
+			}
+
+			// some keys diverge from this extension: we split it with a branch node
+			List<Binding>[] groups = groupByNibble(bindings, cursor + shared);
+			byte selection = sharedNibbles[shared];
+			byte[] rest = Arrays.copyOfRange(sharedNibbles, shared + 1, sharedNibbles.length);
+			byte[][] children = new byte[16][];
+
+			for (int pos = 0; pos < 16; pos++)
+				if (pos == selection) {
+					if (groups[pos] == null)
+						children[pos] = rest.length == 0 ? next : persist(new Extension(rest, next));
+					else if (rest.length == 0) {
+						children[pos] = getNodeFromHash(next, cursor + shared + 1).putAll(groups[pos], cursor + shared + 1);
+						addGarbageKeyIfReplaced(next, children[pos]);
+					}
+					else
+						// the shortened extension is not persisted, since it gets immediately replaced
+						children[pos] = new Extension(rest, next).putAll(groups[pos], cursor + shared + 1);
+				}
+				else if (groups[pos] != null)
+					children[pos] = build(groups[pos], cursor + shared + 1);
+
+			return withPrefix(sharedNibbles, 0, shared, persist(new Branch(children)));
+		}
+
 		@Override
 		protected Value get(byte[] nibblesOfHashedKey, int cursor) throws NoSuchElementException, ClassNotFoundException, IOException {
 			int cursor1;
@@ -616,6 +885,21 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 			}
 		}
 
+		@Override
+		protected byte[] putAll(List<Binding> bindings, int cursor) {
+			var merged = new ArrayList<>(bindings);
+
+			// the key of this leaf is kept, unless it gets bound to a new value
+			if (bindings.stream().noneMatch(binding -> Arrays.equals(binding.nibblesOfHashedKey, cursor, binding.nibblesOfHashedKey.length, keyEnd, 0, keyEnd.length))) {
+				byte[] nibblesOfHashedKey = new byte[cursor + keyEnd.length];
+				System.arraycopy(bindings.get(0).nibblesOfHashedKey, 0, nibblesOfHashedKey, 0, cursor);
+				System.arraycopy(keyEnd, 0, nibblesOfHashedKey, cursor, keyEnd.length);
+				merged.add(new Binding(nibblesOfHashedKey, value));
+			}
+
+			return build(merged, cursor);
+		}
+
 		@Override
 		protected AbstractNode put(byte[] nibblesOfHashedKey, int cursor, Value value) throws IOException {
 			int lengthOfSharedPortion = 0;
@@ -663,6 +947,27 @@ public class PatriciaTrieImpl<Key, Value extends Marshallable> implements Patric
 		*/
 	}
 
+	/**
+	 * A binding of a key to a value, to put in this trie.
+	 */
+	private static class Binding {
+
+		/**
+		 * The nibbles of the hashed key.
+		 */
+		private final byte[] nibblesOfHashedKey;
+
+		/**
+		 * The marshalled bytes of the value.
+		 */
+		private final byte[] value;
+
+		private Binding(byte[] nibblesOfHashedKey, byte[] value) {
+			this.nibblesOfHashedKey = nibblesOfHashedKey;
+			this.value = value;
+		}
+	}
+
 	/**
 	 * Yields the number of keys that could be garbage collected for the
 	 * given number of commit.
@@ -0,0 +1,247 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.patricia;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.crypto.AbstractHashingAlgorithm;
+import io.hotmoka.crypto.HashingAlgorithms;
+
+/**
+ * Tests that putting many bindings at once into a Patricia trie yields
+ * the same trie as putting them one after the other.
+ */
+class PutAll {
+
+	@Test
+	@DisplayName("putAll into an empty trie yields the root of the equivalent puts")
+	void putAllIntoEmptyTrie() throws NoSuchAlgorithmException {
+		var bindings = new LinkedHashMap<Integer, StorageValue>();
+		bindings.put(0x12345678, new StringValue("hello"));
+		bindings.put(0xcafebabe, new StringValue("world"));
+		bindings.put(0x00000000, new BigIntegerValue(BigInteger.TEN));
+
+		assertSameTrie(new HashMap<>(), bindings);
+	}
+
+	@Test
+	@DisplayName("putAll of no bindings leaves the trie unchanged")
+	void putAllOfNothing() throws NoSuchAlgorithmException {
+		var trie = mkTrie(new MemoryStore());
+		trie.putAll(Map.of());
+		assertNull(trie.getRoot());
+
+		trie.put(0x12345678, new StringValue("hello"));
+		byte[] root = trie.getRoot();
+		trie.putAll(Map.of());
+		assertArrayEquals(root, trie.getRoot());
+	}
+
+	@Test
+	@DisplayName("putAll of a single binding yields the root of the equivalent put")
+	void putAllOfOneBinding() throws NoSuchAlgorithmException {
+		assertSameTrie(new HashMap<>(), Map.of(0x12345678, new StringValue("hello")));
+		assertSameTrie(Map.of(0x12345678, new StringValue("hello")), Map.of(0x12345679, new StringValue("world")));
+	}
+
+	@Test
+	@DisplayName("putAll of keys with shared prefixes yields the root of the equivalent puts")
+	void putAllWithSharedPrefixes() throws NoSuchAlgorithmException {
+		var initial = new LinkedHashMap<Integer, StorageValue>();
+		initial.put(0x12345678, new StringValue("a"));
+		initial.put(0x12340000, new StringValue("b"));
+		initial.put(0xf0000000, new StringValue("c"));
+
+		var bindings = new LinkedHashMap<Integer, StorageValue>();
+		// the same key but for the last nibble
+		bindings.put(0x12345679, new StringValue("d"));
+		bindings.put(0x1234567a, new StringValue("e"));
+		// a prefix shared with two existing keys, that diverges in the middle of an extension
+		bindings.put(0x12350000, new StringValue("f"));
+		// a prefix shared only among the new keys
+		bindings.put(0xabcd0001, new StringValue("g"));
+		bindings.put(0xabcd0002, new StringValue("h"));
+		bindings.put(0xabce0000, new StringValue("i"));
+
+		assertSameTrie(new HashMap<>(), initial);
+		assertSameTrie(new HashMap<>(), bindings);
+		assertSameTrie(initial, bindings);
+	}
+
+	@Test
+	@DisplayName("putAll that overwrites existing keys yields the root of the equivalent puts")
+	void putAllOverwritingKeys() throws NoSuchAlgorithmException {
+		var initial = new LinkedHashMap<Integer, StorageValue>();
+		initial.put(0x12345678, new StringValue("a"));
+		initial.put(0x12345679, new StringValue("b"));
+		initial.put(0x87654321, new StringValue("c"));
+
+		var bindings = new LinkedHashMap<Integer, StorageValue>();
+		bindings.put(0x12345678, new StringValue("a2"));
+		bindings.put(0x87654321, new StringValue("c2"));
+		bindings.put(0x12345670, new StringValue("d"));
+
+		assertSameTrie(initial, bindings);
+
+		// overwriting a key with the same value leaves the root unchanged
+		var trie = mkTrie(new MemoryStore());
+		initial.forEach(trie::put);
+		byte[] root = trie.getRoot();
+		trie.putAll(Map.of(0x12345679, new StringValue("b")));
+		assertArrayEquals(root, trie.getRoot());
+	}
+
+	@Test
+	@DisplayName("putAll of many random keys yields the root of the equivalent puts")
+	void putAllOfRandomKeys() throws NoSuchAlgorithmException {
+		var random = new Random(13L);
+		var initial = new HashMap<Integer, StorageValue>();
+		for (int i = 0; i < 200; i++)
+			initial.put(random.nextInt(), new BigIntegerValue(BigInteger.valueOf(i)));
+
+		var bindings = new HashMap<Integer, StorageValue>();
+		var keysOfInitial = initial.keySet().toArray(Integer[]::new);
+		for (int i = 0; i < 300; i++) {
+			// about one third of the bindings overwrite an existing key
+			int key = i % 3 == 0 ? keysOfInitial[random.nextInt(keysOfInitial.length)] : random.nextInt();
+			bindings.put(key, new StringValue("value #" + i));
+		}
+
+		assertSameTrie(initial, bindings);
+	}
+
+	/**
+	 * Checks that putting the given bindings at once, into a trie that already contains
+	 * the given initial bindings, yields the same trie as putting them one after the other.
+	 *
+	 * @param initial the bindings in the trie before the put
+	 * @param bindings the bindings to put
+	 */
+	private static void assertSameTrie(Map<Integer, StorageValue> initial, Map<Integer, StorageValue> bindings) throws NoSuchAlgorithmException {
+		var storeForPut = new MemoryStore();
+		var trieForPut = mkTrie(storeForPut);
+		initial.forEach(trieForPut::put);
+		bindings.forEach(trieForPut::put);
+
+		var storeForPutAll = new MemoryStore();
+		var trieForPutAll = mkTrie(storeForPutAll);
+		initial.forEach(trieForPutAll::put);
+		trieForPutAll.putAll(bindings);
+
+		assertNotNull(trieForPutAll.getRoot());
+		assertArrayEquals(trieForPut.getRoot(), trieForPutAll.getRoot());
+
+		var expected = new HashMap<>(initial);
+		expected.putAll(bindings);
+		for (var entry: expected.entrySet())
+			assertEquals(Optional.of(entry.getValue()), trieForPutAll.get(entry.getKey()));
+
+		// the trie must be readable back from its store
+		var checkedOut = mkTrie(storeForPutAll);
+		for (var entry: expected.entrySet())
+			assertEquals(Optional.of(entry.getValue()), checkedOut.get(entry.getKey()));
+	}
+
+	private static PatriciaTrie<Integer, StorageValue> mkTrie(KeyValueStore store) throws NoSuchAlgorithmException {
+		// the keys are not hashed, so that it is possible to choose keys with shared prefixes
+		var hashingForKeys = new AbstractHashingAlgorithm<Integer>() {
+
+			@Override
+			public byte[] hash(Integer key) {
+				return ByteBuffer.allocate(4).putInt(key).array();
+			}
+
+			@Override
+			public int length() {
+				return 4;
+			}
+
+			@Override
+			public String getName() {
+				return "custom";
+			}
+		};
+
+		return PatriciaTrie.of(store, hashingForKeys, HashingAlgorithms.sha256(Node::toByteArray), StorageValue::from, BeanUnmarshallingContext::new, 0L);
+	}
+
+	/**
+	 * A key/value store kept in memory.
+	 */
+	private static class MemoryStore implements KeyValueStore {
+
+		/**
+		 * The bindings of this store. Keys are wrapped, so that they are compared by content.
+		 */
+		private final Map<ByteBuffer, byte[]> bindings = new HashMap<>();
+
+		/**
+		 * The root of the trie supported by this store.
+		 */
+		private byte[] root;
+
+		@Override
+		public byte[] getRoot() {
+			return root;
+		}
+
+		@Override
+		public void setRoot(byte[] root) {
+			this.root = root;
+		}
+
+		@Override
+		public void put(byte[] key, byte[] value) {
+			bindings.put(ByteBuffer.wrap(key.clone()), value.clone());
+		}
+
+		@Override
+		public void remove(byte[] key) {
+			if (bindings.remove(ByteBuffer.wrap(key)) == null)
+				throw new NoSuchElementException("unknown key");
+		}
+
+		@Override
+		public byte[] get(byte[] key) throws NoSuchElementException {
+			byte[] value = bindings.get(ByteBuffer.wrap(key));
+			if (value == null)
+				throw new NoSuchElementException("unknown key");
+
+			return value.clone();
+		}
+	}
+}
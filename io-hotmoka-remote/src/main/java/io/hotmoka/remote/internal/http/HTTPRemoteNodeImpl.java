@@ -18,7 +18,9 @@ package io.hotmoka.remote.internal.http;
 
 import java.io.IOException;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import io.hotmoka.annotations.ThreadSafe;
@@ -40,6 +42,7 @@ import io.hotmoka.beans.updates.ClassTag;
 import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.beans.values.StorageValue;
+import io.hotmoka.network.NetworkExceptionResponse;
 import io.hotmoka.network.nodes.NodeInfoModel;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.GameteCreationTransactionRequestModel;
@@ -77,6 +80,12 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
      */
     private RestClientService service = new RestClientService();
 
+    /**
+     * True until the server refuses a request with a binary body. From then on,
+     * requests are sent to it in JSON only.
+     */
+    private volatile boolean binaryBodiesAreAccepted = true;
+
     /**
      * Builds the remote node.
      *
@@ -137,7 +146,7 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
 
     @Override
     public TransactionReference addJarStoreInitialTransaction(JarStoreInitialTransactionRequest request) throws TransactionRejectedException {
-        return wrapNetworkExceptionSimple(() -> service.post(url + "/add/jarStoreInitialTransaction", new JarStoreInitialTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        return wrapNetworkExceptionSimple(() -> postBinaryOrJson(url + "/add/jarStoreInitialTransaction", request, () -> new JarStoreInitialTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
     }
 
     @Override
@@ -152,7 +161,7 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
 
     @Override
     public TransactionReference addJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException, TransactionException {
-        return wrapNetworkExceptionMedium(() -> service.post(url + "/add/jarStoreTransaction", new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        return wrapNetworkExceptionMedium(() -> postBinaryOrJson(url + "/add/jarStoreTransaction", request, () -> new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
     }
 
     @Override
@@ -182,7 +191,7 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
 
     @Override
     public JarSupplier postJarStoreTransaction(JarStoreTransactionRequest request) throws TransactionRejectedException {
-        TransactionReference reference = wrapNetworkExceptionSimple(() -> service.post(url + "/post/jarStoreTransaction", new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
+        TransactionReference reference = wrapNetworkExceptionSimple(() -> postBinaryOrJson(url + "/post/jarStoreTransaction", request, () -> new JarStoreTransactionRequestModel(request), TransactionReferenceModel.class).toBean());
         return wrapInCaseOfExceptionSimple(() -> jarSupplierFor(reference));
     }
 
@@ -203,4 +212,30 @@ public class HTTPRemoteNodeImpl extends AbstractRemoteNode {
         TransactionReference reference = service.post(url + "/post/staticMethodCallTransaction", new StaticMethodCallTransactionRequestModel(request), TransactionReferenceModel.class).toBean();
         return wrapNetworkExceptionSimple(() -> methodSupplierFor(reference));
     }
-}
\ No newline at end of file
+
+    /**
+     * Performs a POST request whose body is the marshalled bytes of the given request,
+     * unless the server is known not to accept binary bodies. In that case, or if the server
+     * refuses the binary body, the request is sent in JSON instead.
+     * 
+     * @param url the url
+     * @param request the request to send
+     * @param model the supplier of the JSON model of {@code request}
+     * @param type the response class type
+     * @param <T> the entity response type
+     * @return the response
+     * @throws NetworkExceptionResponse if client or server errors occur
+     */
+    private <T> T postBinaryOrJson(String url, TransactionRequest<?> request, Supplier<?> model, Class<T> type) throws NetworkExceptionResponse {
+    	if (binaryBodiesAreAccepted) {
+    		Optional<T> result = service.postBinary(url, request, type);
+    		if (result.isPresent())
+    			return result.get();
+
+    		// the server only speaks JSON
+    		binaryBodiesAreAccepted = false;
+    	}
+
+    	return service.post(url, model.get(), type);
+    }
+}
@@ -25,11 +25,14 @@ import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import io.hotmoka.beans.marshalling.BeanMarshallingContext;
+import io.hotmoka.marshalling.api.Marshallable;
 import io.hotmoka.network.NetworkExceptionResponse;
 import io.hotmoka.network.errors.ErrorModel;
 
@@ -40,6 +43,16 @@ public class RestClientService {
 
 	private final Gson gson = new GsonBuilder().disableHtmlEscaping().serializeNulls().create();
 
+	/**
+	 * The size of the chunks used to stream the body of binary requests.
+	 */
+	private final static int CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * The name of the exception reported by services that do not accept the content type of a request.
+	 */
+	private final static String UNSUPPORTED_MEDIA_TYPE_EXCEPTION = "org.springframework.web.HttpMediaTypeNotSupportedException";
+
     /**
      * Performs a GET request and yields an entity T as response.
      * 
@@ -118,6 +131,67 @@ public class RestClientService {
     	}
     }
 
+    /**
+     * Performs a POST request whose body is the marshalled bytes of the given object,
+     * and yields an entity T as response. The bytes are streamed in chunks
+     * while they are marshalled, hence they are never fully kept in memory nor
+     * encoded into text. This is meant for large requests, such as those that install jars.
+     * Servers that only speak JSON refuse such bodies: in that case, the result is empty
+     * and the request must be performed again through {@link #post(String, Object, Class)}.
+     * 
+     * @param url the url
+     * @param requestBody the request body
+     * @param type the response class type
+     * @param <T> the entity response type
+     * @return the response, if the server accepted the binary body
+     * @throws NetworkExceptionResponse if client or server errors occur
+     */
+    public <T> Optional<T> postBinary(String url, Marshallable requestBody, Class<T> type) throws NetworkExceptionResponse {
+    	HttpURLConnection con = null;
+
+    	try {
+    		con = (HttpURLConnection) new URL(url).openConnection();
+    		con.setRequestMethod("POST");
+	    	con.setRequestProperty("Content-Type", "application/octet-stream");
+	    	con.setRequestProperty("Accept", "application/json");
+	    	con.setDoOutput(true);
+	    	con.setChunkedStreamingMode(CHUNK_SIZE);
+
+	    	IOException failedWrite = null;
+	    	try (var context = new BeanMarshallingContext(con.getOutputStream())) {
+	    		requestBody.into(context);
+	    	}
+	    	catch (IOException e) {
+	    		// the server might have refused the body before reading it all: its response tells why
+	    		failedWrite = e;
+	    	}
+
+	    	int code = con.getResponseCode();
+	    	if (code == HttpURLConnection.HTTP_UNSUPPORTED_TYPE)
+	    		return Optional.empty();
+	    	else if (failedWrite != null && code <= 299)
+	    		throw failedWrite;
+
+	    	if (code > 299) {
+	    		ErrorModel error = errorModelFrom(con.getErrorStream());
+	    		// services that wrap every failure into an error model report a refused body this way
+	    		if (error != null && UNSUPPORTED_MEDIA_TYPE_EXCEPTION.equals(error.exceptionClassName))
+	    			return Optional.empty();
+
+	    		throw new NetworkExceptionResponse("Internal Server Error", error);
+	    	}
+
+	    	return Optional.of(gson.fromJson(readFromStream(con.getInputStream()), type));
+		}
+		catch (IOException e) {
+			throw new NetworkExceptionResponse("Internal Server Error", new ErrorModel(e));
+		}
+    	finally {
+    		if (con != null)
+    			con.disconnect();
+    	}
+    }
+
     /**
      * Builds this model from an input stream
      * 
@@ -16,7 +16,10 @@ limitations under the License.
 
 package io.hotmoka.service.internal.http;
 
+import java.io.InputStream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -48,6 +51,11 @@ public class HTTP_AddController {
     	return nodeAddService.addJarStoreInitialTransaction(request);
     }
 
+    @PostMapping(value = "/jarStoreInitialTransaction", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public @ResponseBody TransactionReferenceModel jarStoreInitialTransaction(InputStream request) {
+    	return nodeAddService.addJarStoreInitialTransaction(request);
+    }
+
     @PostMapping("/gameteCreationTransaction")
     public @ResponseBody StorageReferenceModel redGreenGameteCreationTransaction(@RequestBody GameteCreationTransactionRequestModel request) {
         return nodeAddService.addGameteCreationTransaction(request);
@@ -63,6 +71,11 @@ public class HTTP_AddController {
         return nodeAddService.addJarStoreTransaction(request);
     }
 
+    @PostMapping(value = "/jarStoreTransaction", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public @ResponseBody TransactionReferenceModel jarStoreTransaction(InputStream request) {
+        return nodeAddService.addJarStoreTransaction(request);
+    }
+
     @PostMapping("/constructorCallTransaction")
     public @ResponseBody StorageReferenceModel constructorCallTransaction(@RequestBody ConstructorCallTransactionRequestModel request) {
         return nodeAddService.addConstructorCallTransaction(request);
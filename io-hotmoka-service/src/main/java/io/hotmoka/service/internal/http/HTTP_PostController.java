@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.service.internal.http;
 
+import java.io.InputStream;
+
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
@@ -24,6 +26,7 @@ import io.hotmoka.network.values.TransactionReferenceModel;
 import io.hotmoka.service.internal.services.PostService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -43,6 +46,11 @@ public class HTTP_PostController {
         return nodePostService.postJarStoreTransaction(request);
     }
 
+    @PostMapping(value = "/jarStoreTransaction", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public @ResponseBody TransactionReferenceModel jarStoreTransaction(InputStream request) {
+        return nodePostService.postJarStoreTransaction(request);
+    }
+
     @PostMapping("/constructorCallTransaction")
     public @ResponseBody TransactionReferenceModel constructorCallTransaction(@RequestBody ConstructorCallTransactionRequestModel request) {
         return nodePostService.postConstructorCallTransaction(request);
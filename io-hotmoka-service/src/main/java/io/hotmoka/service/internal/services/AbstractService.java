@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.service.internal.services;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -26,6 +28,8 @@ import org.springframework.http.HttpStatus;
 import io.hotmoka.beans.CodeExecutionException;
 import io.hotmoka.beans.TransactionException;
 import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
+import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.network.NetworkExceptionResponse;
 import io.hotmoka.network.errors.ErrorModel;
 import io.hotmoka.service.internal.Application;
@@ -45,6 +49,28 @@ abstract class AbstractService {
     	return application.getNode();
     }
 
+    /**
+     * Unmarshals a request from the given stream, that holds its marshalled bytes,
+     * as they are streamed from the client. This avoids the textual encoding of the request.
+     *
+     * @param <R> the type of the request
+     * @param is the stream
+     * @param clazz the expected class of the request
+     * @return the request
+     * @throws IOException if the stream does not contain exactly a request of class {@code clazz}
+     */
+    protected static <R extends TransactionRequest<?>> R requestFrom(InputStream is, Class<R> clazz) throws IOException {
+    	try (var context = new BeanUnmarshallingContext(is)) {
+    		TransactionRequest<?> request = TransactionRequest.from(context);
+    		if (!context.isExhausted())
+    			throw new IOException("unexpected bytes after the request");
+    		else if (clazz.isInstance(request))
+    			return clazz.cast(request);
+    		else
+    			throw new IOException("expected a " + clazz.getSimpleName() + " but found a " + request.getClass().getSimpleName());
+    	}
+    }
+
     /**
      * Returns the result of a {@link java.util.concurrent.Callable} task,
      * wrapping its exceptions into a {@link NetworkExceptionResponse}.
@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.service.internal.services;
 
+import java.io.InputStream;
+
 import io.hotmoka.network.requests.*;
 import io.hotmoka.network.values.StorageReferenceModel;
 import io.hotmoka.network.values.StorageValueModel;
@@ -25,9 +27,11 @@ import org.springframework.http.ResponseEntity;
 
 public interface AddService {
     TransactionReferenceModel addJarStoreInitialTransaction(JarStoreInitialTransactionRequestModel request);
+    TransactionReferenceModel addJarStoreInitialTransaction(InputStream request);
     StorageReferenceModel addGameteCreationTransaction(GameteCreationTransactionRequestModel request);
     ResponseEntity<Void> addInitializationTransaction(InitializationTransactionRequestModel request);
     TransactionReferenceModel addJarStoreTransaction(JarStoreTransactionRequestModel request);
+    TransactionReferenceModel addJarStoreTransaction(InputStream request);
     StorageReferenceModel addConstructorCallTransaction(ConstructorCallTransactionRequestModel request);
     StorageValueModel addInstanceMethodCallTransaction(InstanceMethodCallTransactionRequestModel request);
     StorageValueModel addStaticMethodCallTransaction(StaticMethodCallTransactionRequestModel request);
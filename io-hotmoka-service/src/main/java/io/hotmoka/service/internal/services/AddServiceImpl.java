@@ -16,9 +16,13 @@ limitations under the License.
 
 package io.hotmoka.service.internal.services;
 
+import java.io.InputStream;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import io.hotmoka.beans.requests.JarStoreInitialTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.GameteCreationTransactionRequestModel;
 import io.hotmoka.network.requests.InitializationTransactionRequestModel;
@@ -38,6 +42,11 @@ public class AddServiceImpl extends AbstractService implements AddService {
 		return wrapExceptions(() -> new TransactionReferenceModel(getNode().addJarStoreInitialTransaction(request.toBean())));
 	}
 
+	@Override
+	public TransactionReferenceModel addJarStoreInitialTransaction(InputStream request) {
+		return wrapExceptions(() -> new TransactionReferenceModel(getNode().addJarStoreInitialTransaction(requestFrom(request, JarStoreInitialTransactionRequest.class))));
+	}
+
     @Override
     public StorageReferenceModel addGameteCreationTransaction(GameteCreationTransactionRequestModel request) {
         return wrapExceptions(() -> new StorageReferenceModel(getNode().addGameteCreationTransaction(request.toBean())));
@@ -56,6 +65,11 @@ public class AddServiceImpl extends AbstractService implements AddService {
         return wrapExceptions(() -> new TransactionReferenceModel(getNode().addJarStoreTransaction(request.toBean())));
     }
 
+    @Override
+    public TransactionReferenceModel addJarStoreTransaction(InputStream request) {
+        return wrapExceptions(() -> new TransactionReferenceModel(getNode().addJarStoreTransaction(requestFrom(request, JarStoreTransactionRequest.class))));
+    }
+
     @Override
     public StorageReferenceModel addConstructorCallTransaction(ConstructorCallTransactionRequestModel request) {
         return wrapExceptions(() -> new StorageReferenceModel(getNode().addConstructorCallTransaction(request.toBean())));
@@ -16,6 +16,8 @@ limitations under the License.
 
 package io.hotmoka.service.internal.services;
 
+import java.io.InputStream;
+
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
@@ -26,6 +28,7 @@ public interface PostService {
 	// these yield the transaction that has been started, but possibly not yet concluded;
 	// one can later poll the result of the transaction, if needed
     TransactionReferenceModel postJarStoreTransaction(JarStoreTransactionRequestModel request);
+    TransactionReferenceModel postJarStoreTransaction(InputStream request);
     TransactionReferenceModel postConstructorCallTransaction(ConstructorCallTransactionRequestModel request);
     TransactionReferenceModel postInstanceMethodCallTransaction(InstanceMethodCallTransactionRequestModel request);
     TransactionReferenceModel postStaticMethodCallTransaction(StaticMethodCallTransactionRequestModel request);
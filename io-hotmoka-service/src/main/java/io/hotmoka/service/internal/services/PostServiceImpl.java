@@ -16,6 +16,9 @@ limitations under the License.
 
 package io.hotmoka.service.internal.services;
 
+import java.io.InputStream;
+
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
 import io.hotmoka.network.requests.ConstructorCallTransactionRequestModel;
 import io.hotmoka.network.requests.InstanceMethodCallTransactionRequestModel;
 import io.hotmoka.network.requests.JarStoreTransactionRequestModel;
@@ -32,6 +35,11 @@ public class PostServiceImpl extends AbstractService implements PostService {
         return wrapExceptions(() -> new TransactionReferenceModel(getNode().postJarStoreTransaction(request.toBean()).getReferenceOfRequest()));
     }
 
+    @Override
+    public TransactionReferenceModel postJarStoreTransaction(InputStream request) {
+        return wrapExceptions(() -> new TransactionReferenceModel(getNode().postJarStoreTransaction(requestFrom(request, JarStoreTransactionRequest.class)).getReferenceOfRequest()));
+    }
+
     @Override
     public TransactionReferenceModel postConstructorCallTransaction(ConstructorCallTransactionRequestModel request) {
         return wrapExceptions(() -> new TransactionReferenceModel(getNode().postConstructorCallTransaction(request.toBean()).getReferenceOfRequest()));
@@ -16,7 +16,6 @@ limitations under the License.
 
 package io.hotmoka.stores;
 
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
@@ -50,6 +49,8 @@ import io.hotmoka.xodus.env.Transaction;
  * <li> a trie that maps each storage reference to the transaction references that contribute
  *      to provide values to the fields of the storage object at that reference (its <i>history</i>);
  *      this is used by a node to reconstruct the state of the objects in store
+ * <li> a trie that maps each storage reference to the current state of the object at that reference,
+ *      that is, its class tag and the last update to each of its fields
  * <li> miscellaneous control information, such as where the node's manifest
  *      is installed or the current number of commits
  * <li> a trie that maps each Hotmoka request reference to the corresponding request
@@ -88,11 +89,6 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 	 */
 	private final byte[] rootOfRequests = new byte[32];
 
-	/**
-	 * The root of the trie of histories. It is an empty array if the trie is empty.
-	 */
-	private final byte[] rootOfHistories = new byte[32];
-
 	/**
      * The trie of the errors.
      */
@@ -157,33 +153,27 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 		this.storeOfErrors = parent.storeOfErrors;
 		this.storeOfRequests = parent.storeOfRequests;
 		this.storeOfHistory = parent.storeOfHistory;
-		System.arraycopy(parent.rootOfErrors, 0, this.rootOfErrors, 0, 32);
-		System.arraycopy(parent.rootOfRequests, 0, this.rootOfRequests, 0, 32);
-		System.arraycopy(parent.rootOfHistories, 0, this.rootOfHistories, 0, 32);
 	}
 
     @Override
 	public Optional<String> getError(TransactionReference reference) {
-    	synchronized (lock) {
-    		return env.computeInReadonlyTransaction
-   				(txn -> new TrieOfErrors(storeOfErrors, txn, nullIfEmpty(rootOfErrors), -1L).get(reference));
-    	}
+    	byte[] rootOfErrors = getRootOfTrie(2);
+    	return env.computeInReadonlyTransaction
+   			(txn -> new TrieOfErrors(storeOfErrors, txn, rootOfErrors, -1L).get(reference));
 	}
 
 	@Override
 	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
-		synchronized (lock) {
-			return env.computeInReadonlyTransaction
-				(txn -> new TrieOfRequests(storeOfRequests, txn, nullIfEmpty(rootOfRequests), -1L).get(reference));
-		}
+		byte[] rootOfRequests = getRootOfTrie(3);
+		return env.computeInReadonlyTransaction
+			(txn -> new TrieOfRequests(storeOfRequests, txn, rootOfRequests, -1L).get(reference));
 	}
 
 	@Override
 	public Stream<TransactionReference> getHistory(StorageReference object) {
-		synchronized (lock) {
-			return env.computeInReadonlyTransaction
-				(txn -> new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), -1L).get(object));
-		}
+		byte[] rootOfHistories = getRootOfTrie(4);
+		return env.computeInReadonlyTransaction
+			(txn -> new TrieOfHistories(storeOfHistory, txn, rootOfHistories, -1L, isInLegacyFormat()).get(object));
 	}
 
 	@Override
@@ -208,9 +198,9 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 
 			Transaction txn = getCurrentTransaction();
 			long numberOfCommits = getNumberOfCommits();
-			trieOfErrors = new TrieOfErrors(storeOfErrors, txn, nullIfEmpty(rootOfErrors), numberOfCommits);
-			trieOfRequests = new TrieOfRequests(storeOfRequests, txn, nullIfEmpty(rootOfRequests), numberOfCommits);
-			trieOfHistories = new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), numberOfCommits);
+			trieOfErrors = new TrieOfErrors(storeOfErrors, txn, getRootOfTrie(2), numberOfCommits);
+			trieOfRequests = new TrieOfRequests(storeOfRequests, txn, getRootOfTrie(3), numberOfCommits);
+			trieOfHistories = new TrieOfHistories(storeOfHistory, txn, getRootOfTrie(4), numberOfCommits, isInLegacyFormat());
 		}
 	}
 
@@ -221,6 +211,14 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 		}
 	}
 
+	@Override
+	protected void flushTries() {
+		super.flushTries();
+		trieOfErrors.flush();
+		trieOfRequests.flush();
+		trieOfHistories.flush();
+	}
+
 	@Override
 	protected void garbageCollect(long commitNumber) {
 		super.garbageCollect(commitNumber);
@@ -249,6 +247,11 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 		trieOfHistories.put(object, history);
 	}
 
+	@Override
+	protected int getNumberOfTries() {
+		return super.getNumberOfTries() + 3;
+	}
+
 	@Override
 	protected byte[] mergeRootsOfTries() {
 		// this can be null if this is called before any new transaction has been executed over this store
@@ -273,25 +276,4 @@ public abstract class FullTrieBasedStore<C extends Config> extends PartialTrieBa
 
 		return result;
 	}
-
-	@Override
-	protected void setRootsTo(byte[] root) {
-		super.setRootsTo(root);
-
-		if (root == null) {
-			Arrays.fill(rootOfErrors, (byte) 0);
-			Arrays.fill(rootOfRequests, (byte) 0);
-			Arrays.fill(rootOfHistories, (byte) 0);
-		}
-		else {
-			System.arraycopy(root, 64, rootOfErrors, 0, 32);
-			System.arraycopy(root, 96, rootOfRequests, 0, 32);
-			System.arraycopy(root, 128, rootOfHistories, 0, 32);
-		}
-	}
-
-	@Override
-	protected boolean isEmpty() {
-		return super.isEmpty() && isEmpty(rootOfErrors) && isEmpty(rootOfRequests) && isEmpty(rootOfHistories);
-	}
 }
\ No newline at end of file
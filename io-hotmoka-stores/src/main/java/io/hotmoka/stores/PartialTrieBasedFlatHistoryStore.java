@@ -45,6 +45,8 @@ import io.hotmoka.xodus.ByteIterable;
  * <li> a map (non-trie) from each storage reference to the transaction references that contribute
  *      to provide values to the fields of the storage object at that reference (its <i>history</i>);
  *      this is used by a node to reconstruct the state of the objects in store
+ * <li> a trie that maps each storage reference to the current state of the object at that reference,
+ *      that is, its class tag and the last update to each of its fields
  * <li> miscellaneous control information, such as where the node's manifest
  *      is installed or the current number of commits
  * </ul>
@@ -104,12 +106,7 @@ public abstract class PartialTrieBasedFlatHistoryStore<C extends Config> extends
 
 	@Override
 	public Stream<TransactionReference> getHistory(StorageReference object) {
-		ByteIterable historyAsByteArray;
-
-		synchronized (lock) {
-			historyAsByteArray = env.computeInReadonlyTransaction(txn -> storeOfHistory.get(txn, intoByteArray(object)));
-		}
-
+		ByteIterable historyAsByteArray = env.computeInReadonlyTransaction(txn -> storeOfHistory.get(txn, intoByteArray(object)));
 		return historyAsByteArray == null ? Stream.empty() : Stream.of(fromByteArray(historyAsByteArray));
 	}
 
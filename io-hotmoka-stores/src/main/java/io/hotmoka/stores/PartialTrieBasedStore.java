@@ -19,22 +19,33 @@ package io.hotmoka.stores;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
+import java.util.stream.Stream;
 
 import io.hotmoka.annotations.ThreadSafe;
 import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.TransactionRequest;
 import io.hotmoka.beans.responses.TransactionResponse;
+import io.hotmoka.beans.updates.Update;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.local.AbstractLocalNode;
 import io.hotmoka.local.AbstractStore;
 import io.hotmoka.local.Config;
+import io.hotmoka.marshalling.LegacyFraming;
 import io.hotmoka.stores.internal.TrieOfInfo;
 import io.hotmoka.stores.internal.TrieOfResponses;
+import io.hotmoka.stores.internal.TrieOfStates;
 import io.hotmoka.xodus.ByteIterable;
 import io.hotmoka.xodus.ExodusException;
 import io.hotmoka.xodus.env.Environment;
@@ -51,6 +62,8 @@ import io.hotmoka.xodus.env.Transaction;
  * 
  * <ul>
  * <li> a map from each Hotmoka request reference to the response computed for that request
+ * <li> a map from each storage reference to the current state of the object at that reference,
+ *      that is, its class tag and the last update to each of its fields
  * <li> miscellaneous control information, such as where the node's manifest
  *      is installed or the current number of commits
  * </ul>
@@ -93,20 +106,65 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
     private final io.hotmoka.xodus.env.Store storeOfInfo;
 
 	/**
-	 * The root of the trie of the responses. It is an empty array if the trie is empty.
+	 * The Xodus store that holds the Merkle-Patricia trie of the states of the objects.
 	 */
-	private final byte[] rootOfResponses = new byte[32];
+	private final io.hotmoka.xodus.env.Store storeOfStates;
 
 	/**
-	 * The root of the trie of the miscellaneous info. It is an empty array if the trie is empty.
+	 * The concatenation of the roots of the tries of this store, as last checked out:
+	 * those of the responses and of the miscellaneous info, followed by those of the tries
+	 * of the subclasses and, at the end, by that of the states of the objects.
+	 * It is {@code null} if the tries are empty.
+	 * This array is never modified but replaced at each checkout, so that readers
+	 * of the committed state can use it without taking the lock of the store.
+	 * They read it before starting the Xodus transaction of the read, hence that
+	 * transaction sees the commit that produced the roots.
 	 */
-	private final byte[] rootOfInfo = new byte[32];
+	private volatile byte[] roots;
+
+	/**
+	 * The number of open snapshots of this store, for each number of commits seen by the snapshots
+	 * (see {@link #openAsSnapshot()}). It is shared between this store and its clones and
+	 * it is used as lock for itself and for {@link #postponedGarbageCollections}.
+	 */
+	private final SortedMap<Long, Integer> openSnapshots;
+
+	/**
+	 * The commits whose garbage-collection has been postponed, since their keys
+	 * are still seen by some open snapshot. It is shared between this store and its clones.
+	 */
+	private final SortedSet<Long> postponedGarbageCollections;
+
+	/**
+	 * The number of commits seen by this store, if it is an open snapshot; -1 otherwise.
+	 * This is guarded by {@link #openSnapshots}.
+	 */
+	private long commitsSeenAsSnapshot = -1L;
+
+	/**
+	 * True if and only if this store was created before the removal of the legacy framing
+	 * of the marshalled data (see {@link LegacyFraming}). Its data is read in both formats,
+	 * since the framing is recognized when present, but its storage references
+	 * must be hashed into keys as in the legacy format, since they were bound to those keys.
+	 */
+	private final boolean legacyFormat;
 
 	/**
 	 * The key used inside {@link #storeOfInfo} to keep the root.
 	 */
 	private final static ByteIterable ROOT = ByteIterable.fromBytes("root".getBytes());
 
+	/**
+	 * The key used inside {@link #storeOfInfo} to mark that the store has been
+	 * created in the current marshalling format. It is missing for stores in the legacy format.
+	 */
+	private final static ByteIterable FORMAT = ByteIterable.fromBytes("format".getBytes());
+
+	/**
+	 * The current marshalling format, as kept under the {@link #FORMAT} key.
+	 */
+	private final static byte CURRENT_FORMAT = 1;
+
 	/**
 	 * The transaction that accumulates all changes to commit.
 	 */
@@ -122,6 +180,11 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 */
 	private TrieOfInfo trieOfInfo;
 
+	/**
+	 * The trie of the states of the objects.
+	 */
+	private TrieOfStates trieOfStates;
+
 	/**
 	 * The time when {@link #txn} was started, in the same format as {@link System#currentTimeMillis()}.
 	 */
@@ -155,14 +218,32 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 
     	AtomicReference<io.hotmoka.xodus.env.Store> storeOfResponses = new AtomicReference<>();
     	AtomicReference<io.hotmoka.xodus.env.Store> storeOfInfo = new AtomicReference<>();
+    	AtomicReference<io.hotmoka.xodus.env.Store> storeOfStates = new AtomicReference<>();
+    	var legacyFormat = new AtomicBoolean();
 
     	env.executeInTransaction(txn -> {
     		storeOfResponses.set(env.openStoreWithoutDuplicates("responses", txn));
     		storeOfInfo.set(env.openStoreWithoutDuplicates("info", txn));
+    		storeOfStates.set(env.openStoreWithoutDuplicates("states", txn));
+
+    		// a store without root is new, hence it gets created in the current format
+    		if (storeOfInfo.get().get(txn, FORMAT) == null) {
+    			if (storeOfInfo.get().get(txn, ROOT) == null)
+    				storeOfInfo.get().put(txn, FORMAT, ByteIterable.fromByte(CURRENT_FORMAT));
+    			else
+    				legacyFormat.set(true);
+    		}
     	});
 
     	this.storeOfResponses = storeOfResponses.get();
     	this.storeOfInfo = storeOfInfo.get();
+    	this.storeOfStates = storeOfStates.get();
+    	this.legacyFormat = legacyFormat.get();
+
+    	if (this.legacyFormat)
+    		logger.info("the store has been created in the legacy marshalling format: its data is read in both formats");
+    	this.openSnapshots = new TreeMap<>();
+    	this.postponedGarbageCollections = new TreeSet<>();
     }
 
     /**
@@ -177,9 +258,12 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		this.checkableDepth = parent.checkableDepth;
 		this.storeOfResponses = parent.storeOfResponses;
 		this.storeOfInfo = parent.storeOfInfo;
+		this.storeOfStates = parent.storeOfStates;
+		this.legacyFormat = parent.legacyFormat;
 		this.now = parent.now;
-		System.arraycopy(parent.rootOfResponses, 0, this.rootOfResponses, 0, 32);
-		System.arraycopy(parent.rootOfInfo, 0, this.rootOfInfo, 0, 32);
+		this.roots = parent.roots;
+		this.openSnapshots = parent.openSnapshots;
+		this.postponedGarbageCollections = parent.postponedGarbageCollections;
 	}
 
 	@Override
@@ -207,10 +291,9 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 
     @Override
     public Optional<TransactionResponse> getResponse(TransactionReference reference) {
-    	synchronized (lock) {
-    		return env.computeInReadonlyTransaction
-    			(txn -> new TrieOfResponses(storeOfResponses, txn, nullIfEmpty(rootOfResponses), -1L).get(reference));
-    	}
+    	byte[] rootOfResponses = getRootOfTrie(0);
+    	return env.computeInReadonlyTransaction
+    		(txn -> new TrieOfResponses(storeOfResponses, txn, rootOfResponses, -1L).get(reference));
 	}
 
 	@Override
@@ -221,13 +304,26 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	}
 
 	@Override
-	public Optional<StorageReference> getManifest() {
+	public Stream<Update> getState(StorageReference object) {
+		byte[] rootOfStates = getRootOfTrie(getNumberOfTries());
+		return env.computeInReadonlyTransaction
+			(txn -> new TrieOfStates(storeOfStates, txn, rootOfStates, -1L, legacyFormat).get(object));
+	}
+
+	@Override
+	public Stream<Update> getStateUncommitted(StorageReference object) {
 		synchronized (lock) {
-			return env.computeInReadonlyTransaction
-				(txn -> new TrieOfInfo(storeOfInfo, txn, nullIfEmpty(rootOfInfo), -1L).getManifest());
+			return duringTransaction() ? trieOfStates.get(object) : getState(object);
 		}
 	}
 
+	@Override
+	public Optional<StorageReference> getManifest() {
+		byte[] rootOfInfo = getRootOfTrie(1);
+		return env.computeInReadonlyTransaction
+			(txn -> new TrieOfInfo(storeOfInfo, txn, rootOfInfo, -1L).getManifest());
+	}
+
 	@Override
 	public Optional<StorageReference> getManifestUncommitted() {
 		synchronized (lock) {
@@ -240,6 +336,11 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		trieOfResponses.put(reference, response);
 	}
 
+	@Override
+	protected void setState(StorageReference object, Stream<Update> state) {
+		trieOfStates.put(object, state);
+	}
+
 	@Override
 	protected void setManifest(StorageReference manifest) {
 		trieOfInfo.setManifest(manifest);
@@ -255,8 +356,9 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		synchronized (lock) {
 			txn = env.beginTransaction();
 			long numberOfCommits = getNumberOfCommits();
-			trieOfResponses = new TrieOfResponses(storeOfResponses, txn, nullIfEmpty(rootOfResponses), numberOfCommits);
-			trieOfInfo = new TrieOfInfo(storeOfInfo, txn, nullIfEmpty(rootOfInfo), numberOfCommits);
+			trieOfResponses = new TrieOfResponses(storeOfResponses, txn, getRootOfTrie(0), numberOfCommits);
+			trieOfInfo = new TrieOfInfo(storeOfInfo, txn, getRootOfTrie(1), numberOfCommits);
+			trieOfStates = new TrieOfStates(storeOfStates, txn, getRootOfTrie(getNumberOfTries()), numberOfCommits, legacyFormat);
 			this.now = now;
 		}
 	}
@@ -276,13 +378,46 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		if (checkableDepth >= 0L) {
 			long commitToGarbageCollect = newCommitNumber - 1 - checkableDepth;
 			if (commitToGarbageCollect >= 0L)
-				garbageCollect(commitToGarbageCollect);
+				garbageCollectUnlessSeenBySnapshots(commitToGarbageCollect);
 		}
 
+		// the tries buffer their updates: we write them all at once, before committing
+		flushTries();
+
 		if (!txn.commit())
 			logger.info("transaction's commit failed");
 
-		return mergeRootsOfTries();
+		return appendRootOfStates(mergeRootsOfTries());
+	}
+
+	/**
+	 * Yields the given concatenation of roots, followed by the root of the trie of the states
+	 * of the objects. That root is kept at the end, after the roots of the tries of the subclasses,
+	 * so that the roots of the other tries keep the position they had before the introduction
+	 * of the trie of the states. Hence, a root committed before that introduction
+	 * is still valid: it just has an empty trie of the states.
+	 * 
+	 * @param roots the concatenation of the roots, as yielded by {@link #mergeRootsOfTries()}
+	 * @return the concatenation of {@code roots} and of the root of the trie of the states
+	 */
+	private byte[] appendRootOfStates(byte[] roots) {
+		byte[] result = new byte[roots.length + 32];
+		System.arraycopy(roots, 0, result, 0, roots.length);
+
+		byte[] rootOfStates = trieOfStates.getRoot();
+		if (rootOfStates != null)
+			System.arraycopy(rootOfStates, 0, result, roots.length, 32);
+
+		return result;
+	}
+
+	/**
+	 * Writes into the database the updates buffered by the tries during the current transaction.
+	 */
+	protected void flushTries() {
+		trieOfResponses.flush();
+		trieOfInfo.flush();
+		trieOfStates.flush();
 	}
 
 	/**
@@ -293,6 +428,63 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	protected void garbageCollect(long commitNumber) {
 		trieOfResponses.garbageCollect(commitNumber);
 		trieOfInfo.garbageCollect(commitNumber);
+		trieOfStates.garbageCollect(commitNumber);
+	}
+
+	/**
+	 * Garbage-collects the given commit and the commits whose garbage-collection was
+	 * previously postponed, unless they are still seen by some open snapshot of this store.
+	 * A snapshot that has seen {@code k} commits needs the keys replaced by the commits
+	 * {@code k}, {@code k + 1} and so on, hence the garbage-collection of those commits
+	 * gets postponed until the snapshot is closed.
+	 * 
+	 * @param commitNumber the number of the commit
+	 */
+	private void garbageCollectUnlessSeenBySnapshots(long commitNumber) {
+		List<Long> collectable;
+
+		synchronized (openSnapshots) {
+			postponedGarbageCollections.add(commitNumber);
+			SortedSet<Long> notSeen = openSnapshots.isEmpty() ? postponedGarbageCollections : postponedGarbageCollections.headSet(openSnapshots.firstKey());
+			collectable = new ArrayList<>(notSeen);
+			notSeen.clear();
+		}
+
+		collectable.forEach(this::garbageCollect);
+	}
+
+	/**
+	 * Declares that this store, a clone of another store, is used as a snapshot:
+	 * its state gets preserved by the commits of the other store, also if it is not checkable,
+	 * until {@link #closeAsSnapshot()} is called. This method must be called while holding the same lock
+	 * used for committing the other store and checking it out, otherwise the commit that is going
+	 * to be checked out might garbage-collect the state seen by this store before this method returns.
+	 */
+	protected final void openAsSnapshot() {
+		long commits = getNumberOfCommits();
+
+		synchronized (openSnapshots) {
+			if (commitsSeenAsSnapshot >= 0L)
+				throw new IllegalStateException("the store is already an open snapshot");
+
+			commitsSeenAsSnapshot = commits;
+			openSnapshots.merge(commits, 1, Integer::sum);
+		}
+	}
+
+	/**
+	 * Declares that this store is not used as a snapshot anymore (see {@link #openAsSnapshot()}).
+	 * The commits whose garbage-collection was postponed because of this store get
+	 * garbage-collected at the next commit.
+	 */
+	protected final void closeAsSnapshot() {
+		synchronized (openSnapshots) {
+			if (commitsSeenAsSnapshot < 0L)
+				throw new IllegalStateException("the store is not an open snapshot");
+
+			openSnapshots.computeIfPresent(commitsSeenAsSnapshot, (_commits, count) -> count == 1 ? null : count - 1);
+			commitsSeenAsSnapshot = -1L;
+		}
 	}
 
 	/**
@@ -312,8 +504,9 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 * @return the number of commits
 	 */
 	public long getNumberOfCommits() {
+		byte[] rootOfInfo = getRootOfTrie(1);
 		return env.computeInReadonlyTransaction
-			(txn -> new TrieOfInfo(storeOfInfo, txn, nullIfEmpty(rootOfInfo), -1L).getNumberOfCommits());
+			(txn -> new TrieOfInfo(storeOfInfo, txn, rootOfInfo, -1L).getNumberOfCommits());
 	}
 
 	/**
@@ -351,28 +544,54 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 * 
 	 * @param root the merged root
 	 */
-	protected void setRootsTo(byte[] root) {
-		if (root == null) {
-			Arrays.fill(rootOfResponses, (byte) 0);
-			Arrays.fill(rootOfInfo, (byte) 0);
-		}
-		else {
-			System.arraycopy(root, 0, rootOfResponses, 0, 32);
-			System.arraycopy(root, 32, rootOfInfo, 0, 32);
-		}
+	protected final void setRootsTo(byte[] root) {
+		this.roots = root == null || isEmpty(root) ? null : root.clone();
+	}
+
+	/**
+	 * Yields the root of a trie of this store, as last checked out.
+	 * 
+	 * @param index the index of the trie in the merged root of this store: 0 for the responses,
+	 *              1 for the miscellaneous info, successive numbers for the tries of the subclasses
+	 *              and {@link #getNumberOfTries()} for the states of the objects
+	 * @return the root of the trie, or {@code null} if the trie is empty
+	 */
+	protected final byte[] getRootOfTrie(int index) {
+		byte[] roots = this.roots;
+		if (roots == null || roots.length < (index + 1) * 32)
+			return null;
+
+		byte[] root = new byte[32];
+		System.arraycopy(roots, index * 32, root, 0, 32);
+		return nullIfEmpty(root);
+	}
+
+	/**
+	 * Yields the number of tries whose roots are concatenated by {@link #mergeRootsOfTries()}.
+	 * Subclasses that add the roots of their tries to that concatenation must redefine this method accordingly.
+	 * 
+	 * @return the number of tries
+	 */
+	protected int getNumberOfTries() {
+		return 2;
 	}
 
 	/**
 	 * Yields the concatenation of the roots of the tries in this store,
 	 * resulting after all updates performed to the store. Hence, they point
-	 * to the latest view of the store.
+	 * to the latest view of the store. The root of the trie of the states of the objects
+	 * is not part of this concatenation, since the states are an index of the
+	 * responses and of the histories, that already contribute to the concatenation.
 	 * 
 	 * @return the concatenation
 	 */
 	protected byte[] mergeRootsOfTries() {
 		// this can be null if this is called before any new transaction has been executed over this store
-		if (trieOfResponses == null)
-			return env.computeInReadonlyTransaction(txn -> storeOfInfo.get(txn, ROOT).getBytes());
+		if (trieOfResponses == null) {
+			byte[] root = env.computeInReadonlyTransaction(txn -> storeOfInfo.get(txn, ROOT).getBytes());
+			// we drop the root of the trie of the states, if any
+			return Arrays.copyOf(root, Math.min(root.length, getNumberOfTries() * 32));
+		}
 
 		byte[] result = new byte[64];
 
@@ -383,7 +602,7 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		byte[] rootOfInfo = trieOfInfo.getRoot();
 		if (rootOfInfo != null)
 			System.arraycopy(rootOfInfo, 0, result, 32, 32);
-	
+
 		return result;
 	}
 
@@ -393,8 +612,8 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 	 * 
 	 * @return true if and only if that condition holds
 	 */
-	protected boolean isEmpty() {
-		return isEmpty(rootOfResponses) && isEmpty(rootOfInfo);
+	protected final boolean isEmpty() {
+		return roots == null;
 	}
 
 	/**
@@ -421,12 +640,24 @@ public abstract class PartialTrieBasedStore<C extends Config> extends AbstractSt
 		return true;
 	}
 
-	protected static ByteIterable intoByteArray(StorageReference reference) throws UncheckedIOException {
-		return ByteIterable.fromBytes(reference.toByteArrayWithoutSelector()); // more optimized than a normal marshallable
+	/**
+	 * Determines if this store was created in the legacy marshalling format
+	 * (see {@link LegacyFraming}). In that case, its storage references must be
+	 * hashed into keys as in that format.
+	 * 
+	 * @return true if and only if that condition holds
+	 */
+	protected final boolean isInLegacyFormat() {
+		return legacyFormat;
+	}
+
+	protected final ByteIterable intoByteArray(StorageReference reference) throws UncheckedIOException {
+		byte[] bytes = reference.toByteArrayWithoutSelector(); // more optimized than a normal marshallable
+		return ByteIterable.fromBytes(legacyFormat ? LegacyFraming.frame(bytes) : bytes);
 	}
 
 	protected static TransactionReference[] fromByteArray(ByteIterable bytes) throws UncheckedIOException {
-		try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(bytes.getBytes()))) {
+		try (var context = BeanUnmarshallingContext.ofAnyFormat(new ByteArrayInputStream(bytes.getBytes()))) {
 			return context.readArray(TransactionReference::from, TransactionReference[]::new);
 		}
 		catch (IOException e) {
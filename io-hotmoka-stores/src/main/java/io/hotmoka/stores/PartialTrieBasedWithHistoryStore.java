@@ -16,7 +16,6 @@ limitations under the License.
 
 package io.hotmoka.stores;
 
-import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -44,6 +43,8 @@ import io.hotmoka.xodus.env.Transaction;
  * <li> a trie that maps each storage reference to the transaction references that contribute
  *      to provide values to the fields of the storage object at that reference (its <i>history</i>);
  *      this is used by a node to reconstruct the state of the objects in store
+ * <li> a trie that maps each storage reference to the current state of the object at that reference,
+ *      that is, its class tag and the last update to each of its fields
  * <li> miscellaneous control information, such as where the node's manifest
  *      is installed or the current number of commits
  * </ul>
@@ -60,11 +61,6 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 	 */
 	private final io.hotmoka.xodus.env.Store storeOfHistory;
 
-	/**
-	 * The root of the trie of histories. It is an empty array if the trie is empty.
-	 */
-	private final byte[] rootOfHistories = new byte[32];
-
 	/**
 	 * The trie of histories.
 	 */
@@ -107,15 +103,13 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 		super(parent);
 
 		this.storeOfHistory = parent.storeOfHistory;
-		System.arraycopy(parent.rootOfHistories, 0, this.rootOfHistories, 0, 32);
 	}
 
     @Override
 	public Stream<TransactionReference> getHistory(StorageReference object) {
-    	synchronized (lock) {
-    		return env.computeInReadonlyTransaction
-    			(txn -> new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), -1L).get(object));
-    	}
+    	byte[] rootOfHistories = getRootOfTrie(2);
+    	return env.computeInReadonlyTransaction
+    		(txn -> new TrieOfHistories(storeOfHistory, txn, rootOfHistories, -1L, isInLegacyFormat()).get(object));
 	}
 
 	@Override
@@ -131,7 +125,7 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 			super.beginTransaction(now);
 
 			Transaction txn = getCurrentTransaction();
-			trieOfHistories = new TrieOfHistories(storeOfHistory, txn, nullIfEmpty(rootOfHistories), getNumberOfCommits());
+			trieOfHistories = new TrieOfHistories(storeOfHistory, txn, getRootOfTrie(2), getNumberOfCommits(), isInLegacyFormat());
 		}
 	}
 
@@ -142,6 +136,12 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 		}
 	}
 
+	@Override
+	protected void flushTries() {
+		super.flushTries();
+		trieOfHistories.flush();
+	}
+
 	@Override
 	protected void garbageCollect(long commitNumber) {
 		super.garbageCollect(commitNumber);
@@ -160,6 +160,11 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 		trieOfHistories.put(object, history);
 	}
 
+	@Override
+	protected int getNumberOfTries() {
+		return super.getNumberOfTries() + 1;
+	}
+
 	@Override
 	protected byte[] mergeRootsOfTries() {
 		// this can be null if this is called before any new transaction has been executed over this store
@@ -176,19 +181,4 @@ public abstract class PartialTrieBasedWithHistoryStore<C extends Config> extends
 
 		return result;
 	}
-
-	@Override
-	protected void setRootsTo(byte[] root) {
-		super.setRootsTo(root);
-
-		if (root == null)
-			Arrays.fill(rootOfHistories, (byte) 0);
-		else
-			System.arraycopy(root, 64, rootOfHistories, 0, 32);
-	}
-
-	@Override
-	protected boolean isEmpty() {
-		return super.isEmpty() && isEmpty(rootOfHistories);
-	}
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.hotmoka.marshalling.api.Marshallable;
+import io.hotmoka.patricia.PatriciaTrie;
+
+/**
+ * A Merkle-Patricia trie that buffers the bindings put into it and writes them
+ * into another trie at once, when flushed. This way, the nodes of the other trie
+ * that are affected by many bindings get hashed and persisted only once.
+ * Reads see the buffered bindings. This class is not thread-safe.
+ *
+ * @param <Key> the type of the keys of the trie
+ * @param <Value> the type of the values of the trie
+ */
+public class BufferedPatriciaTrie<Key, Value extends Marshallable> implements PatriciaTrie<Key, Value> {
+
+	/**
+	 * The trie where the bindings get written when flushed.
+	 */
+	private final PatriciaTrie<Key, Value> parent;
+
+	/**
+	 * The bindings put into this trie since the last flush.
+	 */
+	private final Map<Key, Value> buffer = new HashMap<>();
+
+	/**
+	 * Builds a trie that buffers the bindings put into it.
+	 *
+	 * @param parent the trie where the bindings get written when flushed
+	 */
+	public BufferedPatriciaTrie(PatriciaTrie<Key, Value> parent) {
+		this.parent = parent;
+	}
+
+	@Override
+	public Optional<Value> get(Key key) {
+		Value buffered = buffer.get(key);
+		if (buffered != null)
+			return Optional.of(buffered);
+		else
+			return parent.get(key);
+	}
+
+	@Override
+	public void put(Key key, Value value) {
+		buffer.put(key, value);
+	}
+
+	@Override
+	public void putAll(Map<? extends Key, ? extends Value> bindings) {
+		buffer.putAll(bindings);
+	}
+
+	/**
+	 * Yields the root of the trie, that can be used as a hash of its content.
+	 * It flushes the buffered bindings first.
+	 *
+	 * @return the root
+	 */
+	@Override
+	public byte[] getRoot() {
+		flush();
+		return parent.getRoot();
+	}
+
+	@Override
+	public void garbageCollect(long commitNumber) {
+		parent.garbageCollect(commitNumber);
+	}
+
+	/**
+	 * Writes the buffered bindings into the parent trie.
+	 */
+	public void flush() {
+		if (!buffer.isEmpty()) {
+			parent.putAll(buffer);
+			buffer.clear();
+		}
+	}
+}
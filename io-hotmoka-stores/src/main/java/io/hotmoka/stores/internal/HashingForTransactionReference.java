@@ -22,14 +22,14 @@ import io.hotmoka.crypto.AbstractHashingAlgorithm;
 /**
  * The hashing algorithm applied to transaction references when used as
  * keys of the trie. Since these keys are transaction references,
- * they already hold a hash, as a string. Hence, this algorithm just amounts to extracting
- * the bytes from that string.
+ * they already hold a hash. Hence, this algorithm just amounts to extracting
+ * the bytes of that hash.
  */
 class HashingForTransactionReference extends AbstractHashingAlgorithm<TransactionReference> {
 
     @Override
     public byte[] hash(TransactionReference reference) {
-        return hexStringToByteArray(reference.getHash());
+        return reference.getHashAsBytes();
     }
 
 	@Override
@@ -37,21 +37,6 @@ class HashingForTransactionReference extends AbstractHashingAlgorithm<Transactio
         return 32; // transaction references are assumed to be SHA256 hashes, hence 32 bytes
     }
 
-    /**
-     * Transforms a hexadecimal string into a byte array.
-     *
-     * @param s the string
-     * @return the byte array
-     */
-    private byte[] hexStringToByteArray(String s) {
-        int len = s.length();
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len - 1; i += 2)
-            data[i / 2] = (byte) ((Character.digit(s.charAt(i), 16) << 4) + Character.digit(s.charAt(i + 1), 16));
-
-        return data;
-    }
-
 	@Override
 	public String getName() {
 		return "custom";
@@ -0,0 +1,59 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import io.hotmoka.beans.marshalling.BeanMarshallingContext;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.marshalling.AbstractMarshallable;
+import io.hotmoka.marshalling.api.MarshallingContext;
+import io.hotmoka.marshalling.api.UnmarshallingContext;
+
+/**
+ * An array of updates that can be marshalled into an object stream.
+ */
+public class MarshallableArrayOfUpdates extends AbstractMarshallable {
+	final Update[] updates;
+
+	public MarshallableArrayOfUpdates(Update[] updates) {
+		this.updates = updates.clone();
+	}
+
+	@Override
+	public void into(MarshallingContext context) throws IOException {
+		intoArray(updates, context);
+	}
+
+	@Override
+	protected final MarshallingContext createMarshallingContext(OutputStream os) throws IOException {
+		// updates share storage references and field signatures through the context
+		return new BeanMarshallingContext(os);
+	}
+
+	/**
+	 * Factory method that unmarshals an array of updates from the given stream.
+	 * 
+	 * @param context the unmarshalling context
+	 * @return the array
+	 * @throws IOException if the array could not be unmarshalled
+	 */
+	static MarshallableArrayOfUpdates from(UnmarshallingContext context) throws IOException {
+		return new MarshallableArrayOfUpdates(context.readArray(Update::from, Update[]::new));
+	}
+}
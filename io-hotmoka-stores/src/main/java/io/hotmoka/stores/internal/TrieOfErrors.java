@@ -39,7 +39,7 @@ public class TrieOfErrors {
 	/**
 	 * The supporting trie.
 	 */
-	private final PatriciaTrie<TransactionReference, MarshallableString> parent;
+	private final BufferedPatriciaTrie<TransactionReference, MarshallableString> parent;
 
 	/**
 	 * Builds a Merkle-Patricia trie that maps transaction requests into their errors.
@@ -56,7 +56,7 @@ public class TrieOfErrors {
 		try {
 			var keyValueStoreOfResponses = new KeyValueStoreOnXodus(store, txn, root);
 			var hashingForNodes = HashingAlgorithms.sha256(Node::toByteArray);
-			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes, MarshallableString::from, UnmarshallingContexts::of, numberOfCommits);
+			parent = new BufferedPatriciaTrie<>(PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes, MarshallableString::from, UnmarshallingContexts::ofAnyFormat, numberOfCommits));
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -108,6 +108,14 @@ public class TrieOfErrors {
 		}
 	}
 
+	/**
+	 * Writes into the database the bindings put into this trie since the last flush.
+	 * Each node affected by those bindings gets hashed and persisted only once.
+	 */
+	public void flush() {
+		parent.flush();
+	}
+
 	/**
 	 * Garbage-collects all keys that have been updated during the given number of commit.
 	 * 
@@ -18,12 +18,14 @@ package io.hotmoka.stores.internal;
 
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.values.StorageReference;
 import io.hotmoka.crypto.HashingAlgorithms;
+import io.hotmoka.marshalling.LegacyFraming;
 import io.hotmoka.patricia.Node;
 import io.hotmoka.patricia.PatriciaTrie;
 import io.hotmoka.xodus.env.Store;
@@ -38,7 +40,7 @@ public class TrieOfHistories {
 	/**
 	 * The supporting trie.
 	 */
-	private final PatriciaTrie<StorageReference, MarshallableArrayOfTransactionReferences> parent;
+	private final BufferedPatriciaTrie<StorageReference, MarshallableArrayOfTransactionReferences> parent;
 
 	/**
 	 * Builds a Merkle-Patricia trie that maps references to storage references into
@@ -51,14 +53,21 @@ public class TrieOfHistories {
 	 *                        will record which data must be garbage collected (eventually)
 	 *                        as result of the store updates performed during that commit; you can pass
 	 *                        -1L if the trie is used only for reading
+	 * @param legacyFormat true if and only if the trie belongs to a store created in the legacy
+	 *                     marshalling format, whose storage references are hashed into keys
+	 *                     from their bytes with the legacy framing
 	 */
-	public TrieOfHistories(Store store, Transaction txn, byte[] root, long numberOfCommits) {
+	public TrieOfHistories(Store store, Transaction txn, byte[] root, long numberOfCommits, boolean legacyFormat) {
 		try {
 			var keyValueStoreOfHistories = new KeyValueStoreOnXodus(store, txn, root);
 			var hashingForNodes = HashingAlgorithms.sha256(Node::toByteArray);
-			var hashingForStorageReferences = HashingAlgorithms.sha256(StorageReference::toByteArrayWithoutSelector);
-			parent = PatriciaTrie.of(keyValueStoreOfHistories, hashingForStorageReferences, hashingForNodes,
-					MarshallableArrayOfTransactionReferences::from, BeanUnmarshallingContext::new, numberOfCommits);
+			Function<StorageReference, byte[]> bytesOfKeys = StorageReference::toByteArrayWithoutSelector;
+			if (legacyFormat)
+				bytesOfKeys = bytesOfKeys.andThen(LegacyFraming::frame);
+
+			var hashingForStorageReferences = HashingAlgorithms.sha256(bytesOfKeys);
+			parent = new BufferedPatriciaTrie<>(PatriciaTrie.of(keyValueStoreOfHistories, hashingForStorageReferences, hashingForNodes,
+					MarshallableArrayOfTransactionReferences::from, BeanUnmarshallingContext::ofAnyFormat, numberOfCommits));
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -93,6 +102,14 @@ public class TrieOfHistories {
 		return parent.getRoot();
 	}
 
+	/**
+	 * Writes into the database the bindings put into this trie since the last flush.
+	 * Each node affected by those bindings gets hashed and persisted only once.
+	 */
+	public void flush() {
+		parent.flush();
+	}
+
 	/**
 	 * Garbage-collects all keys that have been updated during the given number of commit.
 	 * 
@@ -38,7 +38,7 @@ public class TrieOfInfo {
 	/**
 	 * The supporting trie.
 	 */
-	private final PatriciaTrie<Byte, StorageValue> parent;
+	private final BufferedPatriciaTrie<Byte, StorageValue> parent;
 
 	/**
 	 * Builds a Merkle-Patricia trie that maps miscellaneous information into their value.
@@ -75,7 +75,7 @@ public class TrieOfInfo {
 				}
 			};
 
-			parent = PatriciaTrie.of(keyValueStoreOfInfos, hashingForKeys, hashingForNodes, StorageValue::from, BeanUnmarshallingContext::new, numberOfCommits);
+			parent = new BufferedPatriciaTrie<>(PatriciaTrie.of(keyValueStoreOfInfos, hashingForKeys, hashingForNodes, StorageValue::from, BeanUnmarshallingContext::ofAnyFormat, numberOfCommits));
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unepected exception", e);
@@ -132,6 +132,14 @@ public class TrieOfInfo {
 		parent.put((byte) 1, manifest);
 	}
 
+	/**
+	 * Writes into the database the bindings put into this trie since the last flush.
+	 * Each node affected by those bindings gets hashed and persisted only once.
+	 */
+	public void flush() {
+		parent.flush();
+	}
+
 	/**
 	 * Garbage-collects all keys that have been updated during the given number of commit.
 	 * 
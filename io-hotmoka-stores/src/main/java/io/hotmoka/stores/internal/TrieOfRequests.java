@@ -17,6 +17,7 @@ limitations under the License.
 package io.hotmoka.stores.internal;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
 import java.util.Optional;
 
 import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
@@ -36,7 +37,7 @@ public class TrieOfRequests implements PatriciaTrie<TransactionReference, Transa
 	/**
 	 * The supporting trie.
 	 */
-	private final PatriciaTrie<TransactionReference, TransactionRequest<?>> parent;
+	private final BufferedPatriciaTrie<TransactionReference, TransactionRequest<?>> parent;
 
 	/**
 	 * Builds a Merkle-Patricia trie that maps references to transaction requests into their responses.
@@ -53,8 +54,8 @@ public class TrieOfRequests implements PatriciaTrie<TransactionReference, Transa
 		try {
 			var keyValueStoreOfResponses = new KeyValueStoreOnXodus(store, txn, root);
 			var hashingForNodes = HashingAlgorithms.sha256(Node::toByteArray);
-			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes,
-				TransactionRequest::from, BeanUnmarshallingContext::new, numberOfCommits);
+			parent = new BufferedPatriciaTrie<>(PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes,
+				TransactionRequest::from, BeanUnmarshallingContext::ofAnyFormat, numberOfCommits));
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -71,11 +72,24 @@ public class TrieOfRequests implements PatriciaTrie<TransactionReference, Transa
 		parent.put(key, value);
 	}
 
+	@Override
+	public void putAll(Map<? extends TransactionReference, ? extends TransactionRequest<?>> bindings) {
+		parent.putAll(bindings);
+	}
+
 	@Override
 	public byte[] getRoot() {
 		return parent.getRoot();
 	}
 
+	/**
+	 * Writes into the database the bindings put into this trie since the last flush.
+	 * Each node affected by those bindings gets hashed and persisted only once.
+	 */
+	public void flush() {
+		parent.flush();
+	}
+
 	@Override
 	public void garbageCollect(long commitNumber) {
 		parent.garbageCollect(commitNumber);
@@ -17,6 +17,8 @@ limitations under the License.
 package io.hotmoka.stores.internal;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Function;
@@ -47,7 +49,7 @@ public class TrieOfResponses implements PatriciaTrie<TransactionReference, Trans
 	/**
 	 * The supporting trie.
 	 */
-	private final PatriciaTrie<TransactionReference, TransactionResponse> parent;
+	private final BufferedPatriciaTrie<TransactionReference, TransactionResponse> parent;
 
 	/**
 	 * The hashing algorithm used for the jars in the responses that included a jar.
@@ -75,8 +77,8 @@ public class TrieOfResponses implements PatriciaTrie<TransactionReference, Trans
 			this.keyValueStoreOfResponses = new KeyValueStoreOnXodus(store, txn, root);
 			var hashingForNodes = HashingAlgorithms.sha256(Node::toByteArray);
 			this.hashingForJars = HashingAlgorithms.sha256(Function.identity());
-			parent = PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes,
-					TransactionResponse::from, BeanUnmarshallingContext::new, numberOfCommits);
+			parent = new BufferedPatriciaTrie<>(PatriciaTrie.of(keyValueStoreOfResponses, new HashingForTransactionReference(), hashingForNodes,
+					TransactionResponse::from, BeanUnmarshallingContext::ofAnyFormat, numberOfCommits));
 		}
 		catch (NoSuchAlgorithmException e) {
 			throw new RuntimeException("unexpected exception", e);
@@ -159,11 +161,26 @@ public class TrieOfResponses implements PatriciaTrie<TransactionReference, Trans
 		parent.put(key, writeTransformation(value));
 	}
 
+	@Override
+	public void putAll(Map<? extends TransactionReference, ? extends TransactionResponse> bindings) {
+		var transformed = new HashMap<TransactionReference, TransactionResponse>();
+		bindings.forEach((key, value) -> transformed.put(key, writeTransformation(value)));
+		parent.putAll(transformed);
+	}
+
 	@Override
 	public byte[] getRoot() {
 		return parent.getRoot();
 	}
 
+	/**
+	 * Writes into the database the bindings put into this trie since the last flush.
+	 * Each node affected by those bindings gets hashed and persisted only once.
+	 */
+	public void flush() {
+		parent.flush();
+	}
+
 	@Override
 	public void garbageCollect(long commitNumber) {
 		parent.garbageCollect(commitNumber);
@@ -0,0 +1,107 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.stores.internal;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
+import io.hotmoka.beans.updates.Update;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.crypto.HashingAlgorithms;
+import io.hotmoka.marshalling.LegacyFraming;
+import io.hotmoka.patricia.Node;
+import io.hotmoka.patricia.PatriciaTrie;
+import io.hotmoka.xodus.env.Store;
+import io.hotmoka.xodus.env.Transaction;
+
+/**
+ * A map from storage references to an array of updates (their current <i>state</i>),
+ * backed by a Merkle-Patricia trie. The state of an object consists of its class tag
+ * and of the last update to each of its fields.
+ */
+public class TrieOfStates {
+
+	/**
+	 * The supporting trie.
+	 */
+	private final BufferedPatriciaTrie<StorageReference, MarshallableArrayOfUpdates> parent;
+
+	/**
+	 * Builds a Merkle-Patricia trie that maps references to storage references into
+	 * an array of updates (their current <i>state</i>).
+	 * 
+	 * @param store the supporting store of the database
+	 * @param txn the transaction where updates are reported
+	 * @param root the root of the trie to check out; use {@code null} if the trie is empty
+	 * @param numberOfCommits the current number of commits already executed on the store; this trie
+	 *                        will record which data must be garbage collected (eventually)
+	 *                        as result of the store updates performed during that commit; you can pass
+	 *                        -1L if the trie is used only for reading
+	 * @param legacyFormat true if and only if the trie belongs to a store created in the legacy
+	 *                     marshalling format, whose storage references are hashed into keys
+	 *                     from their bytes with the legacy framing
+	 */
+	public TrieOfStates(Store store, Transaction txn, byte[] root, long numberOfCommits, boolean legacyFormat) {
+		try {
+			var keyValueStoreOfStates = new KeyValueStoreOnXodus(store, txn, root);
+			var hashingForNodes = HashingAlgorithms.sha256(Node::toByteArray);
+			Function<StorageReference, byte[]> bytesOfKeys = StorageReference::toByteArrayWithoutSelector;
+			if (legacyFormat)
+				bytesOfKeys = bytesOfKeys.andThen(LegacyFraming::frame);
+
+			var hashingForStorageReferences = HashingAlgorithms.sha256(bytesOfKeys);
+			parent = new BufferedPatriciaTrie<>(PatriciaTrie.of(keyValueStoreOfStates, hashingForStorageReferences, hashingForNodes,
+					MarshallableArrayOfUpdates::from, BeanUnmarshallingContext::ofAnyFormat, numberOfCommits));
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("unexpected exception", e);
+		}
+	}
+
+	public Stream<Update> get(StorageReference key) {
+		Optional<MarshallableArrayOfUpdates> result = parent.get(key);
+		return result.isEmpty() ? Stream.empty() : Stream.of(result.get().updates);
+	}
+
+	public void put(StorageReference key, Stream<Update> state) {
+		parent.put(key, new MarshallableArrayOfUpdates(state.toArray(Update[]::new)));
+	}
+
+	public byte[] getRoot() {
+		return parent.getRoot();
+	}
+
+	/**
+	 * Writes into the database the bindings put into this trie since the last flush.
+	 * Each node affected by those bindings gets hashed and persisted only once.
+	 */
+	public void flush() {
+		parent.flush();
+	}
+
+	/**
+	 * Garbage-collects all keys that have been updated during the given number of commit.
+	 * 
+	 * @param commitNumber the number of the commit to garbage collect
+	 */
+	public void garbageCollect(long commitNumber) {
+		parent.garbageCollect(commitNumber);
+	}
+}
@@ -16,21 +16,37 @@ limitations under the License.
 
 package io.hotmoka.tendermint.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import io.hotmoka.annotations.ThreadSafe;
+import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.references.TransactionReference;
 import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.TransactionResponse;
 import io.hotmoka.crypto.HashingAlgorithms;
 import io.hotmoka.crypto.api.HashingAlgorithm;
 import io.hotmoka.stores.PartialTrieBasedWithHistoryStore;
 import io.hotmoka.tendermint.TendermintBlockchainConfig;
+import io.hotmoka.xodus.ByteIterable;
+import io.hotmoka.xodus.env.Transaction;
 
 /**
- * A partial trie-based store. Errors and requests are recovered by asking
- * Tendermint, since it keeps such information inside its blocks.
+ * A partial trie-based store. Errors and requests are not kept in tries,
+ * since Tendermint keeps such information inside its blocks. Nevertheless, they
+ * are kept in a local index, outside the tries, so that they can be recovered
+ * without asking Tendermint. Tendermint is asked only for transactions
+ * delivered before the local index was introduced in the store.
  */
 @ThreadSafe
 class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig> {
@@ -45,6 +61,49 @@ class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig>
 	 */
 	private final HashingAlgorithm<byte[]> hashOfHashes;
 
+	/**
+	 * The Xodus store that maps each transaction reference into its request,
+	 * in the format of {@link #encode(byte[])}. It is append-only.
+	 */
+	private final io.hotmoka.xodus.env.Store storeOfRequests;
+
+	/**
+	 * The Xodus store that maps each transaction reference into the error
+	 * generated by its request, in the format of {@link #encode(byte[])}. The error of a reference
+	 * gets replaced if the reference is rejected again and removed if the reference is later
+	 * delivered successfully, so that it never reports a stale error.
+	 */
+	private final io.hotmoka.xodus.env.Store storeOfErrors;
+
+	/**
+	 * True if and only if {@link #storeOfRequests} and {@link #storeOfErrors} contain
+	 * the requests and errors of all transactions delivered to this store. This is false
+	 * for stores created before the introduction of the local index, that must
+	 * consequently ask Tendermint for what is not found locally.
+	 */
+	private final boolean indexIsComplete;
+
+	/**
+	 * The key used inside {@link #storeOfRequests} to mark that the local index is complete.
+	 * It cannot clash with a transaction reference, since it has a different length.
+	 */
+	private final static ByteIterable COMPLETE = ByteIterable.fromBytes("complete".getBytes());
+
+	/**
+	 * The tag of encoded data kept as it is.
+	 */
+	private final static byte UNCOMPRESSED = 0;
+
+	/**
+	 * The tag of encoded data that has been compressed.
+	 */
+	private final static byte COMPRESSED = 1;
+
+	/**
+	 * Data shorter than this number of bytes is not worth compressing.
+	 */
+	private final static int MIN_SIZE_FOR_COMPRESSION = 128;
+
 	/**
      * Creates a store for the Tendermint blockchain.
      * It is initialized to the view of the last checked out root.
@@ -57,8 +116,25 @@ class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig>
 
     	this.nodeInternal = nodeInternal;
 
+    	AtomicReference<io.hotmoka.xodus.env.Store> storeOfRequests = new AtomicReference<>();
+    	AtomicReference<io.hotmoka.xodus.env.Store> storeOfErrors = new AtomicReference<>();
+
+    	env.executeInTransaction(txn -> {
+    		storeOfRequests.set(env.openStoreWithoutDuplicates("local_requests", txn));
+    		storeOfErrors.set(env.openStoreWithoutDuplicates("local_errors", txn));
+    	});
+
+    	this.storeOfRequests = storeOfRequests.get();
+    	this.storeOfErrors = storeOfErrors.get();
+
     	setRootsAsCheckedOut();
 
+    	// if the store is empty, the local index will contain all transactions delivered from now on
+    	if (isEmpty())
+    		env.executeInTransaction(txn -> this.storeOfRequests.put(txn, COMPLETE, ByteIterable.fromByte(UNCOMPRESSED)));
+
+    	this.indexIsComplete = env.computeInReadonlyTransaction(txn -> this.storeOfRequests.get(txn, COMPLETE) != null);
+
     	try {
     		this.hashOfHashes = HashingAlgorithms.sha256(Function.identity());
     	}
@@ -77,23 +153,176 @@ class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig>
 
     	this.nodeInternal = parent.nodeInternal;
     	this.hashOfHashes = parent.hashOfHashes;
+    	this.storeOfRequests = parent.storeOfRequests;
+    	this.storeOfErrors = parent.storeOfErrors;
+    	this.indexIsComplete = parent.indexIsComplete;
     }
 
     @Override
 	public Optional<String> getError(TransactionReference reference) {
-    	// error messages are held inside the Tendermint blockchain
-    	return nodeInternal.getPoster().getErrorMessage(reference.getHash());
+    	byte[] error = getFromIndex(storeOfErrors, reference);
+    	if (error != null)
+    		return Optional.of(new String(error, StandardCharsets.UTF_8));
+    	else if (indexIsComplete || getFromIndex(storeOfRequests, reference) != null)
+    		// the transaction is not known or it has been delivered without errors
+    		return Optional.empty();
+    	else
+    		// error messages are held inside the Tendermint blockchain as well
+    		return nodeInternal.getPoster().getErrorMessage(reference.getHash());
 	}
 
 	@Override
 	public Optional<TransactionRequest<?>> getRequest(TransactionReference reference) {
-		// requests are held inside the Tendermint blockchain
-		return nodeInternal.getPoster().getRequest(reference.getHash());
+		byte[] request = getFromIndex(storeOfRequests, reference);
+		if (request != null) {
+			try (var context = BeanUnmarshallingContext.ofAnyFormat(new ByteArrayInputStream(request))) {
+				return Optional.of(TransactionRequest.from(context));
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		else if (indexIsComplete)
+			return Optional.empty();
+		else
+			// requests are held inside the Tendermint blockchain as well
+			return nodeInternal.getPoster().getRequest(reference.getHash());
 	}
 
 	@Override
 	public void push(TransactionReference reference, TransactionRequest<?> request, String errorMessage) {
-		// nothing to do, since Tendermint keeps error messages inside the blockchain, in the field "data" of its transactions
+		// Tendermint keeps error messages inside the blockchain, in the field "data" of its transactions,
+		// but we keep them locally as well, to avoid asking Tendermint for them
+		synchronized (lock) {
+			addToIndex(storeOfRequests, reference, request.toByteArray());
+			putInIndex(storeOfErrors, reference, errorMessage.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	@Override
+	protected void setResponse(TransactionReference reference, TransactionRequest<?> request, TransactionResponse response) {
+		super.setResponse(reference, request, response);
+
+		// Tendermint keeps requests inside the blockchain, but we keep them locally as well
+		addToIndex(storeOfRequests, reference, request.toByteArray());
+		// the request might have been rejected before
+		removeFromIndex(storeOfErrors, reference);
+	}
+
+	/**
+	 * Adds the given data to the given Xodus store of the local index, inside the current transaction,
+	 * unless the reference is already bound in that store.
+	 * 
+	 * @param store the Xodus store
+	 * @param reference the reference of the transaction whose data is being added
+	 * @param data the data
+	 */
+	private void addToIndex(io.hotmoka.xodus.env.Store store, TransactionReference reference, byte[] data) {
+		Transaction txn = getCurrentTransaction();
+		ByteIterable key = ByteIterable.fromBytes(reference.getHashAsBytes());
+		if (store.get(txn, key) == null)
+			store.put(txn, key, ByteIterable.fromBytes(encode(data)));
+	}
+
+	/**
+	 * Binds the given data to the given reference in the given Xodus store of the local index,
+	 * inside the current transaction, replacing the data already bound to the reference, if any.
+	 * 
+	 * @param store the Xodus store
+	 * @param reference the reference of the transaction whose data is being put
+	 * @param data the data
+	 */
+	private void putInIndex(io.hotmoka.xodus.env.Store store, TransactionReference reference, byte[] data) {
+		store.put(getCurrentTransaction(), ByteIterable.fromBytes(reference.getHashAsBytes()), ByteIterable.fromBytes(encode(data)));
+	}
+
+	/**
+	 * Removes the data bound to the given reference in the given Xodus store of the local index,
+	 * inside the current transaction, if any.
+	 * 
+	 * @param store the Xodus store
+	 * @param reference the reference of the transaction whose data is being removed
+	 */
+	private void removeFromIndex(io.hotmoka.xodus.env.Store store, TransactionReference reference) {
+		Transaction txn = getCurrentTransaction();
+		ByteIterable key = ByteIterable.fromBytes(reference.getHashAsBytes());
+		if (store.get(txn, key) != null)
+			store.remove(txn, key);
+	}
+
+	/**
+	 * Yields the data bound to the given reference in the given Xodus store of the local index.
+	 * Only committed data is visible.
+	 * 
+	 * @param store the Xodus store
+	 * @param reference the reference of the transaction
+	 * @return the data, or {@code null} if the reference is not bound in {@code store}
+	 */
+	private byte[] getFromIndex(io.hotmoka.xodus.env.Store store, TransactionReference reference) {
+		ByteIterable encoded = env.computeInReadonlyTransaction(txn -> store.get(txn, ByteIterable.fromBytes(reference.getHashAsBytes())));
+		return encoded == null ? null : decode(encoded.getBytes());
+	}
+
+	/**
+	 * Encodes the given data for the local index. Data is compressed if that makes it smaller.
+	 * The result starts with a tag that specifies if compression has been applied.
+	 * 
+	 * @param data the data to encode
+	 * @return the encoded data
+	 */
+	private static byte[] encode(byte[] data) {
+		if (data.length >= MIN_SIZE_FOR_COMPRESSION) {
+			var deflater = new Deflater(Deflater.BEST_SPEED);
+			try {
+				deflater.setInput(data);
+				deflater.finish();
+				// the compressed data is useful only if it fits in this buffer
+				byte[] buffer = new byte[data.length];
+				int length = deflater.deflate(buffer);
+				if (deflater.finished() && 5 + length < 1 + data.length)
+					return ByteBuffer.allocate(5 + length).put(COMPRESSED).putInt(data.length).put(buffer, 0, length).array();
+			}
+			finally {
+				deflater.end();
+			}
+		}
+
+		return ByteBuffer.allocate(1 + data.length).put(UNCOMPRESSED).put(data).array();
+	}
+
+	/**
+	 * Decodes data from the local index, encoded through {@link #encode(byte[])}.
+	 * 
+	 * @param encoded the encoded data
+	 * @return the original data
+	 */
+	private static byte[] decode(byte[] encoded) {
+		var buffer = ByteBuffer.wrap(encoded);
+		byte tag = buffer.get();
+		if (tag == UNCOMPRESSED) {
+			byte[] data = new byte[buffer.remaining()];
+			buffer.get(data);
+			return data;
+		}
+		else if (tag == COMPRESSED) {
+			var inflater = new Inflater();
+			try {
+				byte[] data = new byte[buffer.getInt()];
+				inflater.setInput(encoded, 5, encoded.length - 5);
+				if (inflater.inflate(data) != data.length || !inflater.finished())
+					throw new IllegalStateException("corrupted data in the local index of the store");
+
+				return data;
+			}
+			catch (DataFormatException e) {
+				throw new IllegalStateException("corrupted data in the local index of the store", e);
+			}
+			finally {
+				inflater.end();
+			}
+		}
+		else
+			throw new IllegalStateException("unexpected tag " + tag + " in the local index of the store");
 	}
 
 	/**
@@ -126,6 +355,33 @@ class Store extends PartialTrieBasedWithHistoryStore<TendermintBlockchainConfig>
 		return bytes;
 	}
 
+	/**
+	 * Yields a snapshot of this store, that sees the state committed at the time
+	 * of the call and does not change afterwards. Since this store is not checkable,
+	 * the state of the snapshot is preserved from garbage-collection only until
+	 * {@link #releaseSnapshot(Store)} is called.
+	 * 
+	 * @return the snapshot
+	 */
+	Store mkSnapshot() {
+		// we hold the lock of the commits, so that the state seen by the snapshot
+		// cannot get garbage-collected before the snapshot is open
+		synchronized (lock) {
+			Store snapshot = new Store(this);
+			snapshot.openAsSnapshot();
+			return snapshot;
+		}
+	}
+
+	/**
+	 * Releases a snapshot previously created by {@link #mkSnapshot()}.
+	 * 
+	 * @param snapshot the snapshot
+	 */
+	void releaseSnapshot(Store snapshot) {
+		snapshot.closeAsSnapshot();
+	}
+
 	/**
 	 * Commits the current transaction and checks it out, so that it becomes
 	 * the current view of the world of this store.
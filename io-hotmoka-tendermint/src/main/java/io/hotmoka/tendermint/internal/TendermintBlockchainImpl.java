@@ -22,17 +22,16 @@ import static io.hotmoka.exceptions.UncheckPredicate.uncheck;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.math.BigInteger;
 import java.net.ConnectException;
-import java.net.HttpURLConnection;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
@@ -204,6 +203,16 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		return new Store(this, new TendermintBlockchainInternalImpl());
 	}
 
+	@Override
+	protected Optional<Store> mkSnapshotOfStore() {
+		return Optional.of(store.mkSnapshot());
+	}
+
+	@Override
+	protected void releaseSnapshotOfStore(Store snapshot) {
+		store.releaseSnapshot(snapshot);
+	}
+
 	@Override
 	protected void postRequest(TransactionRequest<?> request) {
 		poster.postRequest(request);
@@ -229,10 +238,22 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 	 */
 	private final Set<TransactionResponseWithEvents> responsesWithEventsToNotify = new HashSet<>();
 
+	@Override
+	protected void scheduleForNotificationOfOutcome(TransactionReference reference) {
+		transactionsWithOutcomeToNotify.add(reference);
+	}
+
+	/**
+	 * The transactions whose outcome must be notified at the next commit, when it becomes visible.
+	 */
+	private final List<TransactionReference> transactionsWithOutcomeToNotify = new ArrayList<>();
+
 	private void commitTransactionAndCheckout() {
 		store.commitTransactionAndCheckout();
 		responsesWithEventsToNotify.forEach(this::notifyEventsOf);
 		responsesWithEventsToNotify.clear();
+		transactionsWithOutcomeToNotify.forEach(this::notifyOutcomeOf);
+		transactionsWithOutcomeToNotify.clear();
 	}
 
 	private static final BigInteger _50_000 = BigInteger.valueOf(50_000);
@@ -260,22 +281,22 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		StorageReference validators = caches.getValidators().get(); // the manifest is already set
 		TransactionReference takamakaCode = getTakamakaCode();
 
-		StorageReference shares = (StorageReference) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+		StorageReference shares = (StorageReference) runInstanceMethodCallTransactionUncommitted(new InstanceMethodCallTransactionRequest
 			(manifest, _50_000, takamakaCode, GET_SHARES, validators));
 
-		int numOfValidators = ((IntValue) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+		int numOfValidators = ((IntValue) runInstanceMethodCallTransactionUncommitted(new InstanceMethodCallTransactionRequest
 			(manifest, _50_000, takamakaCode, SIZE, shares))).value;
 
 		TendermintValidator[] result = new TendermintValidator[numOfValidators];
 
 		for (int num = 0; num < numOfValidators; num++) {
-			StorageReference validator = (StorageReference) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+			StorageReference validator = (StorageReference) runInstanceMethodCallTransactionUncommitted(new InstanceMethodCallTransactionRequest
 				(manifest, _50_000, takamakaCode, SELECT, shares, new IntValue(num)));
 
-			String id = ((StringValue) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+			String id = ((StringValue) runInstanceMethodCallTransactionUncommitted(new InstanceMethodCallTransactionRequest
 				(manifest, _50_000, takamakaCode, CodeSignature.ID, validator))).value;
 
-			long power = ((BigIntegerValue) runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+			long power = ((BigIntegerValue) runInstanceMethodCallTransactionUncommitted(new InstanceMethodCallTransactionRequest
 				(manifest, _50_000, takamakaCode, GET, shares, validator))).value.longValue();
 
 			String publicKey = storeUtilities.getPublicKeyUncommitted(validator);
@@ -432,10 +453,8 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 		private void waitUntilTendermintProcessIsUp(TendermintBlockchainConfig config) throws TimeoutException, InterruptedException, IOException {
 			for (int reconnections = 1; reconnections <= config.maxPingAttempts; reconnections++) {
 				try {
-					HttpURLConnection connection = poster.openPostConnectionToTendermint();
-					try (OutputStream os = connection.getOutputStream(); InputStream is = connection.getInputStream()) {
-						return;
-					}
+					poster.ping();
+					return;
 				}
 				catch (ConnectException e) {
 					// take a nap, then try again
@@ -450,7 +469,7 @@ public class TendermintBlockchainImpl extends AbstractLocalNode<TendermintBlockc
 				logger.log(Level.SEVERE, "Cannot close the Tendermint process", e);
 			}
 
-			throw new TimeoutException("cannot connect to Tendermint process at " + poster.url() + ". Tried " + config.maxPingAttempts + " times");
+			throw new TimeoutException("cannot connect to Tendermint process at " + poster.uri() + ". Tried " + config.maxPingAttempts + " times");
 		}
 	}
 
@@ -16,26 +16,34 @@ limitations under the License.
 
 package io.hotmoka.tendermint.internal;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.net.ConnectException;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 
 import io.hotmoka.beans.marshalling.BeanUnmarshallingContext;
 import io.hotmoka.beans.requests.TransactionRequest;
@@ -51,49 +59,183 @@ import io.hotmoka.tendermint.internal.beans.TendermintValidatorsResponse;
 import io.hotmoka.tendermint.internal.beans.TxError;
 
 /**
- * An object that posts requests to a Tendermint process.
+ * An object that posts requests to a Tendermint process. It keeps a single HTTP client,
+ * whose connections to the Tendermint process are kept alive and reused across requests.
+ * Concurrent {@code broadcast_tx_async} requests are grouped into JSON-RPC batches,
+ * so that many transactions get posted with a single round-trip.
  */
 public class TendermintPoster {
 	private final static Logger logger = Logger.getLogger(TendermintPoster.class.getName());
 
 	private final TendermintBlockchainConfig config;
 
-	/**
-	 * The port of the Tendermint process on localhost.
-	 */
-	private final int tendermintPort;
-
 	/**
 	 * An object for JSON manipulation.
 	 */
 	private final Gson gson = new Gson();
 
+	/**
+	 * The identifier of the next JSON-RPC request.
+	 */
 	private final AtomicInteger nextId = new AtomicInteger();
 
+	/**
+	 * The client used to connect to the Tendermint process. It pools its connections
+	 * and keeps them alive, hence it must be shared by all requests.
+	 */
+	private final HttpClient client;
+
+	/**
+	 * The URI of the Tendermint process.
+	 */
+	private final URI uri;
+
+	/**
+	 * The maximal size, in bytes, of the transactions posted inside the same batch.
+	 * It is kept below the default limit on the size of the body of requests in Tendermint.
+	 */
+	private final static int MAX_BATCH_SIZE = 512 * 1024;
+
+	/**
+	 * The transactions waiting to be broadcast to Tendermint, in order of arrival.
+	 */
+	private final Queue<PendingTransaction> pending = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * The lock held while broadcasting a batch of transactions.
+	 */
+	private final Object broadcastLock = new Object();
+
+	/**
+	 * A transaction waiting to be broadcast to Tendermint.
+	 */
+	private static class PendingTransaction {
+
+		/**
+		 * The transaction, in base64.
+		 */
+		private final String tx;
+
+		/**
+		 * Completed with the error reported by Tendermint for the transaction, if any,
+		 * or exceptionally if the transaction could not be broadcast.
+		 */
+		private final CompletableFuture<Optional<TxError>> outcome = new CompletableFuture<>();
+
+		private PendingTransaction(String tx) {
+			this.tx = tx;
+		}
+	}
+
 	TendermintPoster(TendermintBlockchainConfig config, int tendermintPort) {
 		this.config = config;
-		this.tendermintPort = tendermintPort;
+		this.uri = URI.create("http://127.0.0.1:" + tendermintPort);
+		this.client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofMillis(Math.max(1000L, (long) config.maxPingAttempts * config.pingDelay)))
+			.build();
 	}
 
 	/**
 	 * Sends the given {@code request} to the Tendermint process, inside a {@code broadcast_tx_async} Tendermint request.
+	 * If other threads are posting requests concurrently, they might get sent together, in the same batch.
 	 * 
 	 * @param request the request to send
 	 */
 	void postRequest(TransactionRequest<?> request) {
+		var transaction = new PendingTransaction(Base64.getEncoder().encodeToString(request.toByteArray()));
+		pending.add(transaction);
+
 		try {
-			String jsonTendermintRequest = "{\"method\": \"broadcast_tx_async\", \"params\": {\"tx\": \"" + Base64.getEncoder().encodeToString(request.toByteArray()) + "\"}, \"id\": " + nextId.getAndIncrement() + "}";
-			String response = postToTendermint(jsonTendermintRequest);
+			// the first thread that gets the lock broadcasts all transactions pending at that moment,
+			// including those of the threads waiting for the lock, that will find their transaction already broadcast
+			synchronized (broadcastLock) {
+				if (!transaction.outcome.isDone())
+					broadcastPending();
+			}
 
-			TendermintBroadcastTxResponse parsedResponse = gson.fromJson(response, TendermintBroadcastTxResponse.class);
-			TxError error = parsedResponse.error;
-			if (error != null)
-				throw new RuntimeException("Tendermint transaction failed: " + error.message + ": " + error.data);
+			Optional<TxError> error = transaction.outcome.get();
+			if (error.isPresent())
+				throw new RuntimeException("Tendermint transaction failed: " + error.get().message + ": " + error.get().data);
 		}
-		catch (InterruptedException | TimeoutException | IOException e) {
-			logger.log(Level.WARNING, "failed posting request", e);
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.log(Level.WARNING, "interrupted while posting request", e);
 			throw new RuntimeException(e);
 		}
+		catch (ExecutionException e) {
+			logger.log(Level.WARNING, "failed posting request", e.getCause());
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * Broadcasts the pending transactions to Tendermint, in batches, and completes their outcome.
+	 * The caller must hold {@link #broadcastLock}.
+	 * 
+	 * @throws InterruptedException if the current thread was interrupted while broadcasting
+	 */
+	private void broadcastPending() throws InterruptedException {
+		List<PendingTransaction> batch;
+		while (!(batch = nextBatch()).isEmpty()) {
+			try {
+				broadcast(batch);
+			}
+			catch (IOException | TimeoutException | RuntimeException e) {
+				for (var transaction: batch)
+					transaction.outcome.completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * Removes from the queue of pending transactions the next batch to broadcast.
+	 * 
+	 * @return the batch, in order of arrival; this is empty only if there are no pending transactions
+	 */
+	private List<PendingTransaction> nextBatch() {
+		var batch = new ArrayList<PendingTransaction>();
+		int size = 0;
+		PendingTransaction transaction;
+		while (size < MAX_BATCH_SIZE && (transaction = pending.poll()) != null) {
+			batch.add(transaction);
+			size += transaction.tx.length();
+		}
+
+		return batch;
+	}
+
+	/**
+	 * Broadcasts the given transactions to Tendermint, with a single JSON-RPC batch, and completes their outcome.
+	 * 
+	 * @param batch the transactions
+	 * @throws IOException if an I/O error occurred
+	 * @throws TimeoutException if writing the request failed after repeated trying for some time
+	 * @throws InterruptedException if the current thread was interrupted while writing the request
+	 */
+	private void broadcast(List<PendingTransaction> batch) throws IOException, TimeoutException, InterruptedException {
+		var requests = new JsonArray();
+		Map<Long, PendingTransaction> transactions = new HashMap<>();
+		for (var transaction: batch) {
+			var params = new JsonObject();
+			params.addProperty("tx", transaction.tx);
+			int id = nextId.getAndIncrement();
+			requests.add(jsonRpcRequest("broadcast_tx_async", params, id));
+			transactions.put((long) id, transaction);
+		}
+
+		TendermintBroadcastTxResponse[] responses = gson.fromJson(postToTendermint(requests.toString()), TendermintBroadcastTxResponse[].class);
+		if (responses == null)
+			throw new RuntimeException("no response from Tendermint for a batch of " + batch.size() + " transactions");
+
+		for (var response: responses) {
+			PendingTransaction transaction = transactions.remove(response.id);
+			if (transaction != null)
+				transaction.outcome.complete(Optional.ofNullable(response.error));
+		}
+
+		for (var transaction: transactions.values())
+			transaction.outcome.completeExceptionally(new RuntimeException("no response from Tendermint for a broadcast transaction"));
 	}
 
 	/**
@@ -115,7 +257,8 @@ public class TendermintPoster {
 				throw new RuntimeException("no Hotmoka request in Tendermint response");
 
 			byte[] decoded = Base64.getDecoder().decode(tx);
-			try (var context = new BeanUnmarshallingContext(new ByteArrayInputStream(decoded))) {
+			// blocks created before the removal of the legacy framing hold requests in the legacy format
+			try (var context = BeanUnmarshallingContext.ofAnyFormat(new ByteArrayInputStream(decoded))) {
 				return Optional.of(TransactionRequest.from(context));
 			}
 		}
@@ -269,29 +412,23 @@ public class TendermintPoster {
 	}
 
 	/**
-	 * Opens a http POST connection to the Tendermint process.
+	 * Checks that the Tendermint process is up and accepts connections.
 	 * 
-	 * @return the connection
-	 * @throws IOException if the connection cannot be opened
+	 * @throws ConnectException if the Tendermint process does not accept connections
+	 * @throws IOException if another I/O error occurred
+	 * @throws InterruptedException if the current thread was interrupted while pinging
 	 */
-	HttpURLConnection openPostConnectionToTendermint() throws IOException {
-		HttpURLConnection con = (HttpURLConnection) url().openConnection();
-		con.setRequestMethod("POST");
-		con.setRequestProperty("Content-Type", "application/json; UTF-8");
-		con.setRequestProperty("Accept", "application/json");
-		con.setDoOutput(true);
-	
-		return con;
+	void ping() throws IOException, InterruptedException {
+		client.send(HttpRequest.newBuilder(uri).POST(BodyPublishers.noBody()).build(), BodyHandlers.discarding());
 	}
 
 	/**
-	 * Yields the URL of the Tendermint process.
+	 * Yields the URI of the Tendermint process.
 	 * 
-	 * @return the URL
-	 * @throws MalformedURLException if the URL is not well formed
+	 * @return the URI
 	 */
-	URL url() throws MalformedURLException {
-		return new URL("http://127.0.0.1:" + tendermintPort);
+	URI uri() {
+		return uri;
 	}
 
 	private static TendermintValidator intoTendermintValidator(TendermintValidatorPriority validatorPriority) {
@@ -318,8 +455,10 @@ public class TendermintPoster {
 	 * @throws InterruptedException if the current thread was interrupted while writing the request
 	 */
 	private String validators(int page, int perPage) throws IOException, TimeoutException, InterruptedException {
-		String jsonTendermintRequest = "{\"method\": \"validators\", \"params\": {\"page\": \"" + page + "\", \"per_page\": \"" + perPage + "\"}, \"id\": " + nextId.getAndIncrement() + "}";
-		return postToTendermint(jsonTendermintRequest);
+		var params = new JsonObject();
+		params.addProperty("page", String.valueOf(page));
+		params.addProperty("per_page", String.valueOf(perPage));
+		return postToTendermint(jsonRpcRequest("validators", params, nextId.getAndIncrement()).toString());
 	}
 
 	/*public String tx_search(String query) throws Exception {
@@ -351,10 +490,10 @@ public class TendermintPoster {
 	 * @throws InterruptedException if the current thread was interrupted while writing the request
 	 */
 	private String tx(String hash) throws IOException, TimeoutException, InterruptedException {
-		String jsonTendermintRequest = "{\"method\": \"tx\", \"params\": {\"hash\": \"" +
-			Base64.getEncoder().encodeToString(hexStringToByteArray(hash)) + "\", \"prove\": false}, \"id\": " + nextId.getAndIncrement() + "}";
-	
-		return postToTendermint(jsonTendermintRequest);
+		var params = new JsonObject();
+		params.addProperty("hash", Base64.getEncoder().encodeToString(hexStringToByteArray(hash)));
+		params.addProperty("prove", false);
+		return postToTendermint(jsonRpcRequest("tx", params, nextId.getAndIncrement()).toString());
 	}
 
 	/**
@@ -368,8 +507,7 @@ public class TendermintPoster {
 	 * @throws InterruptedException if the current thread was interrupted while writing the request
 	 */
 	private String genesis() throws IOException, TimeoutException, InterruptedException {
-		String jsonTendermintRequest = "{\"method\": \"genesis\", \"id\": " + nextId.getAndIncrement() + "}";
-		return postToTendermint(jsonTendermintRequest);
+		return postToTendermint(jsonRpcRequest("genesis", null, nextId.getAndIncrement()).toString());
 	}
 
 	/**
@@ -382,8 +520,7 @@ public class TendermintPoster {
 	 * @throws InterruptedException if the current thread was interrupted while writing the request
 	 */
 	private String status() throws IOException, TimeoutException, InterruptedException {
-		String jsonTendermintRequest = "{\"method\": \"status\", \"id\": " + nextId.getAndIncrement() + "}";
-		return postToTendermint(jsonTendermintRequest);
+		return postToTendermint(jsonRpcRequest("status", null, nextId.getAndIncrement()).toString());
 	}
 
 	/**
@@ -402,52 +539,48 @@ public class TendermintPoster {
 	}
 
 	/**
-	 * Sends a POST request to the Tendermint process and yields the response.
+	 * Builds a JSON-RPC request for the Tendermint process.
 	 * 
-	 * @param jsonTendermintRequest the request to post, in JSON format
-	 * @return the response
-	 * @throws IOException if an I/O error occurred
-	 * @throws TimeoutException if writing failed after repeated trying for some time
-	 * @throws InterruptedException if the current thread was interrupted while writing
+	 * @param method the method of the request
+	 * @param params the parameters of the request; this can be {@code null}
+	 * @param id the identifier of the request
+	 * @return the request
 	 */
-	private String postToTendermint(String jsonTendermintRequest) throws IOException, TimeoutException, InterruptedException {
-		HttpURLConnection connection = openPostConnectionToTendermint();
-		writeInto(connection, jsonTendermintRequest);
-		return readFrom(connection);
-	}
+	private static JsonObject jsonRpcRequest(String method, JsonObject params, int id) {
+		var request = new JsonObject();
+		request.addProperty("jsonrpc", "2.0");
+		request.addProperty("method", method);
+		if (params != null)
+			request.add("params", params);
 
-	/**
-	 * Reads the response from the given connection.
-	 * 
-	 * @param connection the connection
-	 * @return the response
-	 * @throws IOException if the response couldn't be read
-	 */
-	private static String readFrom(HttpURLConnection connection) throws IOException {
-		try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-			return br.lines().collect(Collectors.joining());
-		}
+		request.addProperty("id", id);
+
+		return request;
 	}
 
 	/**
-	 * Writes the given request into the given connection.
+	 * Sends a POST request to the Tendermint process and yields the response.
+	 * The connection to the Tendermint process is reused across calls, if possible.
 	 * 
-	 * @param connection the connection
-	 * @param jsonTendermintRequest the request
+	 * @param jsonTendermintRequest the request to post, in JSON format
+	 * @return the response
 	 * @throws IOException if an I/O error occurred
 	 * @throws TimeoutException if writing failed after repeated trying for some time
 	 * @throws InterruptedException if the current thread was interrupted while writing
 	 */
-	private void writeInto(HttpURLConnection connection, String jsonTendermintRequest) throws IOException, TimeoutException, InterruptedException {
-		byte[] input = jsonTendermintRequest.getBytes(StandardCharsets.UTF_8);
+	private String postToTendermint(String jsonTendermintRequest) throws IOException, TimeoutException, InterruptedException {
+		var request = HttpRequest.newBuilder(uri)
+			.header("Content-Type", "application/json; UTF-8")
+			.header("Accept", "application/json")
+			.POST(BodyPublishers.ofString(jsonTendermintRequest))
+			.build();
 
 		for (int i = 0; i < config.maxPingAttempts; i++) {
-			try (OutputStream os = connection.getOutputStream()) {
-				os.write(input, 0, input.length);
-				return;
+			try {
+				return client.send(request, BodyHandlers.ofString()).body();
 			}
 			catch (ConnectException e) {
-				// not sure why this happens, randomly. It seems that the connection to the Tendermint process is flaky
+				// the Tendermint process might not be ready to accept connections yet
 				Thread.sleep(config.pingDelay);
 			}
 		}
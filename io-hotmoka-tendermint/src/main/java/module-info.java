@@ -22,6 +22,7 @@ module io.hotmoka.tendermint {
 	requires toml4j;
 	requires io.hotmoka.beans;
 	requires io.hotmoka.stores;
+	requires io.hotmoka.xodus;
 	requires io.hotmoka.crypto;
 	requires io.hotmoka.constants;
 	requires io.hotmoka.annotations;
@@ -33,4 +34,5 @@ module io.hotmoka.tendermint {
 	requires com.google.protobuf;
 	requires org.bouncycastle.provider;
 	requires java.logging;
+	requires java.net.http;
 }
\ No newline at end of file
@@ -0,0 +1,278 @@
+/*
+Copyright 2023 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.hotmoka.beans.Coin;
+import io.hotmoka.beans.TransactionRejectedException;
+import io.hotmoka.beans.nodes.NodeInfo;
+import io.hotmoka.beans.references.TransactionReference;
+import io.hotmoka.beans.requests.ConstructorCallTransactionRequest;
+import io.hotmoka.beans.requests.InstanceMethodCallTransactionRequest;
+import io.hotmoka.beans.requests.JarStoreTransactionRequest;
+import io.hotmoka.beans.requests.SignedTransactionRequest;
+import io.hotmoka.beans.requests.TransactionRequest;
+import io.hotmoka.beans.responses.ConstructorCallTransactionSuccessfulResponse;
+import io.hotmoka.beans.responses.TransactionResponseWithEvents;
+import io.hotmoka.beans.signatures.CodeSignature;
+import io.hotmoka.beans.signatures.ConstructorSignature;
+import io.hotmoka.beans.values.BigIntegerValue;
+import io.hotmoka.beans.values.IntValue;
+import io.hotmoka.beans.values.StorageReference;
+import io.hotmoka.beans.values.StringValue;
+import io.hotmoka.constants.Constants;
+import io.hotmoka.crypto.Entropies;
+import io.hotmoka.crypto.api.SignatureAlgorithm;
+import io.hotmoka.helpers.InitializedNode;
+import io.hotmoka.local.AbstractLocalNode;
+import io.hotmoka.local.Config;
+import io.hotmoka.nodes.ConsensusParams;
+import io.hotmoka.nodes.SignatureAlgorithmForTransactionRequests;
+import io.hotmoka.nodes.Signer;
+import io.hotmoka.stores.FullTrieBasedStore;
+
+/**
+ * A test that the parallel delivery of the transactions of a block yields the
+ * same store as their sequential delivery.
+ */
+class ParallelDelivery {
+
+	private static final BigInteger _100_000 = BigInteger.valueOf(100_000);
+	private static final BigInteger _500_000 = BigInteger.valueOf(500_000);
+	private static final BigInteger _1_000_000_000 = BigInteger.valueOf(1_000_000_000);
+	private static final ConstructorSignature CONSTRUCTOR_C = new ConstructorSignature("C");
+
+	/**
+	 * The time used for all transactions, so that the two nodes of the test evolve identically.
+	 */
+	private static final long NOW = 1_000_000_000_000L;
+
+	/**
+	 * The signature algorithm for the requests. It is deterministic, so that the
+	 * same requests get signed identically.
+	 */
+	private final SignatureAlgorithm<SignedTransactionRequest> signature;
+
+	/**
+	 * The keys of the gamete.
+	 */
+	private final KeyPair keysOfGamete;
+
+	/**
+	 * The consensus parameters of the nodes.
+	 */
+	private final ConsensusParams consensus;
+
+	ParallelDelivery() throws Exception {
+		this.signature = SignatureAlgorithmForTransactionRequests.mk("ed25519det");
+		this.keysOfGamete = keys("gamete");
+		this.consensus = new ConsensusParams.Builder()
+			.signRequestsWith("ed25519det")
+			.ignoreGasPrice(true)
+			.setInitialSupply(Coin.level7(10000000))
+			.setPublicKeyOfGamete(publicKey(keysOfGamete))
+			.build();
+	}
+
+	@Test
+	@DisplayName("a block delivered in parallel yields the same root as its sequential delivery")
+	void parallelDeliveryYieldsSequentialRoot() throws Exception {
+		try (var parallel = mkNode(); var sequential = mkNode()) {
+			// the nodes are built identically, hence they start from the same state
+			assertArrayEquals(parallel.getRoot(), sequential.getRoot());
+
+			StorageReference manifest = parallel.getManifest();
+			TransactionReference takamakaCode = parallel.getTakamakaCode();
+			StorageReference gamete = (StorageReference) parallel.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+				(manifest, _100_000, takamakaCode, CodeSignature.GET_GAMETE, manifest));
+
+			// we create three accounts, each in a block of its own
+			var keys = new KeyPair[3];
+			var accounts = new StorageReference[3];
+			for (int pos = 0; pos < accounts.length; pos++) {
+				keys[pos] = keys("account #" + pos);
+				var request = new ConstructorCallTransactionRequest(Signer.with(signature, keysOfGamete), gamete, nonceOf(parallel, gamete),
+					consensus.chainId, _100_000, BigInteger.ONE, takamakaCode, CodeSignature.EOA_CONSTRUCTOR,
+					new BigIntegerValue(_1_000_000_000), new StringValue(publicKey(keys[pos])));
+				accounts[pos] = parallel.addConstructorCallTransaction(request);
+				sequential.addConstructorCallTransaction(request);
+			}
+
+			BigInteger nonce0 = nonceOf(parallel, accounts[0]);
+			BigInteger nonce1 = nonceOf(parallel, accounts[1]);
+			BigInteger nonce2 = nonceOf(parallel, accounts[2]);
+
+			// two independent transfers
+			var transfer0to1 = new InstanceMethodCallTransactionRequest(Signer.with(signature, keys[0]), accounts[0], nonce0,
+				consensus.chainId, _100_000, BigInteger.ONE, takamakaCode, CodeSignature.RECEIVE_INT, accounts[1], new IntValue(1000));
+			var transfer2toGamete = new InstanceMethodCallTransactionRequest(Signer.with(signature, keys[2]), accounts[2], nonce2,
+				consensus.chainId, _100_000, BigInteger.ONE, takamakaCode, CodeSignature.RECEIVE_INT, gamete, new IntValue(2000));
+			// a second request from the same caller, that modifies an object modified by a previous request
+			var transfer0to2 = new InstanceMethodCallTransactionRequest(Signer.with(signature, keys[0]), accounts[0], nonce0.add(BigInteger.ONE),
+				consensus.chainId, _100_000, BigInteger.ONE, takamakaCode, CodeSignature.RECEIVE_INT, accounts[2], new IntValue(3000));
+			// a jar installed and then used in the same block
+			var installC13 = new JarStoreTransactionRequest(Signer.with(signature, keys[1]), accounts[1], nonce1,
+				consensus.chainId, _500_000, BigInteger.ONE, takamakaCode, Files.readAllBytes(Paths.get("jars/c13.jar")), takamakaCode);
+			var createC = new ConstructorCallTransactionRequest(Signer.with(signature, keys[1]), accounts[1], nonce1.add(BigInteger.ONE),
+				consensus.chainId, _100_000, BigInteger.ONE, installC13.getReference(), CONSTRUCTOR_C);
+
+			List<TransactionRequest<?>> block = List.of(transfer0to1, transfer2toGamete, transfer0to2, installC13, createC);
+			parallel.deliver(block, true);
+			sequential.deliver(block, false);
+
+			// the last request must have used the jar installed in the same block
+			assertTrue(parallel.getResponse(createC.getReference()) instanceof ConstructorCallTransactionSuccessfulResponse);
+			assertArrayEquals(sequential.getRoot(), parallel.getRoot());
+		}
+	}
+
+	private static BigInteger nonceOf(TestNode node, StorageReference account) throws Exception {
+		return ((BigIntegerValue) node.runInstanceMethodCallTransaction(new InstanceMethodCallTransactionRequest
+			(account, _100_000, node.getTakamakaCode(), CodeSignature.NONCE, account))).value;
+	}
+
+	private KeyPair keys(String password) {
+		return Entropies.of(new byte[16]).keys(password, signature);
+	}
+
+	private String publicKey(KeyPair keys) throws InvalidKeyException {
+		return Base64.getEncoder().encodeToString(signature.encodingOf(keys.getPublic()));
+	}
+
+	/**
+	 * Yields an initialized node, in a fresh directory.
+	 *
+	 * @return the node
+	 */
+	private TestNode mkNode() throws Exception {
+		var config = new TestConfigBuilder().setDir(Files.createTempDirectory("hotmoka-parallel-delivery")).build();
+		var node = new TestNode(config, consensus);
+
+		try {
+			InitializedNode.of(node, consensus, Paths.get("../modules/explicit/io-takamaka-code-" + Constants.TAKAMAKA_VERSION + ".jar"));
+			return node;
+		}
+		catch (Exception e) {
+			node.close();
+			throw e;
+		}
+	}
+
+	private static class TestConfigBuilder extends Config.Builder<TestConfigBuilder> {
+
+		@Override
+		protected TestConfigBuilder getThis() {
+			return this;
+		}
+	}
+
+	/**
+	 * A node that delivers the requests in blocks and keeps its state in a Merkle-Patricia trie,
+	 * so that its state is identified by a root.
+	 */
+	private static class TestNode extends AbstractLocalNode<Config, TestStore> {
+
+		/**
+		 * The root of the store, after the last delivered block.
+		 */
+		private byte[] root;
+
+		private TestNode(Config config, ConsensusParams consensus) throws IOException {
+			super(config, consensus);
+		}
+
+		/**
+		 * Delivers the given requests in a block and commits it.
+		 *
+		 * @param requests the requests
+		 * @param inParallel true if and only if the requests must be delivered through
+		 *                   {@link #deliverTransactions(List)}, rather than one by one
+		 */
+		private synchronized void deliver(List<TransactionRequest<?>> requests, boolean inParallel) {
+			store.beginTransaction(NOW);
+
+			if (inParallel)
+				deliverTransactions(requests);
+			else {
+				for (var request: requests) {
+					try {
+						deliverTransaction(request);
+					}
+					catch (TransactionRejectedException e) {
+						// the error has been kept in store
+					}
+				}
+			}
+
+			root = store.commitTransaction();
+			store.checkout(root);
+		}
+
+		private synchronized byte[] getRoot() {
+			return root;
+		}
+
+		@Override
+		protected TestStore mkStore() {
+			return new TestStore(this);
+		}
+
+		@Override
+		public NodeInfo getNodeInfo() {
+			return new NodeInfo(TestNode.class.getName(), Constants.HOTMOKA_VERSION, "");
+		}
+
+		@Override
+		protected void postRequest(TransactionRequest<?> request) {
+			// each posted request is delivered in a block of its own
+			deliver(List.of(request), false);
+		}
+
+		@Override
+		protected void scheduleForNotificationOfEvents(TransactionResponseWithEvents response) {
+			notifyEventsOf(response);
+		}
+
+		@Override
+		protected void scheduleForNotificationOfOutcome(TransactionReference reference) {
+			notifyOutcomeOf(reference);
+		}
+	}
+
+	private static class TestStore extends FullTrieBasedStore<Config> {
+
+		private TestStore(TestNode node) {
+			super(node, -1L);
+
+			setRootsAsCheckedOut();
+		}
+	}
+}
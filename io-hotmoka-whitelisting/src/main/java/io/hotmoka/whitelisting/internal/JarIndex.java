@@ -0,0 +1,360 @@
+/*
+Copyright 2021 Fausto Spoto
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package io.hotmoka.whitelisting.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * An index of the entries of a jar, built once from its central directory.
+ * It allows one to access an entry without scanning and inflating the entries
+ * that precede it in the jar. Entries are inflated on demand and kept in memory,
+ * so that further accesses do not inflate them again. Indexes are shared among
+ * all class loaders that use the same jar. This class is thread-safe.
+ */
+class JarIndex {
+
+	/**
+	 * The maximal number of indexes kept in memory for sharing.
+	 */
+	private final static int MAX_SHARED_INDEXES = 64;
+
+	/**
+	 * The indexes kept in memory for sharing, keyed by the content of their jar.
+	 */
+	private final static Map<ByteBuffer, JarIndex> sharedIndexes = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ByteBuffer, JarIndex> eldest) {
+			return size() > MAX_SHARED_INDEXES;
+		}
+	};
+
+	private final static int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+	private final static int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+	private final static int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+	private final static int CENTRAL_DIRECTORY_HEADER_LENGTH = 46;
+	private final static int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private final static int LOCAL_HEADER_LENGTH = 30;
+	private final static int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+	private final static int DATA_DESCRIPTOR_LENGTH = 12;
+	private final static int DATA_DESCRIPTOR_FLAG = 0x08;
+
+	/**
+	 * The jar.
+	 */
+	private final byte[] jar;
+
+	/**
+	 * The position of the entries of the jar, keyed by their name.
+	 */
+	private final Map<String, Position> positions;
+
+	/**
+	 * The entries inflated up to now, keyed by their name.
+	 */
+	private final ConcurrentMap<String, byte[]> inflated = new ConcurrentHashMap<>();
+
+	/**
+	 * The position of an entry inside the jar.
+	 */
+	private static class Position {
+
+		/**
+		 * The offset of the local header of the entry.
+		 */
+		private final int offset;
+
+		/**
+		 * The compression method of the entry.
+		 */
+		private final int method;
+
+		/**
+		 * The size of the entry, as stored in the jar.
+		 */
+		private final int compressedSize;
+
+		/**
+		 * The size of the entry, once inflated.
+		 */
+		private final int size;
+
+		private Position(int offset, int method, int compressedSize, int size) {
+			this.offset = offset;
+			this.method = method;
+			this.compressedSize = compressedSize;
+			this.size = size;
+		}
+	}
+
+	/**
+	 * Yields the index of the given jar. It is shared with the other users of the same jar, if possible.
+	 *
+	 * @param jar the jar; this must not be modified later
+	 * @return the index
+	 */
+	static JarIndex of(byte[] jar) {
+		var key = ByteBuffer.wrap(jar);
+
+		synchronized (sharedIndexes) {
+			JarIndex index = sharedIndexes.get(key);
+			if (index != null)
+				return index;
+		}
+
+		// we build the index outside the lock, since it might take some time;
+		// if more threads do the same concurrently, only the first index gets shared
+		var index = new JarIndex(jar);
+
+		synchronized (sharedIndexes) {
+			JarIndex old = sharedIndexes.putIfAbsent(key, index);
+			return old != null ? old : index;
+		}
+	}
+
+	private JarIndex(byte[] jar) {
+		this.jar = jar;
+
+		Map<String, Position> positions;
+		try {
+			positions = readCentralDirectory();
+		}
+		catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			// unusual jars, such as zip64 jars, are inflated completely
+			positions = Map.of();
+			inflateAll();
+		}
+
+		this.positions = positions;
+	}
+
+	/**
+	 * Yields the given entry of the jar.
+	 *
+	 * @param name the name of the entry
+	 * @return the content of the entry, if it exists; this must not be modified
+	 */
+	Optional<byte[]> get(String name) {
+		byte[] result = inflated.get(name);
+		if (result == null) {
+			Position position = positions.get(name);
+			if (position == null)
+				return Optional.empty();
+
+			// if more threads inflate the same entry concurrently, only the first result is kept
+			result = inflated.computeIfAbsent(name, _name -> inflate(position));
+		}
+
+		return Optional.of(result);
+	}
+
+	/**
+	 * Reads the central directory of the jar. The jar gets verified by scanning its local headers
+	 * sequentially, hence this method checks that the central directory describes exactly
+	 * the same entries: every entry in the central directory must have a local header with
+	 * the same name and sizes and the local entries must follow each other, with nothing in between
+	 * and nothing else before the central directory. Otherwise, the index might yield
+	 * entries different from those that have been verified.
+	 *
+	 * @return the position of the entries, by name; if a name occurs more than once,
+	 *         its first occurrence is used, as when scanning the jar sequentially
+	 * @throws IllegalArgumentException if the jar cannot be indexed
+	 */
+	private Map<String, Position> readCentralDirectory() {
+		ByteBuffer buffer = ByteBuffer.wrap(jar).order(ByteOrder.LITTLE_ENDIAN);
+
+		// the end of central directory record is followed by a comment of at most 65535 bytes
+		int end = jar.length - END_OF_CENTRAL_DIRECTORY_LENGTH;
+		int limit = Math.max(0, end - 0xffff);
+		while (end >= limit && buffer.getInt(end) != END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+			end--;
+
+		if (end < limit)
+			throw new IllegalArgumentException("missing end of central directory");
+
+		int entries = Short.toUnsignedInt(buffer.getShort(end + 10));
+		long start = Integer.toUnsignedLong(buffer.getInt(end + 16));
+		if (entries == 0xffff || start >= end)
+			throw new IllegalArgumentException("zip64 jars are not supported");
+
+		Map<String, Position> positions = new HashMap<>();
+		var ends = new TreeMap<Integer, Integer>();
+		int cursor = (int) start;
+		for (int counter = 0; counter < entries; counter++) {
+			if (buffer.getInt(cursor) != CENTRAL_DIRECTORY_HEADER_SIGNATURE)
+				throw new IllegalArgumentException("corrupted central directory");
+
+			int flags = Short.toUnsignedInt(buffer.getShort(cursor + 8));
+			int method = Short.toUnsignedInt(buffer.getShort(cursor + 10));
+			long compressedSize = Integer.toUnsignedLong(buffer.getInt(cursor + 20));
+			long size = Integer.toUnsignedLong(buffer.getInt(cursor + 24));
+			int nameLength = Short.toUnsignedInt(buffer.getShort(cursor + 28));
+			int extraLength = Short.toUnsignedInt(buffer.getShort(cursor + 30));
+			int commentLength = Short.toUnsignedInt(buffer.getShort(cursor + 32));
+			long offset = Integer.toUnsignedLong(buffer.getInt(cursor + 42));
+
+			if (compressedSize > jar.length || size > Integer.MAX_VALUE || offset >= start)
+				throw new IllegalArgumentException("zip64 jars are not supported");
+
+			if (method != ZipEntry.STORED && method != ZipEntry.DEFLATED)
+				throw new IllegalArgumentException("unsupported compression method " + method);
+
+			int nameStart = cursor + CENTRAL_DIRECTORY_HEADER_LENGTH;
+			String name = new String(jar, nameStart, nameLength, StandardCharsets.UTF_8);
+			var position = new Position((int) offset, method, (int) compressedSize, (int) size);
+			ends.put(position.offset, endOfLocalEntry(buffer, position, flags, jar, nameStart, nameLength));
+			positions.merge(name, position, (position1, position2) -> position1.offset <= position2.offset ? position1 : position2);
+			cursor += CENTRAL_DIRECTORY_HEADER_LENGTH + nameLength + extraLength + commentLength;
+		}
+
+		// the local entries must cover all the jar up to the central directory
+		int expected = 0;
+		for (var entry: ends.entrySet()) {
+			if (entry.getKey() != expected)
+				throw new IllegalArgumentException("the jar contains local entries that are not in its central directory");
+
+			expected = entry.getValue();
+		}
+
+		if (expected != start)
+			throw new IllegalArgumentException("the jar contains local entries that are not in its central directory");
+
+		return positions;
+	}
+
+	/**
+	 * Checks that the local header of an entry matches the central directory
+	 * and yields the position where the local entry ends.
+	 *
+	 * @param buffer the jar, as a buffer
+	 * @param position the position of the entry, as reported by the central directory
+	 * @param flags the general purpose flags of the entry, as reported by the central directory
+	 * @param jar the jar
+	 * @param nameStart the position of the name of the entry in the central directory
+	 * @param nameLength the length of the name of the entry in the central directory
+	 * @return the position of the first byte after the local entry, including its data descriptor, if any
+	 * @throws IllegalArgumentException if the local header does not match the central directory
+	 */
+	private static int endOfLocalEntry(ByteBuffer buffer, Position position, int flags, byte[] jar, int nameStart, int nameLength) {
+		int offset = position.offset;
+		if (buffer.getInt(offset) != LOCAL_HEADER_SIGNATURE)
+			throw new IllegalArgumentException("missing local header");
+
+		int localFlags = Short.toUnsignedInt(buffer.getShort(offset + 6));
+		int localMethod = Short.toUnsignedInt(buffer.getShort(offset + 8));
+		int localNameLength = Short.toUnsignedInt(buffer.getShort(offset + 26));
+		int localExtraLength = Short.toUnsignedInt(buffer.getShort(offset + 28));
+
+		if (localFlags != flags || localMethod != position.method || localNameLength != nameLength
+				|| !Arrays.equals(jar, offset + LOCAL_HEADER_LENGTH, offset + LOCAL_HEADER_LENGTH + nameLength, jar, nameStart, nameStart + nameLength))
+			throw new IllegalArgumentException("the local header does not match the central directory");
+
+		int end = offset + LOCAL_HEADER_LENGTH + localNameLength + localExtraLength + position.compressedSize;
+
+		if ((flags & DATA_DESCRIPTOR_FLAG) != 0) {
+			// the sizes follow the data, possibly preceded by a signature
+			if (buffer.getInt(end) == DATA_DESCRIPTOR_SIGNATURE)
+				end += 4;
+
+			end += DATA_DESCRIPTOR_LENGTH;
+		}
+		else if (buffer.getInt(offset + 18) != position.compressedSize || buffer.getInt(offset + 22) != position.size)
+			throw new IllegalArgumentException("the local header does not match the central directory");
+
+		return end;
+	}
+
+	/**
+	 * Inflates the entry at the given position.
+	 *
+	 * @param position the position
+	 * @return the content of the entry
+	 */
+	private byte[] inflate(Position position) {
+		ByteBuffer buffer = ByteBuffer.wrap(jar).order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.getInt(position.offset) != LOCAL_HEADER_SIGNATURE)
+			throw new IllegalStateException("corrupted jar entry");
+
+		int nameLength = Short.toUnsignedInt(buffer.getShort(position.offset + 26));
+		int extraLength = Short.toUnsignedInt(buffer.getShort(position.offset + 28));
+		int data = position.offset + LOCAL_HEADER_LENGTH + nameLength + extraLength;
+
+		if (position.method == ZipEntry.STORED) {
+			var result = new byte[position.size];
+			System.arraycopy(jar, data, result, 0, position.size);
+			return result;
+		}
+
+		var inflater = new Inflater(true);
+		try {
+			// the inflater might need a dummy byte after the compressed data, if available
+			inflater.setInput(jar, data, Math.min(position.compressedSize + 1, jar.length - data));
+			var result = new byte[position.size];
+			int length = 0;
+			while (length < result.length && !inflater.finished()) {
+				int inflated = inflater.inflate(result, length, result.length - length);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+
+				length += inflated;
+			}
+
+			if (length != result.length)
+				throw new IllegalStateException("corrupted jar entry");
+
+			return result;
+		}
+		catch (DataFormatException e) {
+			throw new IllegalStateException("corrupted jar entry", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Inflates all entries of the jar by scanning it sequentially.
+	 */
+	private void inflateAll() {
+		try (var jis = new ZipInputStream(new ByteArrayInputStream(jar))) {
+			ZipEntry entry;
+			while ((entry = jis.getNextEntry()) != null)
+				inflated.putIfAbsent(entry.getName(), jis.readAllBytes());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -17,17 +17,13 @@ limitations under the License.
 package io.hotmoka.whitelisting.internal;
 
 import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 import io.hotmoka.constants.Constants;
 import io.hotmoka.whitelisting.ResolvingClassLoaders;
@@ -51,9 +47,9 @@ public class ResolvingClassLoaderImpl extends ClassLoader implements ResolvingCl
 	private final WhiteListingWizard whiteListingWizard;
 
 	/**
-	 * The jars of the classpath of this class loader.
+	 * The indexes of the jars of the classpath of this class loader.
 	 */
-	private final byte[][] jars;
+	private final JarIndex[] jars;
 
 	// getPackageName() not working under Android!
 	private final static String WHITELISTING_PACKAGE_NAME = ResolvingClassLoaders.class.getPackage().getName() + '.';
@@ -71,7 +67,7 @@ public class ResolvingClassLoaderImpl extends ClassLoader implements ResolvingCl
 		super(null);
 
 		this.verificationVersion = verificationVersion;
-		this.jars = jars.toArray(byte[][]::new);
+		this.jars = jars.map(JarIndex::of).toArray(JarIndex[]::new);
 		this.whiteListingWizard = new WhiteListingWizardImpl(this);
 	}
 
@@ -126,17 +122,13 @@ public class ResolvingClassLoaderImpl extends ClassLoader implements ResolvingCl
 	}
 
 	private Optional<Class<?>> loadClassFromJarsInNode(String name) {
-		try (var in = getResourceAsStream(name.replace('.', '/') + ".class")) {
-			if (in != null) {
-				byte[] bytes = in.readAllBytes();
-				return Optional.of(defineClass(name, bytes, 0, bytes.length));
-			}
+		try {
+			return getBytesFromJarsInNode(name.replace('.', '/') + ".class")
+				.map(bytes -> defineClass(name, bytes, 0, bytes.length));
 		}
-		catch (IOException | ClassFormatError e) {
+		catch (ClassFormatError e) {
 			throw new RuntimeException(e);
 		}
-
-		return Optional.empty();
 	}
 
     @Override
@@ -148,32 +140,14 @@ public class ResolvingClassLoaderImpl extends ClassLoader implements ResolvingCl
     }
 
     private Optional<InputStream> getResourceAsStreamFromJarsInNode(String name) {
-		boolean found = false;
-    	for (byte[] jar: jars) {
-            ZipInputStream jis = null;
-
-            try {
-            	jis = new ZipInputStream(new ByteArrayInputStream(jar));
-    			ZipEntry entry;
-    			while ((entry = jis.getNextEntry()) != null)
-    				if (entry.getName().equals(name)) {
-    					found = true;
-    					return Optional.of(jis);
-    				}
-            }
-    		catch (IOException e) {
-    			throw new UncheckedIOException(e);
-    		}
-            finally {
-                // only close the stream if the entry could not be found
-                if (jis != null && !found)
-                    try {
-                        jis.close();
-                    }
-                    catch (IOException e) {
-                        // ignore me
-                    }
-            }
+    	return getBytesFromJarsInNode(name).map(ByteArrayInputStream::new);
+	}
+
+    private Optional<byte[]> getBytesFromJarsInNode(String name) {
+    	for (JarIndex jar: jars) {
+    		Optional<byte[]> bytes = jar.get(name);
+    		if (bytes.isPresent())
+    			return bytes;
     	}
 
     	return Optional.empty();